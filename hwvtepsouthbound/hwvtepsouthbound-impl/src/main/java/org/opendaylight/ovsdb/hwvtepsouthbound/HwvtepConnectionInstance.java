@@ -123,6 +123,10 @@ public class HwvtepConnectionInstance {
         if (tables != null) {
             List<MonitorRequest> monitorRequests = Lists.newArrayList();
             for (String tableName : tables) {
+                if (HwvtepSouthboundConstants.SKIP_HWVTEP_TABLE.contains(tableName)) {
+                    LOG.debug("HwvtepSouthbound not monitoring table {} in {}", tableName, dbSchema.getName());
+                    continue;
+                }
                 LOG.debug("HwvtepSouthbound monitoring table {} in {}", tableName, dbSchema.getName());
                 GenericTableSchema tableSchema = dbSchema.table(tableName, GenericTableSchema.class);
                 Set<String> columns = tableSchema.getColumns();
@@ -15,6 +15,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.hw
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
 
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 
 public class HwvtepSouthboundConstants {
 
@@ -30,4 +32,8 @@ public class HwvtepSouthboundConstants {
         .build();
     public static final MacAddress UNKNOWN_DST_MAC = new MacAddress("00:00:00:00:00:00");
     public static final String UNKNOWN_DST_STRING = "unknown-dst";
+    // Tables left out of the monitor, hwvtepsouthbound does not use them and the statistics change constantly
+    public static final List<String> SKIP_HWVTEP_TABLE = ImmutableList.of(
+            "ACL", "Acl_Entry", "Arp_Sources_Local", "Arp_Sources_Remote", "Logical_Binding_Stats",
+            "Logical_Router");
 }
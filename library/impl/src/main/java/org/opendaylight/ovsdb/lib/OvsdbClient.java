@@ -10,6 +10,8 @@ package org.opendaylight.ovsdb.lib;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.notation.Row;
@@ -55,6 +57,15 @@ public interface OvsdbClient {
      */
     ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations);
 
+    /**
+     * Same as {@link #transact(DatabaseSchema, List)}, waiting for the response at most the given time instead of
+     * the configured transact deadline.
+     * @param timeout time to wait for the response before the Future is cancelled
+     * @param unit unit of the timeout
+     */
+    ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations,
+                                                     long timeout, TimeUnit unit);
+
     /**
      * ovsdb <a href="http://tools.ietf.org/html/draft-pfaff-ovsdb-proto-04#section-4.1.5">monitor</a> operation.
      * @param monitorRequests represents what needs to be monitored including a client specified monitor handle. This
@@ -77,6 +88,72 @@ public interface OvsdbClient {
                                                     MonitorHandle monitorHandle,
                                                     MonitorCallBack callback);
 
+    /**
+     * Same as {@link #monitor(DatabaseSchema, List, MonitorHandle, MonitorCallBack)}, waiting for the initial
+     * reply at most the given time instead of the configured monitor deadline.
+     * @param timeout time to wait for the initial reply
+     * @param unit unit of the timeout
+     */
+    <E extends TableSchema<E>> TableUpdates monitor(DatabaseSchema schema,
+                                                    List<MonitorRequest> monitorRequests,
+                                                    MonitorHandle monitorHandle,
+                                                    MonitorCallBack callback,
+                                                    long timeout, TimeUnit unit);
+
+    /**
+     * Same as {@link #monitor(DatabaseSchema, List, MonitorHandle, MonitorCallBack)}, without waiting for the
+     * initial reply. The updates of the monitor are passed to the callback once the initial contents are
+     * converted.
+     * @return the initial contents of the monitored tables, failed if the monitor could not be set up
+     */
+    <E extends TableSchema<E>> ListenableFuture<TableUpdates> monitorAsync(DatabaseSchema schema,
+                                                                           List<MonitorRequest> monitorRequests,
+                                                                           MonitorHandle monitorHandle,
+                                                                           MonitorCallBack callback);
+
+    /**
+     * ovsdb monitor_cond operation, the conditional monitor of OVS 2.6 and later. The rows of each table can be
+     * restricted to the ones meeting the conditions of its request, and the updates of modified rows only carry
+     * the difference with their previous contents, which are kept in the {@link TableCache} of the database,
+     * enabled if needed.
+     * @param monitorRequests represents what needs to be monitored, including the conditions on the rows
+     * @param monitorHandle A client specified monitor handle. This handle is used to later change the conditions
+     *                      ({@link #monitorCondChange(MonitorHandle, List)}) or cancel
+     *                      ({@link #cancelMonitor(MonitorHandle)}) the monitor.
+     * @param callback receives the monitor response
+     * @return the initial contents of the monitored tables, or null if the device does not support conditional
+     *     monitors, in which case {@link #monitor(DatabaseSchema, List, MonitorHandle, MonitorCallBack)} is to be
+     *     used instead
+     */
+    <E extends TableSchema<E>> TableUpdates monitorCond(DatabaseSchema schema,
+                                                        List<MonitorRequest> monitorRequests,
+                                                        MonitorHandle monitorHandle,
+                                                        MonitorCallBack callback);
+
+    /**
+     * ovsdb monitor_cond_change operation, replacing the conditions of a conditional monitor. The rows which
+     * start or stop meeting the conditions are reported to the callback as inserted or deleted.
+     * @param monitorHandle handle of a monitor started with
+     *                      {@link #monitorCond(DatabaseSchema, List, MonitorHandle, MonitorCallBack)}
+     * @param monitorRequests the new conditions of the tables, a table without condition monitors all its rows
+     * @return true if the device accepted the change
+     */
+    ListenableFuture<Boolean> monitorCondChange(MonitorHandle monitorHandle, List<MonitorRequest> monitorRequests);
+
+    /**
+     * ovsdb monitor_cond_since operation, of OVS 2.12 and later: a conditional monitor resuming from the last
+     * transaction applied to the {@link TableCache} of the database, enabled if needed. When the device still
+     * knows that transaction, only the changes made since then are transferred; otherwise the cache is
+     * reloaded with the whole contents of the tables. The cache then follows the transaction ids of the updates.
+     * See {@link #monitorCond(DatabaseSchema, List, MonitorHandle, MonitorCallBack)}
+     * @return the current contents of the monitored tables, as with the initial reply of a monitor, or null
+     *     if the device does not support the method, in which case the cache is emptied
+     */
+    <E extends TableSchema<E>> TableUpdates monitorCondSince(DatabaseSchema schema,
+                                                             List<MonitorRequest> monitorRequests,
+                                                             MonitorHandle monitorHandle,
+                                                             MonitorCallBack callback);
+
     /**
      * Cancels an existing monitor method.
      * @param handler Handle identifying a specific monitor request that is being cancelled.
@@ -127,8 +204,40 @@ public interface OvsdbClient {
 
     void disconnect();
 
+    /**
+     * Pauses or resumes the reads from the remote, leaving the unread messages to the TCP flow control.
+     *
+     * @param autoRead false to stop reading from the connection, true to read from it again
+     */
+    void setAutoRead(boolean autoRead);
+
     DatabaseSchema getDatabaseSchema(String dbName);
 
+    /**
+     * Enables the replication of the monitored tables of the given database in a local {@link TableCache},
+     * fed by the monitor updates. The cache must be enabled before the tables are monitored to receive the
+     * initial contents.
+     * @param dbName name of the database
+     * @return the cache of the database, the existing one if it was already enabled
+     */
+    TableCache enableTableCache(String dbName);
+
+    /**
+     * Enables the replication of the monitored tables of a database in the given cache, kept from a previous
+     * connection to the same device, so that
+     * {@link #monitorCondSince(DatabaseSchema, List, MonitorHandle, MonitorCallBack)} resumes from its last
+     * transaction.
+     * @param tableCache the cache to use, replacing any cache of its database
+     * @return the given cache
+     */
+    TableCache enableTableCache(TableCache tableCache);
+
+    /**
+     * Returns the cache of the given database, or null if it was not enabled.
+     * See {@link #enableTableCache(String)}
+     */
+    TableCache getTableCache(String dbName);
+
     /**
      * User friendly convenient methods that make use of TyperUtils.getTypedRowWrapper to create a Typed Row Proxy
      * given the Typed Table Class.
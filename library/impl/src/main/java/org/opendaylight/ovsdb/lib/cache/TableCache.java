@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+/**
+ * Replica of the monitored tables of a database, kept up to date from the monitor updates of a client.
+ *
+ * <p>Rows are stored by table and UUID. Secondary indexes can be added on any column; the rows of a set
+ * column are indexed under each element of the set, so that for instance the bridge owning a port can
+ * be found from the port UUID. The cache is updated by a single thread, the one receiving the updates of
+ * the connection, and can be queried concurrently; it reflects the updates received so far, which may be
+ * ahead of what the callbacks have processed.
+ */
+public class TableCache {
+
+    private final String databaseName;
+    private volatile String lastTxnId;
+    private final ConcurrentMap<String, ConcurrentMap<UUID, Row<GenericTableSchema>>> tables =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<Object, Set<UUID>>>> indexes =
+            new ConcurrentHashMap<>();
+
+    public TableCache(String databaseName) {
+        this.databaseName = databaseName;
+    }
+
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    /**
+     * Returns the id of the last transaction applied to the cache, as reported by monitor_cond_since and its
+     * "update3" notifications, or null if it is unknown.
+     */
+    public String getLastTxnId() {
+        return lastTxnId;
+    }
+
+    public void setLastTxnId(String lastTxnId) {
+        this.lastTxnId = lastTxnId;
+    }
+
+    /**
+     * Indexes the rows of the given table by the values of the given column, including the rows already cached.
+     */
+    public synchronized void addIndex(String tableName, String columnName) {
+        ConcurrentMap<String, ConcurrentMap<Object, Set<UUID>>> tableIndexes = indexes.get(tableName);
+        if (tableIndexes == null) {
+            tableIndexes = new ConcurrentHashMap<>();
+            indexes.put(tableName, tableIndexes);
+        }
+        if (tableIndexes.containsKey(columnName)) {
+            return;
+        }
+        ConcurrentMap<Object, Set<UUID>> index = new ConcurrentHashMap<>();
+        for (Map.Entry<UUID, Row<GenericTableSchema>> entry : getTable(tableName).entrySet()) {
+            addToIndex(index, entry.getKey(), getColumnData(entry.getValue(), columnName));
+        }
+        tableIndexes.put(columnName, index);
+    }
+
+    /**
+     * Applies the given monitor updates.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void update(TableUpdates updates) {
+        for (Map.Entry<String, TableUpdate> entry : updates.getUpdates().entrySet()) {
+            String tableName = entry.getKey();
+            ConcurrentMap<UUID, Row<GenericTableSchema>> table = getTable(tableName);
+            Map<String, ConcurrentMap<Object, Set<UUID>>> tableIndexes = indexes.get(tableName);
+            for (TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema> rowUpdate
+                    : ((TableUpdate<GenericTableSchema>) entry.getValue()).getRows().values()) {
+                UUID uuid = rowUpdate.getUuid();
+                Row<GenericTableSchema> newRow = rowUpdate.getNew();
+                Row<GenericTableSchema> oldRow = newRow != null ? table.put(uuid, newRow) : table.remove(uuid);
+                if (tableIndexes != null) {
+                    for (Map.Entry<String, ConcurrentMap<Object, Set<UUID>>> index : tableIndexes.entrySet()) {
+                        removeFromIndex(index.getValue(), uuid, getColumnData(oldRow, index.getKey()));
+                        addToIndex(index.getValue(), uuid, getColumnData(newRow, index.getKey()));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the row of the given table with the given UUID, or null if there is none.
+     */
+    public Row<GenericTableSchema> getRow(String tableName, UUID uuid) {
+        Map<UUID, Row<GenericTableSchema>> table = tables.get(tableName);
+        return table != null ? table.get(uuid) : null;
+    }
+
+    /**
+     * Returns a read-only view of the rows of the given table, by UUID.
+     */
+    public Map<UUID, Row<GenericTableSchema>> getRows(String tableName) {
+        Map<UUID, Row<GenericTableSchema>> table = tables.get(tableName);
+        return table != null ? Collections.unmodifiableMap(table)
+                : Collections.<UUID, Row<GenericTableSchema>>emptyMap();
+    }
+
+    /**
+     * Returns the rows of the given table whose column holds the given value, or contains it for a set column.
+     * Columns without an index are scanned.
+     */
+    public Map<UUID, Row<GenericTableSchema>> getRowsByIndex(String tableName, String columnName, Object value) {
+        Map<UUID, Row<GenericTableSchema>> result = new HashMap<>();
+        Map<String, ConcurrentMap<Object, Set<UUID>>> tableIndexes = indexes.get(tableName);
+        Map<Object, Set<UUID>> index = tableIndexes != null ? tableIndexes.get(columnName) : null;
+        if (index != null) {
+            Set<UUID> uuids = index.get(value);
+            if (uuids != null) {
+                for (UUID uuid : uuids) {
+                    Row<GenericTableSchema> row = getRow(tableName, uuid);
+                    if (row != null) {
+                        result.put(uuid, row);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<UUID, Row<GenericTableSchema>> entry : getRows(tableName).entrySet()) {
+                Object data = getColumnData(entry.getValue(), columnName);
+                if (value.equals(data) || data instanceof Set && ((Set<?>) data).contains(value)) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all the cached rows as updates inserting them, like the initial contents of a monitor.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized TableUpdates getContents() {
+        Map<String, TableUpdate> tableUpdates = new HashMap<>();
+        for (Map.Entry<String, ConcurrentMap<UUID, Row<GenericTableSchema>>> table : tables.entrySet()) {
+            TableUpdate<GenericTableSchema> tableUpdate = new TableUpdate<>();
+            for (Map.Entry<UUID, Row<GenericTableSchema>> row : table.getValue().entrySet()) {
+                tableUpdate.addRow(row.getKey(), null, row.getValue());
+            }
+            tableUpdates.put(table.getKey(), tableUpdate);
+        }
+        return new TableUpdates(tableUpdates);
+    }
+
+    /**
+     * Forgets all the rows and the last transaction id, keeping the indexes definitions.
+     */
+    public synchronized void clear() {
+        lastTxnId = null;
+        tables.clear();
+        for (Map<String, ConcurrentMap<Object, Set<UUID>>> tableIndexes : indexes.values()) {
+            for (Map<Object, Set<UUID>> index : tableIndexes.values()) {
+                index.clear();
+            }
+        }
+    }
+
+    private ConcurrentMap<UUID, Row<GenericTableSchema>> getTable(String tableName) {
+        ConcurrentMap<UUID, Row<GenericTableSchema>> table = tables.get(tableName);
+        if (table == null) {
+            table = new ConcurrentHashMap<>();
+            tables.put(tableName, table);
+        }
+        return table;
+    }
+
+    private static Object getColumnData(Row<GenericTableSchema> row, String columnName) {
+        if (row == null) {
+            return null;
+        }
+        Column<GenericTableSchema, ?> column = row.getColumn(columnName);
+        return column != null ? column.getData() : null;
+    }
+
+    private static void addToIndex(ConcurrentMap<Object, Set<UUID>> index, UUID uuid, Object data) {
+        if (data instanceof Set) {
+            for (Object element : (Set<?>) data) {
+                addToIndex(index, uuid, element);
+            }
+        } else if (data != null) {
+            Set<UUID> uuids = index.get(data);
+            if (uuids == null) {
+                uuids = Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+                index.put(data, uuids);
+            }
+            uuids.add(uuid);
+        }
+    }
+
+    private static void removeFromIndex(ConcurrentMap<Object, Set<UUID>> index, UUID uuid, Object data) {
+        if (data instanceof Set) {
+            for (Object element : (Set<?>) data) {
+                removeFromIndex(index, uuid, element);
+            }
+        } else if (data != null) {
+            Set<UUID> uuids = index.get(data);
+            if (uuids != null) {
+                uuids.remove(uuid);
+                if (uuids.isEmpty()) {
+                    index.remove(data);
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.ovsdb.lib.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Function;
@@ -17,16 +18,16 @@ import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.Channel;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.ovsdb.lib.EchoServiceCallbackFilters;
 import org.opendaylight.ovsdb.lib.LockAquisitionCallback;
 import org.opendaylight.ovsdb.lib.LockStolenCallback;
@@ -36,7 +37,10 @@ import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.ConnectionType;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
 import org.opendaylight.ovsdb.lib.error.ParsingException;
+import org.opendaylight.ovsdb.lib.jsonrpc.CallDeadline;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcUpdateStream;
 import org.opendaylight.ovsdb.lib.jsonrpc.Params;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
@@ -45,11 +49,14 @@ import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.message.TransactBuilder;
 import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUIDInterner;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.ovsdb.lib.operations.TransactionBuilder;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchemaRegistry;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.opendaylight.ovsdb.lib.schema.ParallelTableParser;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
 import org.opendaylight.ovsdb.lib.schema.typed.TypedBaseTable;
 import org.opendaylight.ovsdb.lib.schema.typed.TypedTable;
@@ -61,77 +68,85 @@ import org.slf4j.LoggerFactory;
 public class OvsdbClientImpl implements OvsdbClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbClientImpl.class);
-    private ExecutorService executorService;
+    // Transaction id asking monitor_cond_since for the whole contents of the tables
+    private static final String UNKNOWN_TXN_ID = "00000000-0000-0000-0000-000000000000";
+    // Runs the callbacks of this client on the pool shared by the clients, one at a time, the tasks queued while
+    // decoding a message interning its UUIDs as the decoding thread does
+    private final Executor executor = UUIDInterner.propagating(OvsdbThreadPools.newClientExecutor());
     private OvsdbRPC rpc;
     private Map<String, DatabaseSchema> schemas = Maps.newHashMap();
     private Map<String, CallbackContext> monitorCallbacks = Maps.newHashMap();
+    private final Map<String, TableCache> tableCaches = new ConcurrentHashMap<>();
     private OvsdbRPC.Callback rpcCallback;
     private OvsdbConnectionInfo connectionInfo;
     private Channel channel;
     private boolean isConnectionPublished;
 
-    private static final ThreadFactory THREAD_FACTORY_SSL =
-        new ThreadFactoryBuilder().setNameFormat("OVSDB-PassiveConnection-SSL-%d").build();
-    private static final ThreadFactory THREAD_FACTORY_NON_SSL =
-        new ThreadFactoryBuilder().setNameFormat("OVSDB-PassiveConnection-Non-SSL-%d").build();
-
     public OvsdbClientImpl(OvsdbRPC rpc, Channel channel, ConnectionType type,
         SocketConnectionType socketConnType) {
         this.rpc = rpc;
-        ThreadFactory threadFactory =
-            getThreadFactory(type, socketConnType, channel.remoteAddress().toString());
-        this.executorService = Executors.newCachedThreadPool(threadFactory);
         this.channel = channel;
         this.connectionInfo = new OvsdbConnectionInfo(channel, type);
     }
 
-    /**
-     * Generate the threadFactory based on ACTIVE, PASSIVE (SSL/NON-SSL) connection type.
-     * @param type ACTIVE or PASSIVE {@link ConnectionType}
-     * @param socketConnType SSL or NON-SSL {@link SocketConnectionType}
-     * @param executorNameArgs Additional args to append to thread name format
-     * @return {@link ThreadFactory}
-     */
-    private ThreadFactory getThreadFactory(ConnectionType type,
-        SocketConnectionType socketConnType, String executorNameArgs) {
-        if (type == ConnectionType.PASSIVE) {
-            switch (socketConnType) {
-                case SSL:
-                    return THREAD_FACTORY_SSL;
-                case NON_SSL:
-                    return THREAD_FACTORY_NON_SSL;
-                default:
-                    return Executors.defaultThreadFactory();
-            }
-        } else if (type == ConnectionType.ACTIVE) {
-            ThreadFactory threadFactorySSL =
-                new ThreadFactoryBuilder().setNameFormat("OVSDB-ActiveConn-" + executorNameArgs + "-%d")
-                    .build();
-            return threadFactorySSL;
-        }
-        // Default case
-        return Executors.defaultThreadFactory();
-    }
-
     OvsdbClientImpl() {
     }
 
     void setupUpdateListener() {
         if (rpcCallback == null) {
-            OvsdbRPC.Callback temp = new OvsdbRPC.Callback() {
+            // The notifications are processed by the executor of the client, after the initial reply of their monitor
+            OvsdbRPC.Callback temp = new OvsdbRPC.StreamingCallback() {
                 @Override
-                public void update(Object node, UpdateNotification updateNotification) {
-                    Object key = updateNotification.getContext();
-                    CallbackContext callbackContext = monitorCallbacks.get(key);
-                    MonitorCallBack monitorCallBack = callbackContext.monitorCallBack;
-                    if (monitorCallBack == null) {
-                        //ignore ?
-                        LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
-                        return;
-                    }
-                    TableUpdates updates = transformingCallback(updateNotification.getUpdates(),
-                            callbackContext.schema);
-                    monitorCallBack.update(updates, callbackContext.schema);
+                public void update(Object node, final UpdateNotification updateNotification) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            processUpdate(updateNotification);
+                        }
+                    });
+                }
+
+                @Override
+                public void updateStream(Object node, final JsonRpcUpdateStream updateStream) {
+                    // The stream is released by the caller once this method returns
+                    updateStream.retain();
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                processUpdateStream(updateStream);
+                            } finally {
+                                updateStream.release();
+                            }
+                        }
+                    });
+                }
+
+                @Override
+                public void update2(Object node, final UpdateNotification updateNotification) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            processUpdate2(updateNotification);
+                        }
+                    });
+                }
+
+                @Override
+                public void update3(Object node, final UpdateNotification updateNotification) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            processUpdate2(updateNotification);
+                            CallbackContext callbackContext = monitorCallbacks.get(updateNotification.getContext());
+                            if (callbackContext != null) {
+                                TableCache tableCache = tableCaches.get(callbackContext.schema.getName());
+                                if (tableCache != null) {
+                                    tableCache.setLastTxnId(updateNotification.getLastTxnId());
+                                }
+                            }
+                        }
+                    });
                 }
 
                 @Override
@@ -149,23 +164,159 @@ public class OvsdbClientImpl implements OvsdbClient {
         }
     }
 
+    private void processUpdate(UpdateNotification updateNotification) {
+        Object key = updateNotification.getContext();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        MonitorCallBack monitorCallBack = callbackContext.monitorCallBack;
+        if (monitorCallBack == null) {
+            //ignore ?
+            LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        TableUpdates updates = transformingCallback(updateNotification.getUpdates(),
+                callbackContext.schema);
+        updateTableCache(callbackContext.schema, updates);
+        monitorCallBack.update(updates, callbackContext.schema);
+    }
+
+    private void processUpdateStream(JsonRpcUpdateStream updateStream) {
+        String key = updateStream.getMonitorId();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        if (callbackContext == null || callbackContext.monitorCallBack == null) {
+            LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        TableUpdates updates = transformingCallback(updateStream, callbackContext.schema);
+        if (updates != null) {
+            updateTableCache(callbackContext.schema, updates);
+            callbackContext.monitorCallBack.update(updates, callbackContext.schema);
+            if (updateStream.getLastTxnId() != null) {
+                TableCache tableCache = tableCaches.get(callbackContext.schema.getName());
+                if (tableCache != null) {
+                    tableCache.setLastTxnId(updateStream.getLastTxnId());
+                }
+            }
+        }
+    }
+
+    private void processUpdate2(UpdateNotification updateNotification) {
+        Object key = updateNotification.getContext();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        if (callbackContext == null || callbackContext.monitorCallBack == null) {
+            LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        TableUpdates updates = transformingConditionalCallback(updateNotification.getUpdates(),
+                callbackContext.schema);
+        if (updates != null) {
+            updateTableCache(callbackContext.schema, updates);
+            callbackContext.monitorCallBack.update(updates, callbackContext.schema);
+        }
+    }
+
 
     protected TableUpdates transformingCallback(JsonNode tableUpdatesJson, DatabaseSchema dbSchema) {
         //todo(ashwin): we should move all the JSON parsing logic to a utility class
-        if (tableUpdatesJson instanceof ObjectNode) {
-            Map<String, TableUpdate> tableUpdateMap = Maps.newHashMap();
-            ObjectNode updatesJson = (ObjectNode) tableUpdatesJson;
-            for (Iterator<Map.Entry<String,JsonNode>> itr = updatesJson.fields(); itr.hasNext();) {
-                Map.Entry<String, JsonNode> entry = itr.next();
+        return transformTableUpdates(tableUpdatesJson, dbSchema, false, false);
+    }
+
+    /**
+     * Builds the TableUpdates of the "table-updates2" of a conditional monitor, resolving the modified rows
+     * against their contents in the table cache of the database.
+     */
+    protected TableUpdates transformingConditionalCallback(JsonNode tableUpdatesJson, DatabaseSchema dbSchema) {
+        return transformTableUpdates(tableUpdatesJson, dbSchema, true, false);
+    }
 
-                DatabaseSchema databaseSchema = this.schemas.get(dbSchema.getName());
-                TableSchema table = databaseSchema.table(entry.getKey(), TableSchema.class);
-                tableUpdateMap.put(entry.getKey(), table.updatesFromJson(entry.getValue()));
+    /**
+     * Builds the TableUpdates of the initial reply of a monitor, whose tables are converted by
+     * {@link ParallelTableParser}.
+     */
+    private TableUpdates transformInitialContents(JsonNode tableUpdatesJson, DatabaseSchema dbSchema,
+                                                  boolean conditional) {
+        return transformTableUpdates(tableUpdatesJson, dbSchema, conditional, true);
+    }
 
+    private TableUpdates transformTableUpdates(JsonNode tableUpdatesJson, DatabaseSchema dbSchema,
+                                               final boolean conditional, boolean initialContents) {
+        if (!(tableUpdatesJson instanceof ObjectNode)) {
+            return null;
+        }
+        final DatabaseSchema databaseSchema = this.schemas.get(dbSchema.getName());
+        final TableCache tableCache = tableCaches.get(dbSchema.getName());
+        // Converts the updates of a table, the tables being independent they may be converted concurrently
+        Function<Map.Entry<String, JsonNode>, TableUpdate> conversion =
+                new Function<Map.Entry<String, JsonNode>, TableUpdate>() {
+                    @Override
+                    public TableUpdate apply(Map.Entry<String, JsonNode> entry) {
+                        if (!databaseSchema.hasTable(entry.getKey())) {
+                            LOG.warn("Ignoring the updates of table {} which is not in the schema of {}",
+                                    entry.getKey(), databaseSchema.getName());
+                            return null;
+                        }
+                        TableSchema table = databaseSchema.table(entry.getKey(), TableSchema.class);
+                        if (!conditional) {
+                            return table.updatesFromJson(entry.getValue());
+                        }
+                        TableUpdate tableUpdate = new TableUpdate<>();
+                        for (Iterator<Map.Entry<String,JsonNode>> rows = entry.getValue().fields(); rows.hasNext();) {
+                            Map.Entry<String, JsonNode> row = rows.next();
+                            Row<GenericTableSchema> currentRow = tableCache != null ? tableCache.getRow(
+                                    entry.getKey(), new org.opendaylight.ovsdb.lib.notation.UUID(row.getKey())) : null;
+                            table.addRowUpdate2(tableUpdate, row.getKey(), row.getValue(), currentRow);
+                        }
+                        return tableUpdate;
+                    }
+                };
+        if (initialContents) {
+            return new TableUpdates(ParallelTableParser.parseTables(tableUpdatesJson, conversion));
+        }
+        Map<String, TableUpdate> tableUpdateMap = Maps.newHashMap();
+        for (Iterator<Map.Entry<String,JsonNode>> itr = tableUpdatesJson.fields(); itr.hasNext();) {
+            Map.Entry<String, JsonNode> entry = itr.next();
+            TableUpdate tableUpdate = conversion.apply(entry);
+            if (tableUpdate != null) {
+                tableUpdateMap.put(entry.getKey(), tableUpdate);
             }
-            return new TableUpdates(tableUpdateMap);
         }
-        return null;
+        return new TableUpdates(tableUpdateMap);
+    }
+
+    /**
+     * Builds the TableUpdates of a streamed update notification in a single pass over its frame, the rows being
+     * converted from the parser by their table schema. The modified rows of conditional monitors are resolved
+     * against their contents in the table cache of the database.
+     */
+    protected TableUpdates transformingCallback(final JsonRpcUpdateStream updateStream, DatabaseSchema dbSchema) {
+        final DatabaseSchema databaseSchema = this.schemas.get(dbSchema.getName());
+        final TableCache tableCache = tableCaches.get(dbSchema.getName());
+        final Map<String, TableUpdate> tableUpdateMap = Maps.newHashMap();
+        try {
+            updateStream.readRowUpdates(new JsonRpcUpdateStream.RowUpdateReader() {
+                @Override
+                public void readRowUpdate(String tableName, String uuid, JsonParser parser) throws IOException {
+                    TableSchema table = databaseSchema.table(tableName, TableSchema.class);
+                    TableUpdate tableUpdate = tableUpdateMap.get(tableName);
+                    if (tableUpdate == null) {
+                        tableUpdate = new TableUpdate<>();
+                        tableUpdateMap.put(tableName, tableUpdate);
+                    }
+                    org.opendaylight.ovsdb.lib.notation.UUID rowUuid =
+                            org.opendaylight.ovsdb.lib.notation.UUID.parse(uuid);
+                    if (updateStream.isConditional()) {
+                        Row<GenericTableSchema> currentRow =
+                                tableCache != null ? tableCache.getRow(tableName, rowUuid) : null;
+                        table.addRowUpdate2(tableUpdate, rowUuid, parser, currentRow);
+                    } else {
+                        table.addRowUpdate(tableUpdate, rowUuid, parser);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("Failed to parse update notification {}", updateStream, e);
+            return null;
+        }
+        return new TableUpdates(tableUpdateMap);
     }
 
     @Override
@@ -180,36 +331,30 @@ public class OvsdbClientImpl implements OvsdbClient {
         return FutureTransformUtils.transformTransactResponse(rpc.transact(builder), operations);
     }
 
+    @Override
+    public ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations,
+                                                            long timeout, TimeUnit unit) {
+        TransactBuilder builder = new TransactBuilder(dbSchema);
+        for (Operation operation : operations) {
+            builder.addOperation(operation);
+        }
+        builder.setDeadline(timeout, unit);
+
+        return FutureTransformUtils.transformTransactResponse(rpc.transact(builder), operations);
+    }
+
     @Override
     public <E extends TableSchema<E>> TableUpdates monitor(final DatabaseSchema dbSchema,
                                                             List<MonitorRequest> monitorRequest,
                                                             final MonitorCallBack callback) {
 
-        final ImmutableMap<String, MonitorRequest> reqMap = Maps.uniqueIndex(monitorRequest,
-                new Function<MonitorRequest, String>() {
-                    @Override
-                    public String apply(MonitorRequest input) {
-                        return input.getTableName();
-                    }
-                });
+        final ImmutableMap<String, MonitorRequest> reqMap = indexByTableName(monitorRequest);
 
         final MonitorHandle monitorHandle = new MonitorHandle(UUID.randomUUID().toString());
         registerCallback(monitorHandle, callback, dbSchema);
 
-        ListenableFuture<JsonNode> monitor = rpc.monitor(new Params() {
-            @Override
-            public List<Object> params() {
-                return Lists.<Object>newArrayList(dbSchema.getName(), monitorHandle.getId(), reqMap);
-            }
-        });
-        JsonNode result;
-        try {
-            result = monitor.get();
-        } catch (InterruptedException | ExecutionException e) {
-            LOG.warn("Failed to monitor {}", dbSchema, e);
-            return null;
-        }
-        return transformingCallback(result, dbSchema);
+        ListenableFuture<JsonNode> monitor = rpc.monitor(new MonitorParams(dbSchema, monitorHandle, reqMap, 0));
+        return getMonitorResult(monitor, dbSchema);
     }
 
     @Override
@@ -217,31 +362,181 @@ public class OvsdbClientImpl implements OvsdbClient {
                                                            List<MonitorRequest> monitorRequest,
                                                            final MonitorHandle monitorHandle,
                                                            final MonitorCallBack callback) {
+        return monitor(dbSchema, monitorRequest, monitorHandle, callback, 0, TimeUnit.MILLISECONDS);
+    }
 
-        final ImmutableMap<String, MonitorRequest> reqMap = Maps.uniqueIndex(monitorRequest,
-                new Function<MonitorRequest, String>() {
-                    @Override
-                    public String apply(MonitorRequest input) {
-                        return input.getTableName();
-                    }
-                });
+    @Override
+    public <E extends TableSchema<E>> TableUpdates monitor(final DatabaseSchema dbSchema,
+                                                           List<MonitorRequest> monitorRequest,
+                                                           final MonitorHandle monitorHandle,
+                                                           final MonitorCallBack callback,
+                                                           long timeout, TimeUnit unit) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = indexByTableName(monitorRequest);
+
+        registerCallback(monitorHandle, callback, dbSchema);
+
+        ListenableFuture<JsonNode> monitor = rpc.monitor(
+                new MonitorParams(dbSchema, monitorHandle, reqMap, unit.toMillis(timeout)));
+        return getMonitorResult(monitor, dbSchema);
+    }
+
+    @Override
+    public <E extends TableSchema<E>> ListenableFuture<TableUpdates> monitorAsync(final DatabaseSchema dbSchema,
+                                                                                 List<MonitorRequest> monitorRequest,
+                                                                                 final MonitorHandle monitorHandle,
+                                                                                 final MonitorCallBack callback) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = indexByTableName(monitorRequest);
+
+        registerCallback(monitorHandle, callback, dbSchema);
+
+        ListenableFuture<JsonNode> monitor = rpc.monitor(new MonitorParams(dbSchema, monitorHandle, reqMap, 0));
+        return transformMonitorResult(monitor, dbSchema, false);
+    }
 
+    @Override
+    public <E extends TableSchema<E>> TableUpdates monitorCond(final DatabaseSchema dbSchema,
+                                                               List<MonitorRequest> monitorRequest,
+                                                               final MonitorHandle monitorHandle,
+                                                               final MonitorCallBack callback) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = indexByTableName(monitorRequest);
+
+        // The modified rows are only sent as a difference with their previous contents
+        enableTableCache(dbSchema.getName());
         registerCallback(monitorHandle, callback, dbSchema);
 
-        ListenableFuture<JsonNode> monitor = rpc.monitor(new Params() {
+        ListenableFuture<JsonNode> monitor = rpc.monitor_cond(new MonitorParams(dbSchema, monitorHandle, reqMap, 0));
+        TableUpdates result = getMonitorResult(monitor, dbSchema, true);
+        if (result == null) {
+            this.monitorCallbacks.remove(monitorHandle.getId());
+        }
+        return result;
+    }
+
+    @Override
+    public <E extends TableSchema<E>> TableUpdates monitorCondSince(final DatabaseSchema dbSchema,
+                                                                    List<MonitorRequest> monitorRequest,
+                                                                    final MonitorHandle monitorHandle,
+                                                                    final MonitorCallBack callback) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = indexByTableName(monitorRequest);
+
+        final TableCache tableCache = enableTableCache(dbSchema.getName());
+        registerCallback(monitorHandle, callback, dbSchema);
+
+        final String lastTxnId = tableCache.getLastTxnId() != null ? tableCache.getLastTxnId() : UNKNOWN_TXN_ID;
+        ListenableFuture<JsonNode> monitor = rpc.monitor_cond_since(
+                new MonitorParams(dbSchema, monitorHandle, reqMap, lastTxnId, 0));
+        TableUpdates result = getMonitorResult(monitor, dbSchema, new Function<JsonNode, TableUpdates>() {
+            @Override
+            public TableUpdates apply(JsonNode reply) {
+                // [found, last-txn-id, table-updates2]
+                if (reply == null || !reply.isArray() || reply.size() != 3) {
+                    return null;
+                }
+                if (!reply.get(0).asBoolean()) {
+                    LOG.info("Transaction {} not found, fetching the whole contents of {} from {}",
+                            lastTxnId, dbSchema.getName(), connectionInfo);
+                    tableCache.clear();
+                }
+                updateTableCache(dbSchema, transformInitialContents(reply.get(2), dbSchema, true));
+                tableCache.setLastTxnId(reply.get(1).asText());
+                return tableCache.getContents();
+            }
+        });
+        if (result == null) {
+            this.monitorCallbacks.remove(monitorHandle.getId());
+            tableCache.clear();
+        }
+        return result;
+    }
+
+    @Override
+    public ListenableFuture<Boolean> monitorCondChange(final MonitorHandle monitorHandle,
+                                                       List<MonitorRequest> monitorRequests) {
+        final Map<String, List<Map<String, Object>>> changes = Maps.newHashMap();
+        for (MonitorRequest monitorRequest : monitorRequests) {
+            Map<String, Object> change = Maps.newHashMap();
+            if (monitorRequest.getWhere() != null) {
+                change.put("where", monitorRequest.getWhere());
+            } else {
+                change.put("where", Lists.<Object>newArrayList(true));
+            }
+            changes.put(monitorRequest.getTableName(), Lists.newArrayList(change));
+        }
+        ListenableFuture<JsonNode> condChange = rpc.monitor_cond_change(new Params() {
             @Override
             public List<Object> params() {
-                return Lists.<Object>newArrayList(dbSchema.getName(), monitorHandle.getId(), reqMap);
+                return Lists.<Object>newArrayList(monitorHandle.getId(), monitorHandle.getId(), changes);
+            }
+        });
+        return Futures.transform(condChange, new Function<JsonNode, Boolean>() {
+            @Override
+            public Boolean apply(JsonNode result) {
+                if (result == null || result.isNull()) {
+                    LOG.error("Fail to change the conditions of monitor with handler {}", monitorHandle.getId());
+                    return false;
+                }
+                return true;
             }
         });
-        JsonNode result;
+    }
+
+    private static ImmutableMap<String, MonitorRequest> indexByTableName(List<MonitorRequest> monitorRequests) {
+        return Maps.uniqueIndex(monitorRequests, new Function<MonitorRequest, String>() {
+            @Override
+            public String apply(MonitorRequest input) {
+                return input.getTableName();
+            }
+        });
+    }
+
+    private TableUpdates getMonitorResult(ListenableFuture<JsonNode> monitor, final DatabaseSchema dbSchema) {
+        return getMonitorResult(monitor, dbSchema, false);
+    }
+
+    private TableUpdates getMonitorResult(ListenableFuture<JsonNode> monitor, DatabaseSchema dbSchema,
+                                          boolean conditional) {
+        return waitForMonitorResult(transformMonitorResult(monitor, dbSchema, conditional), dbSchema);
+    }
+
+    private TableUpdates getMonitorResult(ListenableFuture<JsonNode> monitor, DatabaseSchema dbSchema,
+                                          Function<JsonNode, TableUpdates> conversion) {
+        return waitForMonitorResult(Futures.transform(monitor, conversion, executor), dbSchema);
+    }
+
+    private ListenableFuture<TableUpdates> transformMonitorResult(ListenableFuture<JsonNode> monitor,
+                                                                  final DatabaseSchema dbSchema,
+                                                                  final boolean conditional) {
+        // The initial contents are converted, and cached, by the executor of the client, which is handed the
+        // reply before the following updates of the monitor and so processes them afterwards, leaving the I/O
+        // thread to the other connections
+        return Futures.transform(monitor, new Function<JsonNode, TableUpdates>() {
+            @Override
+            public TableUpdates apply(JsonNode result) {
+                TableUpdates tableUpdates = transformInitialContents(result, dbSchema, conditional);
+                updateTableCache(dbSchema, tableUpdates);
+                return tableUpdates;
+            }
+        }, executor);
+    }
+
+    private TableUpdates waitForMonitorResult(ListenableFuture<TableUpdates> updates, DatabaseSchema dbSchema) {
         try {
-            result = monitor.get();
+            return updates.get();
         } catch (InterruptedException | ExecutionException e) {
             LOG.warn("Failed to monitor {}", dbSchema, e);
             return null;
         }
-        return transformingCallback(result, dbSchema);
+    }
+
+    private void updateTableCache(DatabaseSchema dbSchema, TableUpdates updates) {
+        TableCache tableCache = tableCaches.get(dbSchema.getName());
+        if (tableCache != null && updates != null) {
+            tableCache.update(updates);
+        }
     }
 
     private void registerCallback(MonitorHandle monitorHandle, MonitorCallBack callback, DatabaseSchema schema) {
@@ -337,14 +632,13 @@ public class OvsdbClientImpl implements OvsdbClient {
                         public DatabaseSchema apply(Map<String, DatabaseSchema> result) {
                             if (result.containsKey(database)) {
                                 DatabaseSchema dbSchema = result.get(database);
-                                dbSchema.populateInternallyGeneratedColumns();
                                 OvsdbClientImpl.this.schemas.put(database, dbSchema);
                                 return dbSchema;
                             } else {
                                 return null;
                             }
                         }
-                    }, executorService);
+                    }, executor);
         } else {
             return Futures.immediateFuture(databaseSchema);
         }
@@ -370,7 +664,8 @@ public class OvsdbClientImpl implements OvsdbClient {
                     @Override
                     public Void apply(JsonNode jsonNode) {
                         try {
-                            schema.put(dbNames.get(0), DatabaseSchema.fromJson(dbNames.get(0), jsonNode));
+                            // The schema is shared with the other devices sending the same one
+                            schema.put(dbNames.get(0), DatabaseSchemaRegistry.getSchema(dbNames.get(0), jsonNode));
                             if (schema.size() > 1 && !sfuture.isCancelled()) {
                                 populateSchema(dbNames.subList(1, dbNames.size()), schema, sfuture);
                             } else if (schema.size() == 1) {
@@ -389,6 +684,45 @@ public class OvsdbClientImpl implements OvsdbClient {
         this.rpc = rpc;
     }
 
+    /**
+     * Parameters of a monitor request, optionally carrying a deadline for the initial reply.
+     */
+    private static class MonitorParams implements Params, CallDeadline {
+        private final DatabaseSchema dbSchema;
+        private final MonitorHandle monitorHandle;
+        private final Map<String, MonitorRequest> reqMap;
+        private final String lastTxnId;
+        private final long deadlineMillis;
+
+        MonitorParams(DatabaseSchema dbSchema, MonitorHandle monitorHandle, Map<String, MonitorRequest> reqMap,
+                      long deadlineMillis) {
+            this(dbSchema, monitorHandle, reqMap, null, deadlineMillis);
+        }
+
+        MonitorParams(DatabaseSchema dbSchema, MonitorHandle monitorHandle, Map<String, MonitorRequest> reqMap,
+                      String lastTxnId, long deadlineMillis) {
+            this.dbSchema = dbSchema;
+            this.monitorHandle = monitorHandle;
+            this.reqMap = reqMap;
+            this.lastTxnId = lastTxnId;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        public List<Object> params() {
+            List<Object> params = Lists.<Object>newArrayList(dbSchema.getName(), monitorHandle.getId(), reqMap);
+            if (lastTxnId != null) {
+                params.add(lastTxnId);
+            }
+            return params;
+        }
+
+        @Override
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
     static class CallbackContext {
         MonitorCallBack monitorCallBack;
         DatabaseSchema schema;
@@ -404,6 +738,31 @@ public class OvsdbClientImpl implements OvsdbClient {
         return schemas.get(dbName);
     }
 
+    @Override
+    public TableCache enableTableCache(String dbName) {
+        synchronized (tableCaches) {
+            TableCache tableCache = tableCaches.get(dbName);
+            if (tableCache == null) {
+                tableCache = new TableCache(dbName);
+                tableCaches.put(dbName, tableCache);
+            }
+            return tableCache;
+        }
+    }
+
+    @Override
+    public TableCache enableTableCache(TableCache tableCache) {
+        synchronized (tableCaches) {
+            tableCaches.put(tableCache.getDatabaseName(), tableCache);
+            return tableCache;
+        }
+    }
+
+    @Override
+    public TableCache getTableCache(String dbName) {
+        return tableCaches.get(dbName);
+    }
+
     /**
      * This method finds the DatabaseSchema that matches a given Typed Table Class.
      * With the introduction of TypedTable and TypedColumn annotations, it is possible to express
@@ -474,7 +833,11 @@ public class OvsdbClientImpl implements OvsdbClient {
     @Override
     public void disconnect() {
         channel.disconnect();
-        executorService.shutdown();
+    }
+
+    @Override
+    public void setAutoRead(boolean autoRead) {
+        channel.config().setAutoRead(autoRead);
     }
 
     @Override
@@ -25,17 +25,12 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.string.StringEncoder;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.util.CharsetUtil;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -60,9 +55,12 @@ import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionListener;
 import org.opendaylight.ovsdb.lib.jsonrpc.ExceptionHandler;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcDecoder;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEncoder;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEndpoint;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcServiceBinderHandler;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.notation.UUIDInterner;
+import org.opendaylight.ovsdb.utils.config.ConfigProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,10 +88,14 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     private static ScheduledExecutorService executorService
             = Executors.newScheduledThreadPool(10, passiveConnectionThreadFactory);
 
+    // The listeners may block while setting up the connections, they are notified on threads of their own
+    private static final String CONNECTION_NOTIFIER_THREADS_PROPERTY = "ovsdb.connectionNotifier.threads";
     private static ThreadFactory connectionNotifierThreadFactory = new ThreadFactoryBuilder()
             .setNameFormat("OVSDBConnNotifSer-%d").build();
-    private static ExecutorService connectionNotifierService
-            = Executors.newCachedThreadPool(connectionNotifierThreadFactory);
+    private static ExecutorService connectionNotifierService = Executors.newFixedThreadPool(
+            OvsdbThreadPools.readThreads(CONNECTION_NOTIFIER_THREADS_PROPERTY,
+                    Math.max(16, 4 * Runtime.getRuntime().availableProcessors())),
+            connectionNotifierThreadFactory);
 
     private static Set<OvsdbConnectionListener> connectionListeners = Sets.newHashSet();
     private static Map<OvsdbClient, Channel> connections = Maps.newHashMap();
@@ -101,6 +103,17 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     private static volatile boolean singletonCreated = false;
     private static final int IDLE_READER_TIMEOUT = 30;
     private static final int READ_TIMEOUT = 180;
+    private static final String STREAM_UPDATES_PROPERTY = "ovsdb.jsonrpc.decoder.streamUpdates";
+    private static final boolean STREAM_UPDATES = Boolean.parseBoolean(
+            ConfigProperties.getProperty(OvsdbConnectionService.class, STREAM_UPDATES_PROPERTY, "true"));
+    // Shares the instances of the UUIDs received on a connection, see UUIDInterner
+    private static final String UUID_INTERNING_PROPERTY = "ovsdb.jsonrpc.uuidInterning";
+    private static final boolean UUID_INTERNING = Boolean.parseBoolean(
+            ConfigProperties.getProperty(OvsdbConnectionService.class, UUID_INTERNING_PROPERTY, "false"));
+
+    // ObjectMapper is thread safe once configured, a single instance serves every connection
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+    private static final JsonRpcEncoder JSON_RPC_ENCODER = new JsonRpcEncoder(OBJECT_MAPPER);
 
     private static final StalePassiveConnectionService STALE_PASSIVE_CONNECTION_SERVICE =
             new StalePassiveConnectionService(executorService);
@@ -125,8 +138,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                                final SSLContext sslContext) {
         try {
             Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(new NioEventLoopGroup());
-            bootstrap.channel(NioSocketChannel.class);
+            bootstrap.group(OvsdbThreadPools.getWorkerGroup());
+            bootstrap.channel(OvsdbThreadPools.getSocketChannelClass());
             bootstrap.option(ChannelOption.TCP_NODELAY, true);
             bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator(65535, 65535, 65535));
 
@@ -142,8 +155,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                     }
                     channel.pipeline().addLast(
                             //new LoggingHandler(LogLevel.INFO),
-                            new JsonRpcDecoder(100000),
-                            new StringEncoder(CharsetUtil.UTF_8),
+                            new JsonRpcDecoder(100000, STREAM_UPDATES),
+                            JSON_RPC_ENCODER,
                             new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
                             new ReadTimeoutHandler(READ_TIMEOUT),
                             new ExceptionHandler());
@@ -184,11 +197,10 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
 
     private static OvsdbClient getChannelClient(Channel channel, ConnectionType type,
         SocketConnectionType socketConnType) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.setSerializationInclusion(Include.NON_NULL);
-
-        JsonRpcEndpoint factory = new JsonRpcEndpoint(objectMapper, channel);
+        JsonRpcEndpoint factory = new JsonRpcEndpoint(OBJECT_MAPPER, channel);
+        if (UUID_INTERNING) {
+            factory.setUuidInterner(new UUIDInterner());
+        }
         JsonRpcServiceBinderHandler binderHandler = new JsonRpcServiceBinderHandler(factory);
         binderHandler.setContext(channel);
         channel.pipeline().addLast(binderHandler);
@@ -201,6 +213,13 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         return client;
     }
 
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(Include.NON_NULL);
+        return objectMapper;
+    }
+
     /**
      * Method that initiates the Passive OVSDB channel listening functionality.
      * By default the ovsdb passive connection will listen in port 6640 which can
@@ -258,12 +277,11 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
      * passive connection with Ssl and handle channel callbacks.
      */
     private static void ovsdbManagerWithSsl(int port, final SSLContext sslContext) {
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        EventLoopGroup bossGroup = OvsdbThreadPools.newBossGroup();
         try {
             ServerBootstrap serverBootstrap = new ServerBootstrap();
-            serverBootstrap.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
+            serverBootstrap.group(bossGroup, OvsdbThreadPools.getWorkerGroup())
+                    .channel(OvsdbThreadPools.getServerSocketChannelClass())
                     .option(ChannelOption.SO_BACKLOG, 100)
                     .handler(new LoggingHandler(LogLevel.INFO))
                     .childHandler(new ChannelInitializer<SocketChannel>() {
@@ -293,8 +311,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                             }
 
                             channel.pipeline().addLast(
-                                 new JsonRpcDecoder(100000),
-                                 new StringEncoder(CharsetUtil.UTF_8),
+                                 new JsonRpcDecoder(100000, STREAM_UPDATES),
+                                 JSON_RPC_ENCODER,
                                  new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
                                  new ReadTimeoutHandler(READ_TIMEOUT),
                                  new ExceptionHandler());
@@ -313,9 +331,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         } catch (InterruptedException e) {
             LOG.error("Thread interrupted", e);
         } finally {
-            // Shut down all event loops to terminate all threads.
+            // Shut down the acceptor, the event loops of the connections are shared with the active ones
             bossGroup.shutdownGracefully();
-            workerGroup.shutdownGracefully();
         }
     }
 
@@ -339,7 +356,7 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                 LOG.error("Probe failed to OVSDB switch. Disconnecting the channel {}", client.getConnectionInfo());
                 client.disconnect();
             }
-        }, connectionNotifierService);
+        }, OvsdbThreadPools.getCallbackExecutor());
     }
 
     private static void handleNewPassiveConnection(final Channel channel) {
@@ -429,7 +446,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
             executorService.schedule(new HandleNewPassiveSslRunner(channel, sslHandler),
                     retryPeriod, TimeUnit.MILLISECONDS);
         } else {
-            executorService.execute(new Runnable() {
+            // Once the channel is initialized, on its own event loop
+            channel.eventLoop().execute(new Runnable() {
                 @Override
                 public void run() {
                     OvsdbClient client = getChannelClient(channel, ConnectionType.PASSIVE,
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.opendaylight.ovsdb.lib.util.SerialExecutor;
+import org.opendaylight.ovsdb.utils.config.ConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The threads of the library, shared by all the connections, whose number does not depend on the number of
+ * connections.
+ *
+ * <p>The channels of the connections, active and passive, are served by a single event loop group, of
+ * ovsdb.eventLoop.threads threads (twice the processors by default). On Linux, the native epoll transport is
+ * used when ovsdb.eventLoop.epoll is set and available.
+ *
+ * <p>The callbacks of the clients run on a pool of ovsdb.callbackExecutor.threads threads. Each client has its
+ * own executor, which runs its tasks in order, a few at a time, so that a client with many tasks does not delay
+ * the others. The callbacks must not block.
+ */
+final class OvsdbThreadPools {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OvsdbThreadPools.class);
+    private static final String EVENT_LOOP_THREADS_PROPERTY = "ovsdb.eventLoop.threads";
+    private static final String EPOLL_PROPERTY = "ovsdb.eventLoop.epoll";
+    private static final String CALLBACK_THREADS_PROPERTY = "ovsdb.callbackExecutor.threads";
+    private static final int DEFAULT_CALLBACK_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    // The tasks a client runs in a row before the tasks of the other clients
+    private static final int CLIENT_BATCH_SIZE = 16;
+
+    private static final boolean EPOLL = useEpoll();
+    private static final EventLoopGroup WORKER_GROUP = newEventLoopGroup(
+            readThreads(EVENT_LOOP_THREADS_PROPERTY, 0), "OVSDB-EventLoop-%d");
+    private static final ExecutorService CALLBACK_EXECUTOR = Executors.newFixedThreadPool(
+            readThreads(CALLBACK_THREADS_PROPERTY, DEFAULT_CALLBACK_THREADS),
+            new ThreadFactoryBuilder().setNameFormat("OVSDB-Callback-%d").setDaemon(true).build());
+
+    private OvsdbThreadPools() {
+    }
+
+    /**
+     * Returns the event loop group serving the channels of all the connections.
+     */
+    static EventLoopGroup getWorkerGroup() {
+        return WORKER_GROUP;
+    }
+
+    /**
+     * Creates the event loop group accepting the passive connections of a server socket.
+     */
+    static EventLoopGroup newBossGroup() {
+        return newEventLoopGroup(1, "OVSDB-Acceptor-%d");
+    }
+
+    static Class<? extends Channel> getSocketChannelClass() {
+        return EPOLL ? EpollTransport.SOCKET_CHANNEL_CLASS : NioSocketChannel.class;
+    }
+
+    static Class<? extends ServerChannel> getServerSocketChannelClass() {
+        return EPOLL ? EpollTransport.SERVER_SOCKET_CHANNEL_CLASS : NioServerSocketChannel.class;
+    }
+
+    /**
+     * Returns the executor of the short callbacks which are not specific to a client.
+     */
+    static Executor getCallbackExecutor() {
+        return CALLBACK_EXECUTOR;
+    }
+
+    /**
+     * Creates the executor of the callbacks of a client, running them in order on the shared callback pool.
+     */
+    static Executor newClientExecutor() {
+        return new SerialExecutor(CALLBACK_EXECUTOR, CLIENT_BATCH_SIZE);
+    }
+
+    private static EventLoopGroup newEventLoopGroup(int threads, String nameFormat) {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat(nameFormat).build();
+        return EPOLL ? EpollTransport.newEventLoopGroup(threads, threadFactory)
+                : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    private static boolean useEpoll() {
+        if (!Boolean.parseBoolean(ConfigProperties.getProperty(OvsdbThreadPools.class, EPOLL_PROPERTY, "false"))) {
+            return false;
+        }
+        try {
+            if (EpollTransport.isAvailable()) {
+                LOG.info("Using the epoll transport");
+                return true;
+            }
+        } catch (LinkageError e) {
+            LOG.warn("The epoll transport is not installed, using NIO", e);
+        }
+        return false;
+    }
+
+    static int readThreads(String property, int defaultValue) {
+        String value = ConfigProperties.getProperty(OvsdbThreadPools.class, property, Integer.toString(defaultValue));
+        try {
+            int threads = Integer.parseInt(value.trim());
+            if (threads >= 0) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            LOG.debug("Invalid number {}", value, e);
+        }
+        LOG.warn("Invalid value {} of {}, using {}", value, property, defaultValue);
+        return defaultValue;
+    }
+
+    // Only loaded when the epoll transport is enabled, its bundle is optional
+    private static final class EpollTransport {
+        static final Class<? extends Channel> SOCKET_CHANNEL_CLASS = EpollSocketChannel.class;
+        static final Class<? extends ServerChannel> SERVER_SOCKET_CHANNEL_CLASS = EpollServerSocketChannel.class;
+
+        static boolean isAvailable() {
+            if (!Epoll.isAvailable()) {
+                LOG.warn("The epoll transport is not available, using NIO", Epoll.unavailabilityCause());
+                return false;
+            }
+            return true;
+        }
+
+        static EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+    }
+}
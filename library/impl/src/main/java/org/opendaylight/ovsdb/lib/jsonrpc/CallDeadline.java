@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+/**
+ * Implemented by RPC arguments which carry their own deadline, overriding the
+ * per-method default configured in {@link RpcDeadlines}.
+ */
+public interface CallDeadline {
+
+    /**
+     * Returns the time in milliseconds to wait for the response, or a value lower
+     * or equal to zero to use the default of the method.
+     */
+    long getDeadlineMillis();
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufProcessor;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import java.io.IOException;
@@ -36,11 +37,16 @@ import org.slf4j.LoggerFactory;
  * This approach avoids having to run json parser over and over again on the entire
  * stream waiting for input. Parser is invoked only when we know of a full JSON message
  * in the stream.
+ *
+ * <p>When created with {@code streamUpdates} set, "update", "update2" and "update3" notifications are not
+ * turned into a {@link JsonNode} tree. They are passed down the pipeline as a {@link JsonRpcUpdateStream}
+ * whose rows are parsed on demand, one row at a time. All other messages are still decoded as trees.
  */
 public class JsonRpcDecoder extends ByteToMessageDecoder {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonRpcDecoder.class);
     private int maxFrameLength;
+    private final boolean streamUpdates;
     //Indicates if the frame limit warning was issued
     private boolean maxFrameLimitWasReached = false;
     private JsonFactory jacksonJsonFactory = new MappingJsonFactory();
@@ -49,14 +55,17 @@ public class JsonRpcDecoder extends ByteToMessageDecoder {
 
     // context for the previously read incomplete records
     private int lastRecordBytes = 0;
-    private int leftCurlies = 0;
-    private int rightCurlies = 0;
-    private boolean inS = false;
+    private final FrameScanner frameScanner = new FrameScanner();
 
     private int recordsRead;
 
     public JsonRpcDecoder(int maxFrameLength) {
+        this(maxFrameLength, false);
+    }
+
+    public JsonRpcDecoder(int maxFrameLength, boolean streamUpdates) {
         this.maxFrameLength = maxFrameLength;
+        this.streamUpdates = streamUpdates;
     }
 
     @Override
@@ -81,40 +90,12 @@ public class JsonRpcDecoder extends ByteToMessageDecoder {
             }
         }
 
-        int index = lastRecordBytes + buf.readerIndex();
+        int startIndex = lastRecordBytes + buf.readerIndex();
+        int index = buf.forEachByte(startIndex, buf.writerIndex() - startIndex, frameScanner);
 
-        for (; index < buf.writerIndex(); index++) {
-            switch (buf.getByte(index)) {
-                case '{':
-                    if (!inS) {
-                        leftCurlies++;
-                    }
-                    break;
-                case '}':
-                    if (!inS) {
-                        rightCurlies++;
-                    }
-                    break;
-                case '"':
-                    if (buf.getByte(index - 1) != '\\') {
-                        inS = !inS;
-                    }
-                    break;
-                default:
-                    break;
-            }
-
-            if (leftCurlies != 0 && leftCurlies == rightCurlies && !inS) {
-                ByteBuf slice = buf.readSlice(1 + index - buf.readerIndex());
-                JsonParser jp = jacksonJsonFactory.createParser(new ByteBufInputStream(slice));
-                JsonNode root = jp.readValueAsTree();
-                out.add(root);
-                leftCurlies = 0;
-                rightCurlies = 0;
-                lastRecordBytes = 0;
-                recordsRead++;
-                break;
-            }
+        if (index == -1) {
+            // end of stream, save the incomplete record index to avoid reexamining the whole on next run
+            lastRecordBytes = buf.readableBytes();
 
             /*
              * Changing this limit to being a warning, we do not wish to "break" in scale environment
@@ -126,16 +107,31 @@ public class JsonRpcDecoder extends ByteToMessageDecoder {
 
             //We do not want to issue a log message on every extent of the buffer
             //hence logging only once
-            if (index - buf.readerIndex() >= maxFrameLength && !maxFrameLimitWasReached) {
+            if (lastRecordBytes >= maxFrameLength && !maxFrameLimitWasReached) {
                 maxFrameLimitWasReached = true;
                 LOG.warn("***** OVSDB Frame limit of {} bytes has been reached! *****", this.maxFrameLength);
             }
+            return;
         }
 
-        // end of stream, save the incomplete record index to avoid reexamining the whole on next run
-        if (index >= buf.writerIndex()) {
-            lastRecordBytes = buf.readableBytes();
+        ByteBuf slice = buf.readSlice(1 + index - buf.readerIndex());
+        frameScanner.reset();
+        lastRecordBytes = 0;
+        recordsRead++;
+
+        if (streamUpdates) {
+            JsonRpcUpdateStream updateStream = JsonRpcUpdateStream.fromFrame(jacksonJsonFactory, slice);
+            if (updateStream != null) {
+                // the frame outlives this call, keep the cumulation buffer from being reused underneath it
+                updateStream.retain();
+                out.add(updateStream);
+                return;
+            }
         }
+
+        JsonParser jp = jacksonJsonFactory.createParser(new ByteBufInputStream(slice));
+        JsonNode root = jp.readValueAsTree();
+        out.add(root);
     }
 
     public int getRecordsRead() {
@@ -153,4 +149,50 @@ public class JsonRpcDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Locates the end of a JSON object by counting the curly braces outside of string literals.
+     * The scan state is kept between invocations so that a partially received record is never examined twice.
+     */
+    private static final class FrameScanner implements ByteBufProcessor {
+        private int leftCurlies = 0;
+        private int rightCurlies = 0;
+        private boolean inS = false;
+        private boolean escaped = false;
+
+        @Override
+        public boolean process(byte value) throws Exception {
+            if (inS) {
+                if (escaped) {
+                    escaped = false;
+                } else if (value == '\\') {
+                    escaped = true;
+                } else if (value == '"') {
+                    inS = false;
+                }
+                return true;
+            }
+            switch (value) {
+                case '{':
+                    leftCurlies++;
+                    break;
+                case '}':
+                    rightCurlies++;
+                    break;
+                case '"':
+                    inS = true;
+                    break;
+                default:
+                    break;
+            }
+            // stop on the byte closing the record
+            return leftCurlies == 0 || leftCurlies != rightCurlies;
+        }
+
+        void reset() {
+            leftCurlies = 0;
+            rightCurlies = 0;
+            inS = false;
+            escaped = false;
+        }
+    }
 }
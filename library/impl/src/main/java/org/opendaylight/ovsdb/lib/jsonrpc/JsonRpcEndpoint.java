@@ -8,12 +8,10 @@
 
 package org.opendaylight.ovsdb.lib.jsonrpc;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
-import com.google.common.collect.Maps;
 import com.google.common.reflect.Invokable;
 import com.google.common.reflect.Reflection;
 import com.google.common.reflect.TypeToken;
@@ -21,37 +19,50 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-
+import java.util.concurrent.atomic.AtomicLong;
 import org.opendaylight.ovsdb.lib.error.UnexpectedResultException;
 import org.opendaylight.ovsdb.lib.error.UnsupportedArgumentException;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.notation.UUIDInterner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class JsonRpcEndpoint {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonRpcEndpoint.class);
-    private static final int REAPER_INTERVAL = 300;
-    private static final int REAPER_THREADS = 3;
+    private static final int REAPER_TICK = 10;
     private static final ThreadFactory FUTURE_REAPER_THREAD_FACTORY = new ThreadFactoryBuilder()
-            .setNameFormat("OVSDB-Lib-Future-Reaper-%d").build();
-    private static final ScheduledExecutorService FUTURE_REAPER_SERVICE
-            = Executors.newScheduledThreadPool(REAPER_THREADS, FUTURE_REAPER_THREAD_FACTORY);
+            .setNameFormat("OVSDB-Lib-Future-Reaper-%d").setDaemon(true).build();
+    /*
+     * A single hashed wheel timer expires the pending requests of all the connections.
+     * Scheduling and cancelling a timeout are constant time operations, which keeps the
+     * cost per RPC flat regardless of the number of requests in flight.
+     */
+    private static final Timer FUTURE_REAPER_TIMER =
+            new HashedWheelTimer(FUTURE_REAPER_THREAD_FACTORY, REAPER_TICK, TimeUnit.MILLISECONDS);
 
     public class CallContext {
         Method method;
         JsonRpc10Request request;
         SettableFuture<Object> future;
+        volatile Timeout timeout;
 
         public CallContext(JsonRpc10Request request, Method method, SettableFuture<Object> future) {
             this.method = method;
@@ -70,16 +81,98 @@ public class JsonRpcEndpoint {
         public SettableFuture<Object> getFuture() {
             return future;
         }
+
+        void cancelTimeout() {
+            Timeout pendingTimeout = timeout;
+            if (pendingTimeout != null) {
+                pendingTimeout.cancel();
+            }
+        }
+    }
+
+    private class RequestTimeoutTask implements TimerTask {
+        private final long requestId;
+
+        RequestTimeoutTask(long requestId) {
+            this.requestId = requestId;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            CallContext callContext = methodContext.remove(requestId);
+            if (callContext == null) {
+                return;
+            }
+            timedOutRequests.incrementAndGet();
+            LOG.debug("Request {} timed out on {}", callContext.getRequest(), nettyChannel);
+            callContext.getFuture().cancel(false);
+        }
+    }
+
+    private static final ChannelFutureListener RESPONSE_WRITE_LISTENER = new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (!future.isSuccess()) {
+                LOG.error("Exception while sending response on {}", future.channel(), future.cause());
+            }
+        }
+    };
+
+    /**
+     * Fails the pending call right away if its request could not be encoded or written,
+     * rather than leaving it to the reaper.
+     */
+    private class RequestWriteListener implements ChannelFutureListener {
+        private final long requestId;
+
+        RequestWriteListener(long requestId) {
+            this.requestId = requestId;
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (future.isSuccess()) {
+                return;
+            }
+            CallContext callContext = methodContext.remove(requestId);
+            if (callContext != null) {
+                callContext.cancelTimeout();
+                callContext.getFuture().setException(future.cause());
+            }
+        }
     }
 
     ObjectMapper objectMapper;
     Channel nettyChannel;
-    Map<String, CallContext> methodContext = Maps.newHashMap();
-    Map<Object, OvsdbRPC.Callback> requestCallbacks = Maps.newHashMap();
+    // Request ids are allocated per channel, from a monotonic counter
+    private final AtomicLong lastRequestId = new AtomicLong();
+    private final AtomicLong timedOutRequests = new AtomicLong();
+    private final AtomicLong lateResponses = new AtomicLong();
+    private final RpcDeadlines deadlines;
+    Map<Long, CallContext> methodContext = new ConcurrentHashMap<>();
+    Map<Object, OvsdbRPC.Callback> requestCallbacks = new ConcurrentHashMap<>();
+    private volatile UUIDInterner uuidInterner;
 
     public JsonRpcEndpoint(ObjectMapper objectMapper, Channel channel) {
+        this(objectMapper, channel, RpcDeadlines.getConfigured());
+    }
+
+    public JsonRpcEndpoint(ObjectMapper objectMapper, Channel channel, RpcDeadlines deadlines) {
         this.objectMapper = objectMapper;
         this.nettyChannel = channel;
+        this.deadlines = deadlines;
+    }
+
+    /**
+     * Returns the interner of the UUIDs decoded from the messages of this endpoint, or null if they are not
+     * interned.
+     */
+    public UUIDInterner getUuidInterner() {
+        return uuidInterner;
+    }
+
+    public void setUuidInterner(UUIDInterner uuidInterner) {
+        this.uuidInterner = uuidInterner;
     }
 
     public <T> T getClient(final Object context, Class<T> klazz) {
@@ -95,7 +188,8 @@ public class JsonRpcEndpoint {
                     return true;
                 }
 
-                JsonRpc10Request request = new JsonRpc10Request(UUID.randomUUID().toString());
+                long requestId = lastRequestId.incrementAndGet();
+                JsonRpc10Request request = new JsonRpc10Request(Long.toString(requestId));
                 request.setMethod(method.getName());
 
                 if (args != null && args.length != 0) {
@@ -115,22 +209,16 @@ public class JsonRpcEndpoint {
                     }
                 }
 
-                String requestString = objectMapper.writeValueAsString(request);
-                LOG.trace("getClient Request : {}", requestString);
+                LOG.trace("getClient Request : {}", request);
 
                 SettableFuture<Object> sf = SettableFuture.create();
-                methodContext.put(request.getId(), new CallContext(request, method, sf));
-                FUTURE_REAPER_SERVICE.schedule(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (sf.isDone() || sf.isCancelled()) {
-                            return;
-                        }
-                        methodContext.remove(request.getId()).getFuture().cancel(false);
-                    }
-                },REAPER_INTERVAL, TimeUnit.MILLISECONDS);
+                CallContext callContext = new CallContext(request, method, sf);
+                methodContext.put(requestId, callContext);
+                callContext.timeout = FUTURE_REAPER_TIMER.newTimeout(new RequestTimeoutTask(requestId),
+                        getDeadline(method, args), TimeUnit.MILLISECONDS);
 
-                nettyChannel.writeAndFlush(requestString);
+                // serialized straight into the outbound buffer by JsonRpcEncoder
+                nettyChannel.writeAndFlush(request).addListener(new RequestWriteListener(requestId));
 
                 return sf;
             }
@@ -141,10 +229,21 @@ public class JsonRpcEndpoint {
     public void processResult(JsonNode response) throws NoSuchMethodException {
 
         LOG.trace("Response : {}", response.toString());
-        CallContext returnCtxt = methodContext.remove(response.get("id").asText());
+        Long requestId = parseRequestId(response.get("id"));
+        if (requestId == null) {
+            LOG.debug("Response with an id not allocated by this endpoint {}", response.get("id"));
+            return;
+        }
+        CallContext returnCtxt = methodContext.remove(requestId);
         if (returnCtxt == null) {
+            if (requestId <= lastRequestId.get()) {
+                // the call was already cancelled by the reaper, its deadline is too short for this device
+                lateResponses.incrementAndGet();
+                LOG.debug("Late response for request {} on {}", requestId, nettyChannel);
+            }
             return;
         }
+        returnCtxt.cancelTimeout();
 
         if (ListenableFuture.class == returnCtxt.getMethod().getReturnType()) {
             TypeToken<?> retType = TypeToken.of(
@@ -196,13 +295,7 @@ public class JsonRpcEndpoint {
         if (request.getMethod().equals("echo")) {
             JsonRpc10Response response = new JsonRpc10Response(request.getId());
             response.setError(null);
-            String jsonString = null;
-            try {
-                jsonString = objectMapper.writeValueAsString(response);
-                nettyChannel.writeAndFlush(jsonString);
-            } catch (JsonProcessingException e) {
-                LOG.error("Exception while processing JSON string {}", jsonString, e);
-            }
+            nettyChannel.writeAndFlush(response).addListener(RESPONSE_WRITE_LISTENER);
             return;
         }
 
@@ -210,20 +303,94 @@ public class JsonRpcEndpoint {
         if (request.getMethod().equals("list_dbs")) {
             JsonRpc10Response response = new JsonRpc10Response(request.getId());
             response.setError(null);
-            String jsonString = null;
-            try {
-                jsonString = objectMapper.writeValueAsString(response);
-                nettyChannel.writeAndFlush(jsonString);
-            } catch (JsonProcessingException e) {
-                LOG.error("Exception while processing JSON string {}", jsonString, e);
-            }
+            nettyChannel.writeAndFlush(response).addListener(RESPONSE_WRITE_LISTENER);
             return;
         }
 
         LOG.error("No handler for Request : {} on {}", requestJson.toString(), context);
     }
 
+    /**
+     * Dispatches an "update" notification which was framed but not parsed by the decoder.
+     * Callbacks that cannot consume the rows incrementally get the notification as a tree.
+     */
+    public void processUpdateStream(Object context, JsonRpcUpdateStream updateStream) {
+        LOG.trace("Update stream : {}", updateStream);
+        OvsdbRPC.Callback callback = requestCallbacks.get(context);
+        if (callback instanceof OvsdbRPC.StreamingCallback) {
+            ((OvsdbRPC.StreamingCallback) callback).updateStream(context, updateStream);
+            return;
+        }
+        try {
+            processRequest(context, updateStream.readTree());
+        } catch (IOException e) {
+            LOG.error("Unable to parse update notification {} on {}", updateStream, context, e);
+        }
+    }
+
+    private long getDeadline(Method method, Object[] args) {
+        if (args != null && args.length == 1 && args[0] instanceof CallDeadline) {
+            long deadline = ((CallDeadline) args[0]).getDeadlineMillis();
+            if (deadline > 0) {
+                return deadline;
+            }
+        }
+        return deadlines.getDeadline(method.getName());
+    }
+
+    private static Long parseRequestId(JsonNode id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isIntegralNumber()) {
+            return id.asLong();
+        }
+        try {
+            return Long.valueOf(id.asText());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the calls waiting for a response, by request id.
+     *
+     * @deprecated Use {@link #getPendingCalls()}, which does not copy the pending calls.
+     */
+    @Deprecated
     public Map<String, CallContext> getMethodContext() {
-        return methodContext;
+        Map<String, CallContext> snapshot = new HashMap<>();
+        for (Map.Entry<Long, CallContext> entry : methodContext.entrySet()) {
+            snapshot.put(entry.getKey().toString(), entry.getValue());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the calls waiting for a response, by request id.
+     */
+    public Map<Long, CallContext> getPendingCalls() {
+        return Collections.unmodifiableMap(methodContext);
+    }
+
+    /**
+     * Returns the number of requests sent on this channel which are still waiting for a response.
+     */
+    public int getInFlightRequestCount() {
+        return methodContext.size();
+    }
+
+    /**
+     * Returns the number of requests on this channel which were cancelled before their response arrived.
+     */
+    public long getTimedOutRequestCount() {
+        return timedOutRequests.get();
+    }
+
+    /**
+     * Returns the number of responses received on this channel after their request had timed out.
+     */
+    public long getLateResponseCount() {
+        return lateResponses.get();
     }
 }
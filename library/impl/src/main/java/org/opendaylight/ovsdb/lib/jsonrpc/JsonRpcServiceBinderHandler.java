@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Strings;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.opendaylight.ovsdb.lib.notation.UUIDInterner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +35,30 @@ public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        UUIDInterner uuidInterner = factory.getUuidInterner();
+        if (uuidInterner == null) {
+            dispatch(ctx, msg);
+            return;
+        }
+        // the replies are decoded by the callbacks of their futures, run by this thread
+        UUIDInterner previous = uuidInterner.enter();
+        try {
+            dispatch(ctx, msg);
+        } finally {
+            UUIDInterner.exit(previous);
+        }
+    }
+
+    private void dispatch(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof JsonRpcUpdateStream) {
+            JsonRpcUpdateStream updateStream = (JsonRpcUpdateStream) msg;
+            try {
+                factory.processUpdateStream(context, updateStream);
+            } finally {
+                updateStream.release();
+            }
+            return;
+        }
         if (msg instanceof JsonNode) {
             JsonNode jsonNode = (JsonNode) msg;
             if (jsonNode.has("result")) {
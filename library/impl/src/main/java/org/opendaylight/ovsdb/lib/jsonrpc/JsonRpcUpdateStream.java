@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.DefaultByteBufHolder;
+import java.io.IOException;
+
+/**
+ * A framed "update", "update2" or "update3" notification whose table updates have not been parsed yet.
+ *
+ * <p>Instead of materializing the whole notification as a single Jackson tree, the rows are
+ * read one at a time from the underlying frame, either directly from the parser by
+ * {@link #readRowUpdates(RowUpdateReader)}, or as JSON nodes of their old and new column values by
+ * {@link #readRows(RowUpdateListener)}, so a large monitor update never has to sit in memory as one
+ * {@code ObjectNode}.
+ *
+ * <p>The stream holds a reference to the received frame and must be released once consumed.
+ */
+public class JsonRpcUpdateStream extends DefaultByteBufHolder {
+
+    private static final String METHOD = "method";
+    private static final String PARAMS = "params";
+    private static final String ID = "id";
+    private static final String RESULT = "result";
+    private static final String ERROR = "error";
+    private static final String UPDATE = "update";
+    private static final String UPDATE2 = "update2";
+    private static final String UPDATE3 = "update3";
+    private static final String OLD = "old";
+    private static final String NEW = "new";
+
+    private final JsonFactory jsonFactory;
+    private final String method;
+    private final String monitorId;
+    private final String lastTxnId;
+
+    /**
+     * Receives the row updates of a streamed notification, in the order they appear on the wire.
+     */
+    public interface RowUpdateListener {
+        /**
+         * Called once for every row of every table present in the notification.
+         * @param tableName name of the table the row belongs to
+         * @param uuid uuid of the row
+         * @param oldRow old column values, null if absent
+         * @param newRow new column values, null if absent
+         */
+        void rowUpdate(String tableName, String uuid, JsonNode oldRow, JsonNode newRow);
+    }
+
+    /**
+     * Reads the row updates of a streamed notification from the parser, in the order they appear on the wire.
+     */
+    public interface RowUpdateReader {
+        /**
+         * Called once for every row of every table present in the notification, with the parser on the start of
+         * the row update object. The reader must consume the object, leaving the parser on its end.
+         * @param tableName name of the table the row belongs to
+         * @param uuid uuid of the row
+         * @param parser the parser of the notification
+         */
+        void readRowUpdate(String tableName, String uuid, JsonParser parser) throws IOException;
+    }
+
+    JsonRpcUpdateStream(JsonFactory jsonFactory, ByteBuf frame, String method, String monitorId,
+                        String lastTxnId) {
+        super(frame);
+        this.jsonFactory = jsonFactory;
+        this.method = method;
+        this.monitorId = monitorId;
+        this.lastTxnId = lastTxnId;
+    }
+
+    /**
+     * Scans the top level members of the given frame and returns a stream for it if the frame is
+     * an "update", "update2" or "update3" notification. Nested values are skipped without being materialized,
+     * and the scan of a reply or a request stops at its first member notifications do not have.
+     *
+     * @param jsonFactory factory used for the parsers, it must provide an ObjectCodec
+     * @param frame a complete JSON-RPC message, its reader index is not modified
+     * @return a stream sharing the frame content, or null if the frame is not an update notification
+     */
+    static JsonRpcUpdateStream fromFrame(JsonFactory jsonFactory, ByteBuf frame) throws IOException {
+        String method = null;
+        String monitorId = null;
+        String secondParam = null;
+        try (JsonParser parser = jsonFactory.createParser(new ByteBufInputStream(frame.duplicate()))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                // Notifications have no result nor error, and a null id: a reply, whose result may be the large
+                // contents of a monitor, is left unread for the tree parser
+                if (RESULT.equals(fieldName) || ERROR.equals(fieldName)
+                        || ID.equals(fieldName) && token != JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                if (METHOD.equals(fieldName)) {
+                    if (token != JsonToken.VALUE_STRING) {
+                        return null;
+                    }
+                    method = toUpdateMethod(parser.getText());
+                    if (method == null) {
+                        return null;
+                    }
+                } else if (PARAMS.equals(fieldName)) {
+                    if (token != JsonToken.START_ARRAY || parser.nextToken() != JsonToken.VALUE_STRING) {
+                        return null;
+                    }
+                    monitorId = parser.getText();
+                    // "update3" notifications carry the last transaction id between the monitor id and the updates
+                    if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        secondParam = parser.getText();
+                    }
+                    if (method != null) {
+                        break;
+                    }
+                    for (JsonToken param = parser.getCurrentToken(); param != null && param != JsonToken.END_ARRAY;
+                            param = parser.nextToken()) {
+                        parser.skipChildren();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (method == null || monitorId == null) {
+            return null;
+        }
+        String lastTxnId = UPDATE3.equals(method) ? secondParam : null;
+        return new JsonRpcUpdateStream(jsonFactory, frame, method, monitorId, lastTxnId);
+    }
+
+    private static String toUpdateMethod(String method) {
+        switch (method) {
+            case UPDATE:
+                return UPDATE;
+            case UPDATE2:
+                return UPDATE2;
+            case UPDATE3:
+                return UPDATE3;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the method of this notification, "update", "update2" or "update3".
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns true if this is an "update2" or "update3" notification of a conditional monitor, whose row updates
+     * are read by {@link org.opendaylight.ovsdb.lib.schema.TableSchema#addRowUpdate2}.
+     */
+    public boolean isConditional() {
+        return !UPDATE.equals(method);
+    }
+
+    /**
+     * Returns the monitor id (the "json-value" of the original monitor request) of this notification.
+     */
+    public String getMonitorId() {
+        return monitorId;
+    }
+
+    /**
+     * Returns the id of the last transaction included in an "update3" notification, null for other notifications.
+     */
+    public String getLastTxnId() {
+        return lastTxnId;
+    }
+
+    /**
+     * Parses the table updates of an "update" notification, handing each row to the listener as soon as it is
+     * read.
+     * @param listener receives the row updates
+     * @throws IOException if the frame is not a well formed update notification
+     */
+    public void readRows(final RowUpdateListener listener) throws IOException {
+        readRowUpdates(new RowUpdateReader() {
+            @Override
+            public void readRowUpdate(String tableName, String uuid, JsonParser parser) throws IOException {
+                JsonNode oldRow = null;
+                JsonNode newRow = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.getCurrentName();
+                    parser.nextToken();
+                    if (OLD.equals(fieldName)) {
+                        oldRow = parser.readValueAsTree();
+                    } else if (NEW.equals(fieldName)) {
+                        newRow = parser.readValueAsTree();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                listener.rowUpdate(tableName, uuid, oldRow, newRow);
+            }
+        });
+    }
+
+    /**
+     * Parses the table updates of the notification in a single pass, handing the parser to the reader for each
+     * row as soon as it is reached.
+     * @param reader reads the row updates
+     * @throws IOException if the frame is not a well formed update notification
+     */
+    public void readRowUpdates(RowUpdateReader reader) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(new ByteBufInputStream(content().duplicate()))) {
+            seekTableUpdates(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String tableName = parser.getCurrentName();
+                expect(parser, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String uuid = parser.getCurrentName();
+                    expect(parser, JsonToken.START_OBJECT);
+                    reader.readRowUpdate(tableName, uuid, parser);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the whole notification as a tree, for consumers which do not handle streamed updates.
+     */
+    public JsonNode readTree() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(new ByteBufInputStream(content().duplicate()))) {
+            return parser.readValueAsTree();
+        }
+    }
+
+    private static void seekTableUpdates(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (PARAMS.equals(parser.getCurrentName())) {
+                expect(parser, JsonToken.START_ARRAY);
+                // the monitor id and last transaction id, already captured by fromFrame()
+                for (JsonToken token = parser.nextToken(); token != JsonToken.START_OBJECT;
+                        token = parser.nextToken()) {
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        throw new IOException("Update notification without table updates");
+                    }
+                    parser.skipChildren();
+                }
+                return;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        throw new IOException("Update notification without params");
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token != expected) {
+            throw new IOException("Malformed update notification, expected " + expected + " but found " + token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonRpcUpdateStream [method=" + method + ", monitorId=" + monitorId + ", bytes="
+                + content().readableBytes() + "]";
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.opendaylight.ovsdb.utils.config.ConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time allowed for the response of each JSON-RPC method before the pending call is cancelled.
+ *
+ * <p>Every value can be set through {@link ConfigProperties} as {@code ovsdb.rpc.deadline.<method>},
+ * in milliseconds. Methods without a specific value use {@code ovsdb.rpc.deadline.default}.
+ * Replies to monitor and transact requests can be very large on loaded switches,
+ * hence their defaults are considerably longer than the one of echo.
+ */
+public final class RpcDeadlines {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcDeadlines.class);
+
+    public static final String PROPERTY_PREFIX = "ovsdb.rpc.deadline.";
+    public static final String DEFAULT = "default";
+
+    private static final long DEFAULT_DEADLINE = 1000;
+    private static final Map<String, Long> METHOD_DEFAULTS = ImmutableMap.<String, Long>builder()
+            .put("echo", 1000L)
+            .put("get_schema", 5000L)
+            .put("monitor", 30000L)
+            .put("monitor_cond", 30000L)
+            .put("monitor_cond_change", 5000L)
+            .put("monitor_cond_since", 30000L)
+            .put("transact", 10000L)
+            .build();
+
+    private static volatile RpcDeadlines configured;
+
+    private final long defaultDeadline;
+    private final Map<String, Long> methodDeadlines;
+
+    public RpcDeadlines(long defaultDeadline, Map<String, Long> methodDeadlines) {
+        this.defaultDeadline = defaultDeadline;
+        this.methodDeadlines = ImmutableMap.copyOf(methodDeadlines);
+    }
+
+    /**
+     * Returns the deadlines read from the configuration properties, falling back to the built-in defaults.
+     */
+    public static RpcDeadlines getConfigured() {
+        if (configured == null) {
+            long defaultDeadline = readDeadline(DEFAULT, DEFAULT_DEADLINE);
+            ImmutableMap.Builder<String, Long> builder = ImmutableMap.builder();
+            for (Map.Entry<String, Long> entry : METHOD_DEFAULTS.entrySet()) {
+                builder.put(entry.getKey(), readDeadline(entry.getKey(), entry.getValue()));
+            }
+            configured = new RpcDeadlines(defaultDeadline, builder.build());
+            LOG.info("JSON-RPC deadlines {}", configured);
+        }
+        return configured;
+    }
+
+    private static long readDeadline(String method, long defaultValue) {
+        String value = ConfigProperties.getProperty(RpcDeadlines.class, PROPERTY_PREFIX + method,
+                Long.toString(defaultValue));
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid deadline {} for {}, using {} ms", value, method, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the deadline of the given method in milliseconds.
+     */
+    public long getDeadline(String method) {
+        Long deadline = methodDeadlines.get(method);
+        return deadline != null ? deadline : defaultDeadline;
+    }
+
+    @Override
+    public String toString() {
+        return "RpcDeadlines [default=" + defaultDeadline + ", methods=" + methodDeadlines + "]";
+    }
+}
@@ -9,8 +9,11 @@ package org.opendaylight.ovsdb.lib.message;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import java.util.List;
 import java.util.Set;
+import org.opendaylight.ovsdb.lib.notation.Condition;
 
 /**
  * MonitorRequest.
@@ -23,6 +26,7 @@ public class MonitorRequest {
     @JsonIgnore String tableName;
     Set<String> columns;
     MonitorSelect select;
+    List<Condition> where;
 
     public MonitorRequest() {
     }
@@ -66,4 +70,23 @@ public class MonitorRequest {
         }
         columns.add(column);
     }
+
+    /**
+     * Returns the conditions the rows must meet to be monitored, only supported by conditional monitors.
+     * Rows are monitored whatever their contents when there is none.
+     */
+    public List<Condition> getWhere() {
+        return where;
+    }
+
+    public void setWhere(List<Condition> where) {
+        this.where = where;
+    }
+
+    public void addCondition(Condition condition) {
+        if (where == null) {
+            where = Lists.newArrayList();
+        }
+        where.add(condition);
+    }
 }
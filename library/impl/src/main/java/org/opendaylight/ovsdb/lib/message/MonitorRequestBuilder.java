@@ -10,6 +10,7 @@ package org.opendaylight.ovsdb.lib.message;
 
 import java.util.List;
 import java.util.Set;
+import org.opendaylight.ovsdb.lib.notation.Condition;
 import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
 
@@ -54,6 +55,15 @@ public class MonitorRequestBuilder<E extends TableSchema<E>> {
         return getMonitorRequest().getColumns();
     }
 
+    /**
+     * Restricts the monitored rows to the ones meeting the given condition, in addition to the previous ones.
+     * Conditions are only honoured by conditional monitors.
+     */
+    public MonitorRequestBuilder<E> addCondition(Condition condition) {
+        getMonitorRequest().addCondition(condition);
+        return this;
+    }
+
     public MonitorRequestBuilder<E> with(MonitorSelect select) {
         getMonitorRequest().setSelect(select);
         return this;
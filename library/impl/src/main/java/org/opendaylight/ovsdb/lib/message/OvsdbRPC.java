@@ -11,6 +11,7 @@ package org.opendaylight.ovsdb.lib.message;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcUpdateStream;
 import org.opendaylight.ovsdb.lib.jsonrpc.Params;
 
 public interface OvsdbRPC {
@@ -24,6 +25,12 @@ public interface OvsdbRPC {
 
     ListenableFuture<JsonNode> monitor(Params equest);
 
+    ListenableFuture<JsonNode> monitor_cond(Params request);
+
+    ListenableFuture<JsonNode> monitor_cond_change(Params request);
+
+    ListenableFuture<JsonNode> monitor_cond_since(Params request);
+
     ListenableFuture<List<String>> list_dbs();
 
     ListenableFuture<List<JsonNode>> transact(TransactBuilder transact);
@@ -44,6 +51,18 @@ public interface OvsdbRPC {
     interface Callback {
         void update(Object context, UpdateNotification upadateNotification);
 
+        /**
+         * Receives the "update2" notifications of conditional monitors, whose modified rows only carry
+         * the difference with their previous contents.
+         */
+        void update2(Object context, UpdateNotification updateNotification);
+
+        /**
+         * Receives the "update3" notifications of monitors started with monitor_cond_since, which are
+         * "update2" notifications also carrying the id of the last transaction they include.
+         */
+        void update3(Object context, UpdateNotification updateNotification);
+
         void locked(Object context, List<String> ids);
 
         void stolen(Object context, List<String> ids);
@@ -51,4 +70,12 @@ public interface OvsdbRPC {
         // ECHO is handled by JsonRPCEndpoint directly.
         // We can add Echo request here if there is a need for clients to handle it.
     }
+
+    /**
+     * Callback able to consume "update" notifications row by row, as delivered by a streaming
+     * {@link org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcDecoder}.
+     */
+    interface StreamingCallback extends Callback {
+        void updateStream(Object context, JsonRpcUpdateStream updateStream);
+    }
 }
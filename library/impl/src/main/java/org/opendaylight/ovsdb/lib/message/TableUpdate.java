@@ -10,6 +10,7 @@ package org.opendaylight.ovsdb.lib.message;
 
 import com.google.common.collect.Maps;
 import java.util.Map;
+import org.opendaylight.ovsdb.lib.notation.Column;
 import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
@@ -69,6 +70,39 @@ public class TableUpdate<E extends TableSchema<E>> {
         rows.put(uuid, new RowUpdate<>(uuid, oldRow, newRow));
     }
 
+    /**
+     * Merges a later update of the same table into this one, as if both had been received at once.
+     * The latest contents of each row win; the old contents of a column are the ones preceding the
+     * first update. A row inserted then deleted disappears altogether.
+     */
+    public void merge(TableUpdate<E> laterUpdate) {
+        for (RowUpdate<E> later : laterUpdate.getRows().values()) {
+            RowUpdate<E> earlier = rows.get(later.getUuid());
+            if (earlier == null) {
+                rows.put(later.getUuid(), later);
+            } else if (earlier.getOld() == null && later.getNew() == null) {
+                rows.remove(later.getUuid());
+            } else {
+                earlier.setOld(mergeOld(earlier.getOld(), later.getOld()));
+                earlier.setNew(later.getNew());
+            }
+        }
+    }
+
+    private Row<E> mergeOld(Row<E> earlierOld, Row<E> laterOld) {
+        if (earlierOld == null || laterOld == null) {
+            return earlierOld;
+        }
+        Row<E> old = new Row<>(earlierOld.getTableSchema());
+        for (Column<E, ?> column : laterOld.getColumns()) {
+            old.addColumn(column.getSchema().getName(), column);
+        }
+        for (Column<E, ?> column : earlierOld.getColumns()) {
+            old.addColumn(column.getSchema().getName(), column);
+        }
+        return old;
+    }
+
     public Row<E> getOld(UUID uuid) {
         RowUpdate<E> rowUpdate = rows.get(uuid);
         if (rowUpdate == null) {
@@ -33,6 +33,23 @@ public class TableUpdates extends Response {
         return map;
     }
 
+    /**
+     * Merges later updates into these ones, table by table.
+     *
+     * @see TableUpdate#merge(TableUpdate)
+     */
+    @SuppressWarnings("unchecked")
+    public void merge(TableUpdates laterUpdates) {
+        for (Map.Entry<String, TableUpdate> entry : laterUpdates.getUpdates().entrySet()) {
+            TableUpdate tableUpdate = map.get(entry.getKey());
+            if (tableUpdate == null) {
+                map.put(entry.getKey(), entry.getValue());
+            } else {
+                tableUpdate.merge(entry.getValue());
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "TableUpdates [map=" + map + ", error=" + error + ", details="
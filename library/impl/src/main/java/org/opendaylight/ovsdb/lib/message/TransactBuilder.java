@@ -10,14 +10,17 @@ package org.opendaylight.ovsdb.lib.message;
 
 import com.google.common.collect.Lists;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.ovsdb.lib.jsonrpc.CallDeadline;
 import org.opendaylight.ovsdb.lib.jsonrpc.Params;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 
-public class TransactBuilder implements Params {
+public class TransactBuilder implements Params, CallDeadline {
 
     List<Operation> requests = Lists.newArrayList();
     DatabaseSchema dbSchema;
+    long deadlineMillis;
 
     public TransactBuilder(DatabaseSchema dbSchema) {
         this.dbSchema = dbSchema;
@@ -41,4 +44,16 @@ public class TransactBuilder implements Params {
     public void addOperation(Operation operation) {
         requests.add(operation);
     }
+
+    /**
+     * Overrides the configured transact deadline for this transaction only.
+     */
+    public void setDeadline(long timeout, TimeUnit unit) {
+        this.deadlineMillis = unit.toMillis(timeout);
+    }
+
+    @Override
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
 }
@@ -21,6 +21,7 @@ public class UpdateNotification {
     private static final Logger LOG = LoggerFactory.getLogger(UpdateNotification.class);
 
     private Object context;
+    private String lastTxnId;
     private DatabaseSchema databaseSchema;
     private TableUpdates update;
     private JsonNode updatesJson;
@@ -33,6 +34,17 @@ public class UpdateNotification {
         this.context = context;
     }
 
+    /**
+     * Returns the id of the last transaction included in an "update3" notification, null for other notifications.
+     */
+    public String getLastTxnId() {
+        return lastTxnId;
+    }
+
+    public void setLastTxnId(String lastTxnId) {
+        this.lastTxnId = lastTxnId;
+    }
+
     public TableUpdates getUpdate() {
         return update;
     }
@@ -9,48 +9,118 @@
 package org.opendaylight.ovsdb.lib.notation;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.google.common.collect.Maps;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.opendaylight.ovsdb.lib.notation.json.RowSerializer;
 import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
 
+/**
+ * The columns of a row of a table.
+ *
+ * <p>The columns of the table schema are stored in an array indexed by their ordinal
+ * ({@link TableSchema#getOrdinal(ColumnSchema)}), holding only their data; the {@link Column}s returned for them
+ * are views created on demand, changing their data does not change the row, {@link #addColumn} does. The
+ * columns which are not in the table schema, or all of them while the row has no table schema, are kept as is
+ * by name.
+ *
+ * <p>The columns added by {@link #addColumnFromJson} keep their JSON value until they are first read; it is then
+ * decoded once and the JSON released.
+ */
 @JsonSerialize(using = RowSerializer.class)
 public class Row<E extends TableSchema<E>> {
+    // The data of the columns whose value is null
+    private static final Object NULL_DATA = new Object();
+
     @JsonIgnore
     private TableSchema<E> tableSchema;
-    protected Map<String, Column<E, ?>> columns;
+    /*
+     * The columns of the table schema by ordinal: the data of the column when it was added with the column
+     * schema of the table, a LazyData if it was added from JSON, the Column itself otherwise, null when the row
+     * does not have the column.
+     */
+    private Object[] values;
+    private Map<String, Column<E, ?>> otherColumns;
 
     public Row() {
-        this.columns = Maps.newHashMap();
     }
 
     public Row(TableSchema<E> tableSchema) {
         this.tableSchema = tableSchema;
-        this.columns = Maps.newHashMap();
     }
 
     public Row(TableSchema<E> tableSchema, List<Column<E, ?>> columns) {
         this.tableSchema = tableSchema;
-        this.columns = Maps.newHashMap();
         for (Column<E, ?> column : columns) {
-            this.columns.put(column.getSchema().getName(), column);
+            addColumn(column.getSchema().getName(), column);
         }
     }
 
+    /**
+     * Creates a row with the same table schema and columns as the given one, without decoding its columns.
+     */
+    public Row(Row<E> row) {
+        this.tableSchema = row.tableSchema;
+        this.values = row.values != null ? row.values.clone() : null;
+        this.otherColumns = row.otherColumns != null ? new HashMap<>(row.otherColumns) : null;
+    }
+
     public <D> Column<E, D> getColumn(ColumnSchema<E, D> schema) {
-        return (Column<E, D>) columns.get(schema.getName());
+        return (Column<E, D>) getColumn(schema.getName(), schema);
+    }
+
+    /**
+     * Returns the column with the given name, or null if the row does not have it.
+     */
+    public Column<E, ?> getColumn(String columnName) {
+        return getColumn(columnName, null);
     }
 
     public Collection<Column<E, ?>> getColumns() {
-        return columns.values();
+        return asMap().values();
     }
 
     public void addColumn(String columnName, Column<E, ?> data) {
-        this.columns.put(columnName, data);
+        int ordinal = getOrdinal(columnName, data.getSchema());
+        if (ordinal >= 0) {
+            setValue(ordinal, data.getSchema() == tableSchema.getColumnSchema(ordinal)
+                    ? toValue(data.getData()) : data);
+        } else {
+            if (otherColumns == null) {
+                otherColumns = new HashMap<>();
+            }
+            otherColumns.put(columnName, data);
+        }
+    }
+
+    /**
+     * Adds the column with the given schema and data, without creating a {@link Column} when the schema is the
+     * one of the table of the row.
+     */
+    public <D> void addColumn(ColumnSchema<E, D> schema, D data) {
+        int ordinal = tableSchema != null ? tableSchema.getOrdinal(schema) : -1;
+        if (ordinal >= 0) {
+            setValue(ordinal, toValue(data));
+        } else {
+            addColumn(schema.getName(), new Column<>(schema, data));
+        }
+    }
+
+    /**
+     * Adds the column with the given schema and JSON value, which is only decoded when the column is first read.
+     */
+    public void addColumnFromJson(ColumnSchema<E, ?> schema, JsonNode json) {
+        int ordinal = tableSchema != null ? tableSchema.getOrdinal(schema) : -1;
+        if (ordinal >= 0) {
+            setValue(ordinal, new LazyData(schema, json));
+        } else {
+            addColumn(schema.getName(), new Column<>((ColumnSchema<E, Object>) schema, schema.valueFromJson(json)));
+        }
     }
 
     public TableSchema<E> getTableSchema() {
@@ -58,12 +128,21 @@ public class Row<E extends TableSchema<E>> {
     }
 
     public void setTableSchema(TableSchema<E> tableSchema) {
+        if (tableSchema == this.tableSchema) {
+            return;
+        }
+        Map<String, Column<E, ?>> columns = asMap();
         this.tableSchema = tableSchema;
+        this.values = null;
+        this.otherColumns = null;
+        for (Map.Entry<String, Column<E, ?>> column : columns.entrySet()) {
+            addColumn(column.getKey(), column.getValue());
+        }
     }
 
     @Override
     public String toString() {
-        return "Row [columns=" + columns + "]";
+        return "Row [columns=" + asMap() + "]";
     }
 
     /**
@@ -76,7 +155,7 @@ public class Row<E extends TableSchema<E>> {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((columns == null) ? 0 : columns.hashCode());
+        result = prime * result + asMap().hashCode();
         return result;
     }
 
@@ -98,13 +177,92 @@ public class Row<E extends TableSchema<E>> {
             return false;
         }
         Row other = (Row) obj;
-        if (columns == null) {
-            if (other.columns != null) {
-                return false;
+        return asMap().equals(other.asMap());
+    }
+
+    private int getOrdinal(String columnName, ColumnSchema<E, ?> schema) {
+        if (tableSchema == null) {
+            return -1;
+        }
+        if (schema != null && columnName.equals(schema.getName())) {
+            int ordinal = tableSchema.getOrdinal(schema);
+            if (ordinal >= 0) {
+                return ordinal;
             }
-        } else if (!columns.equals(other.columns)) {
-            return false;
         }
-        return true;
+        return tableSchema.getOrdinal(columnName);
+    }
+
+    private Column<E, ?> getColumn(String columnName, ColumnSchema<E, ?> schema) {
+        int ordinal = getOrdinal(columnName, schema);
+        if (ordinal >= 0) {
+            return values != null && ordinal < values.length ? toColumn(ordinal, values[ordinal]) : null;
+        }
+        return otherColumns != null ? otherColumns.get(columnName) : null;
+    }
+
+    private void setValue(int ordinal, Object value) {
+        if (values == null) {
+            values = new Object[tableSchema.getOrdinalCount()];
+        } else if (ordinal >= values.length) {
+            // columns added to the table schema after the row was created
+            values = Arrays.copyOf(values, tableSchema.getOrdinalCount());
+        }
+        values[ordinal] = value;
+    }
+
+    private static Object toValue(Object data) {
+        return data != null ? data : NULL_DATA;
+    }
+
+    private Column<E, ?> toColumn(int ordinal, Object value) {
+        if (value == null || value instanceof Column) {
+            return (Column<E, ?>) value;
+        }
+        Object data;
+        if (value instanceof LazyData) {
+            data = ((LazyData) value).getData();
+        } else {
+            data = value != NULL_DATA ? value : null;
+        }
+        return new Column<>((ColumnSchema<E, Object>) tableSchema.getColumnSchema(ordinal), data);
+    }
+
+    private Map<String, Column<E, ?>> asMap() {
+        Map<String, Column<E, ?>> columns = new HashMap<>();
+        if (values != null) {
+            for (int ordinal = 0; ordinal < values.length; ordinal++) {
+                if (values[ordinal] != null) {
+                    columns.put(tableSchema.getColumnSchema(ordinal).getName(), toColumn(ordinal, values[ordinal]));
+                }
+            }
+        }
+        if (otherColumns != null) {
+            columns.putAll(otherColumns);
+        }
+        return columns;
+    }
+
+    /*
+     * The JSON value of a column, decoded on first access. The rows are read by several threads once they are
+     * published, the decoding is done under the lock of the holder.
+     */
+    private static final class LazyData {
+        private final ColumnSchema<?, ?> schema;
+        private JsonNode json;
+        private Object data;
+
+        LazyData(ColumnSchema<?, ?> schema, JsonNode json) {
+            this.schema = schema;
+            this.json = json;
+        }
+
+        synchronized Object getData() {
+            if (json != null) {
+                data = schema.valueFromJson(json);
+                json = null;
+            }
+            return data;
+        }
     }
 }
@@ -9,33 +9,88 @@ package org.opendaylight.ovsdb.lib.notation;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
 import org.opendaylight.ovsdb.lib.notation.json.UUIDSerializer;
 import org.opendaylight.ovsdb.lib.notation.json.UUIDStringConverter;
 
 /**
  * Handles both uuid and named-uuid.
+ *
+ * <p>The uuids in the canonical lowercase form sent by OVSDB servers are kept as two longs, like
+ * {@link java.util.UUID}, and only formatted back to a string on demand; any other value, such as a named-uuid,
+ * is kept as is.
  */
 @JsonDeserialize(contentConverter = UUIDStringConverter.class)
 @JsonSerialize(using = UUIDSerializer.class)
 public class UUID {
 
-    String val;
+    private static final int LENGTH = 36;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+    // The value of a named-uuid, null for a uuid held by the two longs
+    private final String name;
 
     public UUID(String value) {
-        this.val = value;
+        Preconditions.checkNotNull(value, "The value of a UUID can not be null");
+        if (isCanonical(value)) {
+            this.mostSigBits = parseBits(value, 0, 18);
+            this.leastSigBits = parseBits(value, 19, LENGTH);
+            this.name = null;
+        } else {
+            this.mostSigBits = 0;
+            this.leastSigBits = 0;
+            this.name = value;
+        }
+    }
+
+    public UUID(long mostSigBits, long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.name = null;
+    }
+
+    /**
+     * Returns the UUID of the given value, such as the characters of a JSON token, through the
+     * {@link UUIDInterner} of the current thread if there is one.
+     */
+    public static UUID parse(CharSequence value) {
+        UUID uuid;
+        if (isCanonical(value)) {
+            uuid = new UUID(parseBits(value, 0, 18), parseBits(value, 19, LENGTH));
+        } else {
+            uuid = new UUID(value.toString());
+        }
+        return UUIDInterner.internIfEnabled(uuid);
+    }
+
+    /**
+     * Returns true if this is not a uuid in the canonical form, such as a named-uuid.
+     */
+    public boolean isNamed() {
+        return name != null;
     }
 
     @Override
     public String toString() {
-        return val;
+        if (name != null) {
+            return name;
+        }
+        char[] chars = new char[LENGTH];
+        formatBits(chars, 0, 18, mostSigBits);
+        chars[18] = '-';
+        formatBits(chars, 19, LENGTH, leastSigBits);
+        return new String(chars);
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((val == null) ? 0 : val.hashCode());
-        return result;
+        if (name != null) {
+            return name.hashCode();
+        }
+        long bits = mostSigBits ^ leastSigBits;
+        return (int) (bits >> 32) ^ (int) bits;
     }
 
     @Override
@@ -50,13 +105,56 @@ public class UUID {
             return false;
         }
         UUID other = (UUID) obj;
-        if (val == null) {
-            if (other.val != null) {
+        if (name == null) {
+            return other.name == null && mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+        }
+        return name.equals(other.name);
+    }
+
+    /*
+     * Only the lowercase form is held by the longs, so that toString() returns the value the UUID was created
+     * with.
+     */
+    private static boolean isCanonical(CharSequence value) {
+        if (value.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char character = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (character != '-') {
+                    return false;
+                }
+            } else if ((character < '0' || character > '9') && (character < 'a' || character > 'f')) {
                 return false;
             }
-        } else if (!val.equals(other.val)) {
-            return false;
         }
         return true;
     }
+
+    /*
+     * Parses the 16 hexadecimal digits of half a uuid, between the given indexes, skipping the dashes.
+     */
+    private static long parseBits(CharSequence value, int start, int end) {
+        long bits = 0;
+        for (int i = start; i < end; i++) {
+            char character = value.charAt(i);
+            if (character != '-') {
+                bits = bits << 4 | Character.digit(character, 16);
+            }
+        }
+        return bits;
+    }
+
+    private static void formatBits(char[] chars, int start, int end, long bits) {
+        int shift = 60;
+        for (int i = start; i < end; i++) {
+            if (i == 8 || i == 13 || i == 23) {
+                chars[i] = '-';
+            } else {
+                chars[i] = HEX_DIGITS[(int) (bits >>> shift) & 0xf];
+                shift -= 4;
+            }
+        }
+    }
 }
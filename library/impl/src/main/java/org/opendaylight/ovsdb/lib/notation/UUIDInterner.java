@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.notation;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.concurrent.Executor;
+
+/**
+ * Weak interner of the {@link UUID}s parsed from the messages of a connection, so that the many references
+ * to a row, and the row updates themselves, share a single instance as long as one of them is in use.
+ *
+ * <p>The interner is made current for the thread decoding a message with {@link #enter()}, and
+ * {@link UUID#parse(CharSequence)} interns the UUIDs through it until {@link #exit(UUIDInterner)}.
+ */
+public final class UUIDInterner {
+
+    private static final ThreadLocal<UUIDInterner> CURRENT = new ThreadLocal<>();
+
+    private final Interner<UUID> interner = Interners.newWeakInterner();
+
+    /**
+     * Makes this interner the current one of the calling thread.
+     * @return the previous interner of the thread, to be passed to {@link #exit(UUIDInterner)}
+     */
+    public UUIDInterner enter() {
+        UUIDInterner previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the interner of the calling thread which was current before {@link #enter()}.
+     */
+    public static void exit(UUIDInterner previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Wraps an executor so that its tasks run with the interner which was current for the thread queueing them,
+     * typically the one decoding the message they process.
+     */
+    public static Executor propagating(final Executor executor) {
+        return new Executor() {
+            @Override
+            public void execute(final Runnable task) {
+                final UUIDInterner interner = CURRENT.get();
+                if (interner == null) {
+                    executor.execute(task);
+                    return;
+                }
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        UUIDInterner previous = interner.enter();
+                        try {
+                            task.run();
+                        } finally {
+                            exit(previous);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public UUID intern(UUID uuid) {
+        return interner.intern(uuid);
+    }
+
+    static UUID internIfEnabled(UUID uuid) {
+        UUIDInterner current = CURRENT.get();
+        return current != null ? current.intern(uuid) : uuid;
+    }
+}
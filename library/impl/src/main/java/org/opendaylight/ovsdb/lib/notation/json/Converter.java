@@ -8,11 +8,8 @@
 
 package org.opendaylight.ovsdb.lib.notation.json;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.util.StdConverter;
-import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
 import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
@@ -98,13 +95,15 @@ public class Converter {
     static class UpdateNotificationDeser {
         public UpdateNotification deserialize(JsonNode node) {
             UpdateNotification un = new UpdateNotification();
-            if (node.isArray() && node.size() == 2) {
+            if (node.isArray() && (node.size() == 2 || node.size() == 3)) {
+                // "update3" notifications carry the last transaction id between the context and the updates
+                JsonNode updatesJson = node.get(node.size() - 1);
                 un.setContext(node.get(0).asText());
-                un.setUpdates(node.get(1));
-                ObjectMapper objectMapper = new ObjectMapper();
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                TableUpdates updates = objectMapper.convertValue(node.get(1), TableUpdates.class);
-                un.setUpdate(updates);
+                if (node.size() == 3) {
+                    un.setLastTxnId(node.get(1).asText());
+                }
+                // the updates are converted against the schema of the monitor by the client
+                un.setUpdates(updatesJson);
                 return un;
             }
             return null;
@@ -119,10 +118,18 @@ public class Converter {
                     case BOOLEAN:
                         return node.asBoolean();
                     case NUMBER:
-                        if (node.isFloatingPointNumber()) {
+                        /*
+                         * Like the schema-driven decoding of BaseType, numbers are kept as Long and Double, the
+                         * arbitrary precision types only hold the values Jackson could not parse into those.
+                         */
+                        if (node.isBigInteger()) {
+                            return node.bigIntegerValue();
+                        } else if (node.isBigDecimal()) {
                             return node.decimalValue();
+                        } else if (node.isFloatingPointNumber()) {
+                            return node.doubleValue();
                         } else {
-                            return node.bigIntegerValue();
+                            return node.longValue();
                         }
                     case STRING:
                         return node.asText();
@@ -133,7 +140,7 @@ public class Converter {
 
             if (node.isArray() && node.get(0).isTextual()
                     && ("uuid".equals(node.get(0).asText()) || "named-uuid".equals(node.get(0).asText()))) {
-                return new UUID(node.get(1).asText());
+                return UUID.parse(node.get(1).asText());
             }
 
             throw new IllegalArgumentException("not an atom node");
@@ -20,11 +20,15 @@ public class UUIDSerializer extends JsonSerializer<UUID> {
     public void serialize(UUID value, JsonGenerator generator,
         SerializerProvider provider) throws IOException {
         generator.writeStartArray();
-        try {
-            java.util.UUID.fromString(value.toString());
+        if (!value.isNamed()) {
             generator.writeString("uuid");
-        } catch (IllegalArgumentException ex) {
-            generator.writeString("named-uuid");
+        } else {
+            try {
+                java.util.UUID.fromString(value.toString());
+                generator.writeString("uuid");
+            } catch (IllegalArgumentException ex) {
+                generator.writeString("named-uuid");
+            }
         }
         generator.writeString(value.toString());
         generator.writeEndArray();
@@ -49,7 +49,7 @@ public class OperationResult {
     }
 
     public void setUuid(List<String> uuidList) {
-        this.uuid = new UUID(uuidList.get(1));
+        this.uuid = UUID.parse(uuidList.get(1));
     }
 
     public List<Row<GenericTableSchema>> getRows() {
@@ -11,6 +11,7 @@ package org.opendaylight.ovsdb.lib.operations;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 
@@ -42,6 +43,10 @@ public class TransactionBuilder {
         return ovs.transact(databaseSchema, operations);
     }
 
+    public ListenableFuture<List<OperationResult>> execute(long timeout, TimeUnit unit) {
+        return ovs.transact(databaseSchema, operations, timeout, unit);
+    }
+
     public DatabaseSchema getDatabaseSchema() {
         return databaseSchema;
     }
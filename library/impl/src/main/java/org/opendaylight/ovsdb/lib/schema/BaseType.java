@@ -8,8 +8,12 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Sets;
+import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.TyperException;
 import org.opendaylight.ovsdb.lib.notation.ReferencedRow;
@@ -79,8 +83,26 @@ public abstract class BaseType<E extends BaseType<E>> {
 
     public abstract Object toValue(JsonNode value);
 
+    /**
+     * Converts the value starting at the current token of the given parser, without building a tree for the
+     * atoms this type reads directly. The parser is left on the last token of the value.
+     */
+    public Object toValue(JsonParser parser) throws IOException {
+        return toValue((JsonNode) parser.readValueAsTree());
+    }
+
     public abstract void validate(Object value);
 
+    /*
+     * Skips the remaining elements of the array the parser is in, up to the token closing it.
+     */
+    static void skipToEndOfArray(JsonParser parser) throws IOException {
+        for (JsonToken token = parser.getCurrentToken(); token != null && token != JsonToken.END_ARRAY;
+                token = parser.nextToken()) {
+            parser.skipChildren();
+        }
+    }
+
     public static class IntegerBaseType extends BaseType<IntegerBaseType> {
         long min = Long.MIN_VALUE;
         long max = Long.MAX_VALUE;
@@ -109,6 +131,11 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asLong();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            return parser.getCurrentToken().isScalarValue() ? parser.getValueAsLong() : super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -221,6 +248,11 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asDouble();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            return parser.getCurrentToken().isScalarValue() ? parser.getValueAsDouble() : super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -325,6 +357,11 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asBoolean();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            return parser.getCurrentToken().isScalarValue() ? parser.getValueAsBoolean() : super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -364,6 +401,11 @@ public abstract class BaseType<E extends BaseType<E>> {
             return value.asText();
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            return parser.getCurrentToken() == JsonToken.VALUE_STRING ? parser.getText() : super.toValue(parser);
+        }
+
         @Override
         public void validate(Object value) {
 
@@ -480,7 +522,7 @@ public abstract class BaseType<E extends BaseType<E>> {
         public Object toValue(JsonNode value) {
             if (value.isArray()) {
                 if (value.size() == 2 && value.get(0).isTextual() && "uuid".equals(value.get(0).asText())) {
-                    return new UUID(value.get(1).asText());
+                    return UUID.parse(value.get(1).asText());
                 }
             } else {
                 /*
@@ -494,6 +536,36 @@ public abstract class BaseType<E extends BaseType<E>> {
             return null;
         }
 
+        @Override
+        public Object toValue(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                return super.toValue(parser);
+            }
+            parser.nextToken();
+            return toValueFromElements(parser);
+        }
+
+        /**
+         * Converts a ["uuid", &lt;uuid&gt;] array whose first element is the current token of the given parser,
+         * leaving the parser on the token closing the array.
+         * @return the uuid, or null if the array is not such a pair
+         */
+        UUID toValueFromElements(JsonParser parser) throws IOException {
+            UUID uuid = null;
+            if (parser.getCurrentToken() == JsonToken.VALUE_STRING && "uuid".equals(parser.getText())
+                    && parser.nextToken() == JsonToken.VALUE_STRING) {
+                uuid = UUID.parse(CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(),
+                        parser.getTextLength()));
+                parser.nextToken();
+            }
+            if (parser.getCurrentToken() != JsonToken.END_ARRAY) {
+                // not a ["uuid", <uuid>] pair
+                skipToEndOfArray(parser);
+                return null;
+            }
+            return uuid;
+        }
+
         @Override
         public void validate(Object value) {
 
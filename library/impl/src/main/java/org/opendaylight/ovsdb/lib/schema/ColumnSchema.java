@@ -8,7 +8,9 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.BadSchemaException;
@@ -21,6 +23,8 @@ import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
 public class ColumnSchema<E extends TableSchema<E>, D> {
     String name;
     ColumnType type;
+    // The index of the column in its table, assigned by the TableSchema, -1 until then
+    private int ordinal = -1;
 
     public ColumnSchema(String name, ColumnType columnType) {
         this.name = name;
@@ -43,6 +47,17 @@ public class ColumnSchema<E extends TableSchema<E>, D> {
         return type;
     }
 
+    /**
+     * Returns the index of the column in the rows of its table, see {@link TableSchema#getOrdinal(ColumnSchema)}.
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
     // --- Operations on the column ----------//
 
     public Condition opEqual(D data) {
@@ -139,6 +154,29 @@ public class ColumnSchema<E extends TableSchema<E>, D> {
         return (D) this.getType().valueFromJson(value);
     }
 
+    /**
+     * Computes the new value of the column from its old value and the difference reported by an "update2"
+     * notification.
+     */
+    public D applyDiffFromJson(D oldValue, JsonNode diff) {
+        return (D) this.getType().applyDiff(oldValue, diff);
+    }
+
+    /**
+     * Converts the value starting at the current token of the given parser, leaving the parser on its last token.
+     */
+    public D valueFromJson(JsonParser parser) throws IOException {
+        return (D) this.getType().valueFromJson(parser);
+    }
+
+    /**
+     * Computes the new value of the column from its old value and the difference starting at the current token
+     * of the given parser.
+     */
+    public D applyDiffFromJson(D oldValue, JsonParser diff) throws IOException {
+        return (D) this.getType().applyDiff(oldValue, diff);
+    }
+
     public Object getNormalizeData(D value) {
         Object untypedValue;
         if (value instanceof Set) {
@@ -8,11 +8,22 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.TyperException;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonUtils;
 import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
 import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.BaseType.UuidBaseType;
 
 
 public abstract class ColumnType {
@@ -108,8 +119,51 @@ public abstract class ColumnType {
 
     public abstract Object valueFromJson(JsonNode value);
 
+    /**
+     * Converts the value starting at the current token of the given parser, as {@link #valueFromJson(JsonNode)}
+     * does for its tree. The parser is left on the last token of the value.
+     */
+    public Object valueFromJson(JsonParser parser) throws IOException {
+        return valueFromJson((JsonNode) parser.readValueAsTree());
+    }
+
+    /**
+     * Computes the new value of a column from its previous value and the difference reported for it by an
+     * "update2" notification. The difference of a scalar, or optional, column is its new value.
+     */
+    public Object applyDiff(Object oldValue, JsonNode diff) {
+        return applyDiffValue(oldValue, valueFromJson(diff));
+    }
+
+    /**
+     * Computes the new value of a column from its previous value and the difference starting at the current
+     * token of the given parser, see {@link #applyDiff(Object, JsonNode)}.
+     */
+    public Object applyDiff(Object oldValue, JsonParser diff) throws IOException {
+        return applyDiffValue(oldValue, valueFromJson(diff));
+    }
+
+    /**
+     * Computes the new value of a column from its previous value and its converted difference.
+     */
+    protected Object applyDiffValue(Object oldValue, Object diffValue) {
+        return diffValue;
+    }
+
     public abstract void validate(Object value);
 
+    /*
+     * Reads the elements of the array the parser is in, from the current one up to the token closing the array.
+     */
+    static ArrayNode readRemainingElements(JsonParser parser) throws IOException {
+        ArrayNode elements = JsonNodeFactory.instance.arrayNode();
+        for (JsonToken token = parser.getCurrentToken(); token != null && token != JsonToken.END_ARRAY;
+                token = parser.nextToken()) {
+            elements.add((JsonNode) parser.readValueAsTree());
+        }
+        return elements;
+    }
+
     @Override
     public String toString() {
         return "ColumnType{"
@@ -219,6 +273,59 @@ public abstract class ColumnType {
             }
         }
 
+        @Override
+        public Object valueFromJson(JsonParser parser) throws IOException {
+            if (!isMultiValued()) {
+                return getBaseType().toValue(parser);
+            }
+            OvsdbSet<Object> result = new OvsdbSet<>();
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                result.add(getBaseType().toValue(parser));
+                return result;
+            }
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.VALUE_STRING && "set".equals(parser.getText())) {
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        result.add(getBaseType().toValue(parser));
+                    }
+                    parser.nextToken();
+                }
+                BaseType.skipToEndOfArray(parser);
+            } else if (getBaseType() instanceof UuidBaseType) {
+                // a single ["uuid", <uuid>] atom
+                UUID uuid = ((UuidBaseType) getBaseType()).toValueFromElements(parser);
+                if (uuid != null) {
+                    result.add(uuid);
+                }
+            } else if (first != JsonToken.END_ARRAY) {
+                // a single atom which is itself an array
+                ArrayNode atom = readRemainingElements(parser);
+                if (atom.size() == 2) {
+                    result.add(getBaseType().toValue(atom));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * The difference of a set column is the symmetric difference between its old and new values.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Object applyDiffValue(Object oldValue, Object diffValue) {
+            if (getMax() <= 1 || !(oldValue instanceof Set)) {
+                return diffValue;
+            }
+            Set<Object> result = Sets.newHashSet((Set<Object>) oldValue);
+            for (Object element : (Set<Object>) diffValue) {
+                if (!result.remove(element)) {
+                    result.add(element);
+                }
+            }
+            return new OvsdbSet<>(result);
+        }
+
         @Override
         public void validate(Object value) {
             this.baseType.validate(value);
@@ -287,6 +394,59 @@ public abstract class ColumnType {
             return null;
         }
 
+        @Override
+        public Object valueFromJson(JsonParser parser) throws IOException {
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return null;
+            }
+            OvsdbMap<Object, Object> map = null;
+            if (parser.nextToken() == JsonToken.VALUE_STRING && "map".equals(parser.getText())
+                    && parser.nextToken() == JsonToken.START_ARRAY) {
+                map = new OvsdbMap<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    // a [<key>, <value>] pair
+                    if (parser.nextToken() != JsonToken.END_ARRAY) {
+                        Object key = getKeyType().toValue(parser);
+                        if (parser.nextToken() != JsonToken.END_ARRAY) {
+                            map.put(key, getBaseType().toValue(parser));
+                            parser.nextToken();
+                        }
+                    }
+                    BaseType.skipToEndOfArray(parser);
+                }
+                parser.nextToken();
+            }
+            BaseType.skipToEndOfArray(parser);
+            return map;
+        }
+
+        /**
+         * The difference of a map column holds the pairs added, the pairs removed, with their old value, and
+         * the pairs whose value changed, with their new value.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Object applyDiffValue(Object oldValue, Object diffValue) {
+            Map<Object, Object> result = oldValue instanceof Map
+                    ? Maps.newHashMap((Map<Object, Object>) oldValue) : Maps.newHashMap();
+            Map<Object, Object> changes = (Map<Object, Object>) diffValue;
+            if (changes != null) {
+                for (Map.Entry<Object, Object> change : changes.entrySet()) {
+                    if (change.getValue().equals(result.get(change.getKey()))) {
+                        result.remove(change.getKey());
+                    } else {
+                        result.put(change.getKey(), change.getValue());
+                    }
+                }
+            }
+            return new OvsdbMap<>(result);
+        }
+
         @Override
         public void validate(Object value) {
             this.baseType.validate(value);
@@ -9,11 +9,10 @@
 package org.opendaylight.ovsdb.lib.schema;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Function;
 import com.google.common.reflect.Invokable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.ParsingException;
@@ -91,14 +90,17 @@ public class DatabaseSchema {
 
         Version dbVersion = Version.fromString(json.get("version").asText());
 
-        Map<String, TableSchema> tables = new HashMap<>();
-        for (Iterator<Map.Entry<String, JsonNode>> iter = json.get("tables").fields(); iter.hasNext(); ) {
-            Map.Entry<String, JsonNode> table = iter.next();
-            LOG.trace("Read schema for table[{}]:{}", table.getKey(), table.getValue());
-
-            //todo : this needs to done by a factory
-            tables.put(table.getKey(), new GenericTableSchema().fromJson(table.getKey(), table.getValue()));
-        }
+        // The schemas of the tables are independent, large schemas are read in parallel
+        Map<String, TableSchema> tables = ParallelTableParser.parseTables(json.get("tables"),
+                new Function<Map.Entry<String, JsonNode>, TableSchema>() {
+                    @Override
+                    public TableSchema apply(Map.Entry<String, JsonNode> table) {
+                        LOG.trace("Read schema for table[{}]:{}", table.getKey(), table.getValue());
+
+                        //todo : this needs to done by a factory
+                        return new GenericTableSchema().fromJson(table.getKey(), table.getValue());
+                    }
+                });
 
         return new DatabaseSchema(dbName, dbVersion, tables);
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.opendaylight.ovsdb.lib.error.ParsingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The database schemas read from the devices, shared by every connection.
+ *
+ * <p>The devices running the same version of OVS send the same schemas: each schema is read once and the same
+ * {@link DatabaseSchema} returned for all of them, identified by the name and version of the database and the
+ * checksum of its JSON. The schemas are complete, with the internally generated columns; they must not be
+ * modified. The caches derived from a schema, such as the column ordinals or the typed bindings of
+ * {@link org.opendaylight.ovsdb.lib.schema.typed.TyperUtils}, are shared with it.
+ *
+ * <p>A schema is kept while a connection uses it.
+ */
+public final class DatabaseSchemaRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseSchemaRegistry.class);
+    private static final Cache<SchemaKey, DatabaseSchema> SCHEMAS = CacheBuilder.newBuilder().weakValues().build();
+
+    private DatabaseSchemaRegistry() {
+    }
+
+    /**
+     * Returns the schema of the given database, as sent by a device in reply to get_schema.
+     *
+     * @param dbName name of the database
+     * @param json the schema of the database
+     * @return the shared schema, read from the given JSON if no device sent the same one before
+     * @throws ParsingException if the schema cannot be read
+     */
+    public static DatabaseSchema getSchema(final String dbName, final JsonNode json) {
+        if (!json.isObject() || !json.has("version")) {
+            throw new ParsingException("bad DatabaseSchema root, expected \"version\" as child but was not found");
+        }
+        String checksum = Hashing.sha256().hashString(json.toString(), StandardCharsets.UTF_8).toString();
+        final SchemaKey key = new SchemaKey(dbName, json.get("version").asText(), checksum);
+        try {
+            return SCHEMAS.get(key, new Callable<DatabaseSchema>() {
+                @Override
+                public DatabaseSchema call() {
+                    LOG.debug("Reading the schema {}", key);
+                    DatabaseSchema dbSchema = DatabaseSchema.fromJson(dbName, json);
+                    dbSchema.populateInternallyGeneratedColumns();
+                    return dbSchema;
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof ParsingException) {
+                throw (ParsingException) e.getCause();
+            }
+            throw new ParsingException("Failed to read the schema " + key, e.getCause());
+        }
+    }
+
+    private static final class SchemaKey {
+        private final String dbName;
+        private final String version;
+        private final String checksum;
+
+        SchemaKey(String dbName, String version, String checksum) {
+            this.dbName = dbName;
+            this.version = version;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, version, checksum);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SchemaKey)) {
+                return false;
+            }
+            SchemaKey other = (SchemaKey) obj;
+            return dbName.equals(other.dbName) && version.equals(other.version) && checksum.equals(other.checksum);
+        }
+
+        @Override
+        public String toString() {
+            return dbName + " " + version + " (" + checksum + ")";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Function;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import org.opendaylight.ovsdb.utils.config.ConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the tables of the large replies of a device, its database schemas and the initial contents of its
+ * monitors, one task per table.
+ *
+ * <p>When enabled, the tables are converted in parallel on a pool shared by every connection, bounded to the
+ * configured number of threads; the caller waits for all of them. Otherwise, or when there is a single table,
+ * they are converted by the caller.
+ */
+public final class ParallelTableParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelTableParser.class);
+    private static final String PARALLEL_PROPERTY = "ovsdb.schema.parallelParsing";
+    private static final boolean PARALLEL = Boolean.parseBoolean(
+            ConfigProperties.getProperty(ParallelTableParser.class, PARALLEL_PROPERTY, "false"));
+    private static final String THREADS_PROPERTY = "ovsdb.schema.parallelParsing.threads";
+    private static final int DEFAULT_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private ParallelTableParser() {
+    }
+
+    /**
+     * Converts each table of the given JSON object, mapping the names of the tables to their conversion.
+     * The tables converted to null are left out.
+     *
+     * @param tables JSON object whose fields are the tables
+     * @param parser converts a table, given its name and JSON value; called concurrently for different tables
+     * @return the converted tables by name
+     * @throws RuntimeException the failure of the conversion of a table
+     */
+    public static <T> Map<String, T> parseTables(JsonNode tables,
+                                                 final Function<Map.Entry<String, JsonNode>, T> parser) {
+        Map<String, T> result = new HashMap<>();
+        if (!PARALLEL || tables.size() < 2) {
+            for (Iterator<Map.Entry<String, JsonNode>> iter = tables.fields(); iter.hasNext(); ) {
+                Map.Entry<String, JsonNode> table = iter.next();
+                putIfNotNull(result, table.getKey(), parser.apply(table));
+            }
+            return result;
+        }
+
+        // The first failure, the conversions of the tables are all waited for before it is thrown
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<Map.Entry<String, ForkJoinTask<T>>> tasks = new ArrayList<>(tables.size());
+        for (Iterator<Map.Entry<String, JsonNode>> iter = tables.fields(); iter.hasNext(); ) {
+            final Map.Entry<String, JsonNode> table = iter.next();
+            ForkJoinTask<T> task = ForkJoinTask.adapt(new Callable<T>() {
+                @Override
+                public T call() {
+                    try {
+                        return parser.apply(table);
+                    } catch (RuntimeException e) {
+                        LOG.debug("Failed to convert table {}", table.getKey(), e);
+                        failure.compareAndSet(null, e);
+                        return null;
+                    }
+                }
+            });
+            PoolHolder.POOL.execute(task);
+            tasks.add(new AbstractMap.SimpleImmutableEntry<>(table.getKey(), task));
+        }
+        for (Map.Entry<String, ForkJoinTask<T>> task : tasks) {
+            putIfNotNull(result, task.getKey(), task.getValue().join());
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return result;
+    }
+
+    private static <T> void putIfNotNull(Map<String, T> result, String tableName, T value) {
+        if (value != null) {
+            result.put(tableName, value);
+        }
+    }
+
+    private static int readThreads() {
+        String value = ConfigProperties.getProperty(ParallelTableParser.class, THREADS_PROPERTY,
+                Integer.toString(DEFAULT_THREADS));
+        try {
+            int threads = Integer.parseInt(value.trim());
+            if (threads > 0) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            LOG.debug("Invalid number {}", value, e);
+        }
+        LOG.warn("Invalid value {} of {}, using {} threads", value, THREADS_PROPERTY, DEFAULT_THREADS);
+        return DEFAULT_THREADS;
+    }
+
+    // The pool is only created when the tables are first converted in parallel
+    private static final class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool(readThreads());
+    }
+}
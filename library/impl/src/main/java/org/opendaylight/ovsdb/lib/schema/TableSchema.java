@@ -8,8 +8,11 @@
 
 package org.opendaylight.ovsdb.lib.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -25,12 +28,24 @@ import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.operations.Insert;
 import org.opendaylight.ovsdb.lib.schema.BaseType.UuidBaseType;
 import org.opendaylight.ovsdb.lib.schema.ColumnType.AtomicColumnType;
+import org.opendaylight.ovsdb.utils.config.ConfigProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 public abstract class TableSchema<E extends TableSchema<E>> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(TableSchema.class);
+    private static final ColumnSchema[] NO_COLUMNS = new ColumnSchema[0];
+    // Keeps the JSON values of the columns of the rows received until they are read, see Row#addColumnFromJson
+    private static final String LAZY_ROWS_PROPERTY = "ovsdb.schema.lazyRows";
+    private static final boolean LAZY_ROWS = Boolean.parseBoolean(
+            ConfigProperties.getProperty(TableSchema.class, LAZY_ROWS_PROPERTY, "false"));
+
     private String name;
     private Map<String, ColumnSchema> columns;
+    // The column schemas by ordinal, the ordinals are dense and never change once assigned
+    private volatile ColumnSchema[] columnsByOrdinal = NO_COLUMNS;
 
     public TableSchema() {
     }
@@ -42,6 +57,7 @@ public abstract class TableSchema<E extends TableSchema<E>> {
     public TableSchema(String name, Map<String, ColumnSchema> columns) {
         this.name = name;
         this.columns = columns;
+        assignOrdinals();
     }
 
     public Set<String> getColumns() {
@@ -116,6 +132,66 @@ public abstract class TableSchema<E extends TableSchema<E>> {
 
     protected void setColumns(Map<String, ColumnSchema> columns) {
         this.columns = columns;
+        assignOrdinals();
+    }
+
+    /**
+     * Returns the index of the given column in the rows of this table, or -1 if the column schema is not the one
+     * of this table.
+     */
+    public int getOrdinal(ColumnSchema<E, ?> columnSchema) {
+        ColumnSchema[] byOrdinal = columnsByOrdinal;
+        int ordinal = columnSchema.getOrdinal();
+        return ordinal >= 0 && ordinal < byOrdinal.length && byOrdinal[ordinal] == columnSchema ? ordinal : -1;
+    }
+
+    /**
+     * Returns the index of the column with the given name in the rows of this table, or -1 if there is none.
+     */
+    public int getOrdinal(String columnName) {
+        ColumnSchema columnSchema = columns != null ? columns.get(columnName) : null;
+        return columnSchema != null ? getOrdinal(columnSchema) : -1;
+    }
+
+    /**
+     * Returns the schema of the column with the given index in the rows of this table.
+     */
+    public ColumnSchema<E, ?> getColumnSchema(int ordinal) {
+        return columnsByOrdinal[ordinal];
+    }
+
+    /**
+     * Returns the number of indexes of the columns in the rows of this table.
+     */
+    public int getOrdinalCount() {
+        return columnsByOrdinal.length;
+    }
+
+    /*
+     * Assigns the next ordinals to the columns without one. The column schemas of a table which shares its
+     * columns with another one, such as the GenericTableSchema views of a table, keep the ordinals they have.
+     */
+    private void assignOrdinals() {
+        if (columns == null) {
+            columnsByOrdinal = NO_COLUMNS;
+            return;
+        }
+        int count = 0;
+        for (ColumnSchema columnSchema : columns.values()) {
+            count = Math.max(count, columnSchema.getOrdinal() + 1);
+        }
+        for (ColumnSchema columnSchema : columns.values()) {
+            if (columnSchema.getOrdinal() < 0) {
+                columnSchema.setOrdinal(count++);
+            }
+        }
+        ColumnSchema[] byOrdinal = new ColumnSchema[count];
+        for (ColumnSchema columnSchema : columns.values()) {
+            if (byOrdinal[columnSchema.getOrdinal()] == null) {
+                byOrdinal[columnSchema.getOrdinal()] = columnSchema;
+            }
+        }
+        columnsByOrdinal = byOrdinal;
     }
 
     public TableUpdate<E> updatesFromJson(JsonNode value) {
@@ -123,21 +199,141 @@ public abstract class TableSchema<E extends TableSchema<E>> {
         Iterator<Entry<String, JsonNode>> fields = value.fields();
         while (fields.hasNext()) {
             Map.Entry<String, JsonNode> idOldNew = fields.next();
-            String uuid = idOldNew.getKey();
+            addRowUpdate(tableUpdate, idOldNew.getKey(),
+                    idOldNew.getValue().get("old"), idOldNew.getValue().get("new"));
+        }
+        return tableUpdate;
+    }
 
-            ObjectNode newObjectNode = (ObjectNode) idOldNew.getValue().get("new");
-            ObjectNode oldObjectNode = (ObjectNode) idOldNew.getValue().get("old");
+    /**
+     * Converts the old and new values of a single row and adds them to the given TableUpdate.
+     * Used both for complete table updates and for rows delivered one at a time by a streamed notification.
+     */
+    public void addRowUpdate(TableUpdate<E> tableUpdate, String uuid, JsonNode oldRowNode, JsonNode newRowNode) {
+        Row<E> newRow = newRowNode != null ? createRow((ObjectNode) newRowNode) : null;
+        Row<E> oldRow = oldRowNode != null ? createRow((ObjectNode) oldRowNode) : null;
 
-            Row<E> newRow = newObjectNode != null ? createRow(newObjectNode) : null;
-            Row<E> oldRow = oldObjectNode != null ? createRow(oldObjectNode) : null;
+        tableUpdate.addRow(UUID.parse(uuid), oldRow, newRow);
+    }
 
-            tableUpdate.addRow(new UUID(uuid), oldRow, newRow);
+    /**
+     * Converts a row update of an "update2" notification, as sent by conditional monitors, and adds its old
+     * and new values to the given TableUpdate. Modifications only carry the columns that changed, with the
+     * difference from their previous values, hence the current contents of the row must be supplied. The
+     * modification of a row which is not known, as a peer may send after a change of the monitored conditions,
+     * is skipped so that the other rows of the notification still apply.
+     * @param currentRow the contents of the row before this update, null if the row is not known yet
+     */
+    public void addRowUpdate2(TableUpdate<E> tableUpdate, String uuid, JsonNode rowUpdate, Row<E> currentRow) {
+        UUID rowUuid = UUID.parse(uuid);
+        JsonNode newRowNode = rowUpdate.has("initial") ? rowUpdate.get("initial") : rowUpdate.get("insert");
+        if (newRowNode != null) {
+            tableUpdate.addRow(rowUuid, null, createRow((ObjectNode) newRowNode));
+        } else if (rowUpdate.has("delete")) {
+            tableUpdate.addRow(rowUuid, currentRow, null);
+        } else if (rowUpdate.has("modify")) {
+            if (currentRow == null) {
+                LOG.warn("Ignoring the modification of unknown row {} in table {}", uuid, name);
+                return;
+            }
+            Row<E> oldRow = new Row<>(this);
+            Row<E> newRow = new Row<>(currentRow);
+            newRow.setTableSchema(this);
+            for (Iterator<Map.Entry<String, JsonNode>> iter = rowUpdate.get("modify").fields(); iter.hasNext();) {
+                Map.Entry<String, JsonNode> next = iter.next();
+                ColumnSchema<E, Object> schema = column(next.getKey(), Object.class);
+                if (schema != null) {
+                    Column<E, Object> oldColumn = currentRow.getColumn(schema);
+                    Object oldValue = null;
+                    if (oldColumn != null) {
+                        oldValue = oldColumn.getData();
+                        oldRow.addColumn(next.getKey(), oldColumn);
+                    }
+                    newRow.addColumn(schema, schema.applyDiffFromJson(oldValue, next.getValue()));
+                }
+            }
+            tableUpdate.addRow(rowUuid, oldRow, newRow);
+        }
+    }
+
+    /**
+     * Converts the old and new values of a single row update, read from the given parser positioned on the
+     * start of the update object, and adds them to the given TableUpdate. The parser is left on the end of the
+     * update object.
+     */
+    public void addRowUpdate(TableUpdate<E> tableUpdate, UUID uuid, JsonParser parser) throws IOException {
+        Row<E> oldRow = null;
+        Row<E> newRow = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("old".equals(fieldName)) {
+                oldRow = createRow(parser);
+            } else if ("new".equals(fieldName)) {
+                newRow = createRow(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        tableUpdate.addRow(uuid, oldRow, newRow);
+    }
+
+    /**
+     * Converts a row update of an "update2" notification, read from the given parser positioned on the start of
+     * the update object, see {@link #addRowUpdate2(TableUpdate, String, JsonNode, Row)}. The parser is left on
+     * the end of the update object.
+     */
+    public void addRowUpdate2(TableUpdate<E> tableUpdate, UUID uuid, JsonParser parser, Row<E> currentRow)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("initial".equals(fieldName) || "insert".equals(fieldName)) {
+                tableUpdate.addRow(uuid, null, createRow(parser));
+            } else if ("delete".equals(fieldName)) {
+                parser.skipChildren();
+                tableUpdate.addRow(uuid, currentRow, null);
+            } else if ("modify".equals(fieldName)) {
+                if (currentRow == null) {
+                    LOG.warn("Ignoring the modification of unknown row {} in table {}", uuid, name);
+                    parser.skipChildren();
+                    continue;
+                }
+                Row<E> oldRow = new Row<>(this);
+                Row<E> newRow = new Row<>(currentRow);
+                newRow.setTableSchema(this);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    ColumnSchema<E, Object> schema = column(parser.getCurrentName(), Object.class);
+                    parser.nextToken();
+                    if (schema == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    Column<E, Object> oldColumn = currentRow.getColumn(schema);
+                    Object oldValue = null;
+                    if (oldColumn != null) {
+                        oldValue = oldColumn.getData();
+                        oldRow.addColumn(schema.getName(), oldColumn);
+                    }
+                    newRow.addColumn(schema, schema.applyDiffFromJson(oldValue, parser));
+                }
+                tableUpdate.addRow(uuid, oldRow, newRow);
+            } else {
+                parser.skipChildren();
+            }
         }
-        return tableUpdate;
     }
 
     public Row<E> createRow(ObjectNode rowNode) {
-        List<Column<E, ?>> newColumns = new ArrayList<>();
+        return createRow(rowNode, LAZY_ROWS);
+    }
+
+    /**
+     * Converts the given JSON row.
+     * @param lazy if true, the columns are only decoded when they are first read
+     */
+    public Row<E> createRow(ObjectNode rowNode, boolean lazy) {
+        Row<E> row = new Row<>(this);
         for (Iterator<Map.Entry<String, JsonNode>> iter = rowNode.fields(); iter.hasNext();) {
             Map.Entry<String, JsonNode> next = iter.next();
             ColumnSchema<E, Object> schema = column(next.getKey(), Object.class);
@@ -148,11 +344,35 @@ public abstract class TableSchema<E extends TableSchema<E>> {
              * Hence adding some safety checks around that.
              */
             if (schema != null) {
-                Object value = schema.valueFromJson(next.getValue());
-                newColumns.add(new Column<>(schema, value));
+                if (lazy) {
+                    row.addColumnFromJson(schema, next.getValue());
+                } else {
+                    row.addColumn(schema, schema.valueFromJson(next.getValue()));
+                }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Converts the row read from the given parser positioned on the start of the row object, leaving the parser
+     * on its end.
+     */
+    public Row<E> createRow(JsonParser parser) throws IOException {
+        Row<E> row = new Row<>(this);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            ColumnSchema<E, Object> schema = column(parser.getCurrentName(), Object.class);
+            parser.nextToken();
+            // the "hidden" columns, see createRow(ObjectNode, boolean)
+            if (schema == null) {
+                parser.skipChildren();
+            } else if (LAZY_ROWS) {
+                row.addColumnFromJson(schema, (JsonNode) parser.readValueAsTree());
+            } else {
+                row.addColumn(schema, schema.valueFromJson(parser));
             }
         }
-        return new Row<>(this, newColumns);
+        return row;
     }
 
     public List<Row<E>> createRows(JsonNode rowsNode) {
@@ -177,5 +397,6 @@ public abstract class TableSchema<E extends TableSchema<E>> {
     public void populateInternallyGeneratedColumns() {
         columns.put("_uuid", new ColumnSchema("_uuid", new AtomicColumnType(new UuidBaseType())));
         columns.put("_version", new ColumnSchema("_version", new AtomicColumnType(new UuidBaseType())));
+        assignOrdinals();
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema.typed;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.ovsdb.lib.error.TyperException;
+import org.opendaylight.ovsdb.lib.notation.Version;
+
+/**
+ * What {@link TyperUtils} learns from the annotations and method names of a typed table interface, computed
+ * once per interface: the table and its versions, and for each method the operation it maps to, its column and
+ * the versions of the column. The typed row proxies dispatch their calls on it instead of inspecting the
+ * invoked methods.
+ */
+final class TypedClassInfo {
+
+    /**
+     * The operation performed by a method of a typed row.
+     */
+    enum Kind {
+        GETTABLESCHEMA, GETROW, SETDATA, GETDATA, GETCOLUMN, HASHCODE, EQUALS, TOSTRING, UNSUPPORTED
+    }
+
+    static final class MethodInfo {
+        private final Kind kind;
+        private final String columnName;
+        private final Version fromVersion;
+        private final Version untilVersion;
+
+        private MethodInfo(Method method) {
+            this.kind = classify(method);
+            this.columnName = resolveColumnName(method, kind);
+            this.fromVersion = TyperUtils.getColumnFromVersion(method);
+            this.untilVersion = TyperUtils.getColumnUntilVersion(method);
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        String getColumnName() {
+            return columnName;
+        }
+
+        Version getFromVersion() {
+            return fromVersion;
+        }
+
+        Version getUntilVersion() {
+            return untilVersion;
+        }
+    }
+
+    private static final String GET_STARTS_WITH = "get";
+    private static final String SET_STARTS_WITH = "set";
+    private static final String GETCOLUMN_ENDS_WITH = "Column";
+    private static final String GETROW_ENDS_WITH = "Row";
+
+    private static final ConcurrentMap<Class<?>, TypedClassInfo> INFOS = new ConcurrentHashMap<>();
+
+    private final Class<?> klazz;
+    private final String tableName;
+    private final String database;
+    private final Version fromVersion;
+    private final Version untilVersion;
+    private volatile Constructor<?> proxyConstructor;
+    private final ConcurrentMap<Method, MethodInfo> methods = new ConcurrentHashMap<>();
+
+    private TypedClassInfo(Class<?> klazz) {
+        this.klazz = klazz;
+        TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
+        this.tableName = typedTable != null ? typedTable.name() : klazz.getSimpleName();
+        this.database = typedTable != null ? typedTable.database() : null;
+        this.fromVersion = TyperUtils.getTableFromVersion(klazz);
+        this.untilVersion = TyperUtils.getTableUntilVersion(klazz);
+        for (Method method : klazz.getMethods()) {
+            methods.put(method, new MethodInfo(method));
+        }
+    }
+
+    static TypedClassInfo of(Class<?> klazz) {
+        TypedClassInfo info = INFOS.get(klazz);
+        if (info == null) {
+            info = new TypedClassInfo(klazz);
+            TypedClassInfo existing = INFOS.putIfAbsent(klazz, info);
+            if (existing != null) {
+                info = existing;
+            }
+        }
+        return info;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the name of the database of the table, or null if the interface does not declare it.
+     */
+    String getDatabase() {
+        return database;
+    }
+
+    Version getFromVersion() {
+        return fromVersion;
+    }
+
+    Version getUntilVersion() {
+        return untilVersion;
+    }
+
+    /**
+     * Returns the constructor of the proxy class implementing the interface, taking the invocation handler.
+     */
+    Constructor<?> getProxyConstructor() {
+        Constructor<?> constructor = proxyConstructor;
+        if (constructor == null) {
+            try {
+                constructor = Proxy.getProxyClass(klazz.getClassLoader(), klazz)
+                        .getConstructor(InvocationHandler.class);
+                // the proxy classes of non-public interfaces are not public either
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new TyperException("Unable to create a proxy class for " + klazz.getName(), e);
+            }
+            proxyConstructor = constructor;
+        }
+        return constructor;
+    }
+
+    MethodInfo getMethodInfo(Method method) {
+        MethodInfo info = methods.get(method);
+        if (info == null) {
+            // The Object methods of the proxies, and the methods of interfaces not visible from the class
+            info = new MethodInfo(method);
+            MethodInfo existing = methods.putIfAbsent(method, info);
+            if (existing != null) {
+                info = existing;
+            }
+        }
+        return info;
+    }
+
+    private static Kind classify(Method method) {
+        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
+        if (typedColumn != null) {
+            switch (typedColumn.method()) {
+                case GETTABLESCHEMA:
+                    return Kind.GETTABLESCHEMA;
+                case GETROW:
+                    return Kind.GETROW;
+                case SETDATA:
+                    return Kind.SETDATA;
+                case GETDATA:
+                    return Kind.GETDATA;
+                case GETCOLUMN:
+                    return Kind.GETCOLUMN;
+                default:
+                    return Kind.UNSUPPORTED;
+            }
+        }
+
+        String name = method.getName();
+        int parameterCount = method.getParameterTypes().length;
+        if (name.startsWith(GET_STARTS_WITH) && name.endsWith(GETROW_ENDS_WITH)) {
+            return Kind.GETROW;
+        } else if (name.startsWith(SET_STARTS_WITH)) {
+            return Kind.SETDATA;
+        } else if (name.startsWith(GET_STARTS_WITH) && !name.endsWith(GETCOLUMN_ENDS_WITH)) {
+            return Kind.GETDATA;
+        } else if (name.startsWith(GET_STARTS_WITH)) {
+            return Kind.GETCOLUMN;
+        } else if (parameterCount == 0 && name.equals("hashCode")) {
+            return Kind.HASHCODE;
+        } else if (parameterCount == 1 && name.equals("equals")
+                && Object.class.equals(method.getParameterTypes()[0])) {
+            return Kind.EQUALS;
+        } else if (parameterCount == 0 && name.equals("toString")) {
+            return Kind.TOSTRING;
+        }
+        return Kind.UNSUPPORTED;
+    }
+
+    private static String resolveColumnName(Method method, Kind kind) {
+        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
+        if (typedColumn != null) {
+            return typedColumn.name();
+        }
+
+        /*
+         * Attempting to get the column name by parsing the method name with a following convention :
+         * 1. GETDATA : get<ColumnName>
+         * 2. SETDATA : set<ColumnName>
+         * 3. GETCOLUMN : get<ColumnName>Column
+         * where <ColumnName> is the name of the column that we are interested in.
+         */
+        int index = GET_STARTS_WITH.length();
+        String name = method.getName();
+        if (kind == Kind.GETDATA || kind == Kind.SETDATA) {
+            return name.substring(index).toLowerCase();
+        } else if (kind == Kind.GETCOLUMN) {
+            return name.substring(index, name.indexOf(GETCOLUMN_ENDS_WITH, index)).toLowerCase();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema.typed;
+
+import com.google.common.base.Objects;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.ovsdb.lib.notation.Version;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.opendaylight.ovsdb.lib.schema.typed.TypedClassInfo.MethodInfo;
+
+/**
+ * What {@link TyperUtils} resolves for a typed table interface against a {@link DatabaseSchema}: whether the
+ * interface applies to the database and its version, the table schema, and for each method the version check
+ * and the column schema. The binding is computed for the name and version the schema had at the time; the
+ * lookups which fail are not kept, so that columns populated later are still found.
+ *
+ * <p>The binding does not reference the schema itself, it is passed to the methods which need it: the bindings
+ * are held by a cache weakly keyed by the schema, which must not keep the schema reachable.
+ */
+final class TypedSchemaBinding {
+
+    private final TypedClassInfo info;
+    private final String databaseName;
+    private final Version version;
+    private final boolean databaseMatch;
+    private final boolean tableVersionMatch;
+    private final ConcurrentMap<Method, Boolean> columnVersionMatches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, ColumnSchema<GenericTableSchema, Object>> columnSchemas =
+            new ConcurrentHashMap<>();
+    private volatile GenericTableSchema tableSchema;
+
+    TypedSchemaBinding(DatabaseSchema dbSchema, TypedClassInfo info) {
+        this.info = info;
+        this.databaseName = dbSchema.getName();
+        this.version = dbSchema.getVersion();
+        this.databaseMatch = info.getDatabase() == null || info.getDatabase().equalsIgnoreCase(databaseName);
+        this.tableVersionMatch = isSupported(version, info.getFromVersion(), info.getUntilVersion());
+    }
+
+    /**
+     * Returns true if the binding was resolved for the current name and version of the given schema.
+     */
+    boolean isCurrent(DatabaseSchema dbSchema) {
+        return Objects.equal(databaseName, dbSchema.getName()) && Objects.equal(version, dbSchema.getVersion());
+    }
+
+    TypedClassInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * Returns true if the interface is one of a table of the database.
+     */
+    boolean isDatabaseMatch() {
+        return databaseMatch;
+    }
+
+    /**
+     * Returns true if the version of the database is within the versions of the table.
+     */
+    boolean isTableVersionMatch() {
+        return tableVersionMatch;
+    }
+
+    /**
+     * Returns true if the version of the database is within the versions of the column of the given method.
+     */
+    boolean isColumnVersionMatch(Method method, MethodInfo methodInfo) {
+        Boolean match = columnVersionMatches.get(method);
+        if (match == null) {
+            match = isSupported(version, methodInfo.getFromVersion(), methodInfo.getUntilVersion());
+            columnVersionMatches.put(method, match);
+        }
+        return match;
+    }
+
+    GenericTableSchema getTableSchema(DatabaseSchema dbSchema) {
+        GenericTableSchema schema = tableSchema;
+        if (schema == null) {
+            schema = dbSchema.table(info.getTableName(), GenericTableSchema.class);
+            tableSchema = schema;
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the schema of the column of the given method, or null if the table has no such column.
+     */
+    ColumnSchema<GenericTableSchema, Object> getColumnSchema(GenericTableSchema schema, Method method,
+                                                             String columnName) {
+        ColumnSchema<GenericTableSchema, Object> columnSchema = columnSchemas.get(method);
+        if (columnSchema == null) {
+            columnSchema = TyperUtils.getColumnSchema(schema, columnName, (Class<Object>) method.getReturnType());
+            if (columnSchema != null) {
+                columnSchemas.put(method, columnSchema);
+            }
+        }
+        return columnSchema;
+    }
+
+    private static boolean isSupported(Version schemaVersion, Version fromVersion, Version untilVersion) {
+        return (fromVersion.equals(Version.NULL) || schemaVersion.compareTo(fromVersion) >= 0)
+                && (untilVersion.equals(Version.NULL) || schemaVersion.compareTo(untilVersion) <= 0);
+    }
+}
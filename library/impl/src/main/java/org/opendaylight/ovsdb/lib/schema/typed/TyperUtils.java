@@ -9,11 +9,16 @@
 package org.opendaylight.ovsdb.lib.schema.typed;
 
 import com.google.common.base.Preconditions;
-import com.google.common.reflect.Reflection;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.ovsdb.lib.error.ColumnSchemaNotFoundException;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
 import org.opendaylight.ovsdb.lib.error.TableSchemaNotFoundException;
@@ -29,29 +34,40 @@ import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
+import org.opendaylight.ovsdb.lib.schema.typed.TypedClassInfo.MethodInfo;
 
 public class TyperUtils {
 
-    private static final String GET_STARTS_WITH = "get";
-    private static final String SET_STARTS_WITH = "set";
-    private static final String GETCOLUMN_ENDS_WITH = "Column";
-    private static final String GETROW_ENDS_WITH = "Row";
+    /*
+     * The bindings of the typed interfaces, by schema. The schemas are weakly referenced, and compared by
+     * identity: the bindings of a schema replaced by a new one, after a reconnection for instance, go away with
+     * it.
+     */
+    private static final LoadingCache<DatabaseSchema, ConcurrentMap<Class<?>, TypedSchemaBinding>> BINDINGS =
+            CacheBuilder.newBuilder().weakKeys().build(
+                    new CacheLoader<DatabaseSchema, ConcurrentMap<Class<?>, TypedSchemaBinding>>() {
+                        @Override
+                        public ConcurrentMap<Class<?>, TypedSchemaBinding> load(DatabaseSchema dbSchema) {
+                            return new ConcurrentHashMap<>();
+                        }
+                    });
 
     private TyperUtils() {
         // Prevent instantiating a utility class
     }
 
-    private static <T> String getTableName(Class<T> klazz) {
-        TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
-        if (typedTable != null) {
-            return typedTable.name();
+    private static TypedSchemaBinding getBinding(DatabaseSchema dbSchema, Class<?> klazz) {
+        ConcurrentMap<Class<?>, TypedSchemaBinding> bindings = BINDINGS.getUnchecked(dbSchema);
+        TypedSchemaBinding binding = bindings.get(klazz);
+        if (binding == null || !binding.isCurrent(dbSchema)) {
+            binding = new TypedSchemaBinding(dbSchema, TypedClassInfo.of(klazz));
+            bindings.put(klazz, binding);
         }
-        return klazz.getSimpleName();
+        return binding;
     }
 
     public static <T> GenericTableSchema getTableSchema(DatabaseSchema dbSchema, Class<T> klazz) {
-        String tableName = getTableName(klazz);
-        return dbSchema.table(tableName, GenericTableSchema.class);
+        return getBinding(dbSchema, klazz).getTableSchema(dbSchema);
     }
 
     public static ColumnSchema<GenericTableSchema, Object>
@@ -59,71 +75,6 @@ public class TyperUtils {
         return tableSchema.column(columnName, metaClass);
     }
 
-    private static String getColumnName(Method method) {
-        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
-        if (typedColumn != null) {
-            return typedColumn.name();
-        }
-
-        /*
-         * Attempting to get the column name by parsing the method name with a following convention :
-         * 1. GETDATA : get<ColumnName>
-         * 2. SETDATA : set<ColumnName>
-         * 3. GETCOLUMN : get<ColumnName>Column
-         * where <ColumnName> is the name of the column that we are interested in.
-         */
-        int index = GET_STARTS_WITH.length();
-        if (isGetData(method) || isSetData(method)) {
-            return method.getName().substring(index, method.getName().length()).toLowerCase();
-        } else if (isGetColumn(method)) {
-            return method.getName().substring(index, method.getName().indexOf(GETCOLUMN_ENDS_WITH,
-                    index)).toLowerCase();
-        }
-
-        return null;
-    }
-
-    private static boolean isGetTableSchema(Method method) {
-        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
-        return typedColumn != null && typedColumn.method().equals(MethodType.GETTABLESCHEMA);
-    }
-
-    private static boolean isGetRow(Method method) {
-        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
-        if (typedColumn != null) {
-            return typedColumn.method().equals(MethodType.GETROW);
-        }
-
-        return method.getName().startsWith(GET_STARTS_WITH) && method.getName().endsWith(GETROW_ENDS_WITH);
-    }
-
-    private static boolean isGetColumn(Method method) {
-        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
-        if (typedColumn != null) {
-            return typedColumn.method().equals(MethodType.GETCOLUMN);
-        }
-
-        return method.getName().startsWith(GET_STARTS_WITH) && method.getName().endsWith(GETCOLUMN_ENDS_WITH);
-    }
-
-    private static boolean isGetData(Method method) {
-        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
-        if (typedColumn != null) {
-            return typedColumn.method().equals(MethodType.GETDATA);
-        }
-
-        return method.getName().startsWith(GET_STARTS_WITH) && !method.getName().endsWith(GETCOLUMN_ENDS_WITH);
-    }
-
-    private static boolean isSetData(Method method) {
-        TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
-        if (typedColumn != null) {
-            return typedColumn.method().equals(MethodType.SETDATA);
-        }
-
-        return method.getName().startsWith(SET_STARTS_WITH);
-    }
-
     public static Version getColumnFromVersion(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         if (typedColumn != null) {
@@ -162,38 +113,22 @@ public class TyperUtils {
      * and checks for the presence of the Table in Database Schema.
      *
      * @param dbSchema DatabaseSchema as learnt from a OVSDB connection
-     * @param klazz Typed Class that represents a Table
+     * @param binding binding of the Typed Class that represents a Table to the Database Schema
      * @return true if valid, false otherwise
      */
-    private static <T> boolean isValid(DatabaseSchema dbSchema, final Class<T> klazz) {
-        if (dbSchema == null) {
+    private static boolean isValid(DatabaseSchema dbSchema, TypedSchemaBinding binding) {
+        if (!binding.isDatabaseMatch()) {
             return false;
         }
 
-        TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
-        if (typedTable != null && !dbSchema.getName().equalsIgnoreCase(typedTable.database())) {
-            return false;
+        if (!binding.isTableVersionMatch()) {
+            TypedClassInfo info = binding.getInfo();
+            checkVersion(dbSchema.getVersion(), info.getFromVersion(), info.getUntilVersion());
         }
 
-        checkTableSchemaVersion(dbSchema, klazz);
-
         return true;
     }
 
-    private static void checkColumnSchemaVersion(DatabaseSchema dbSchema, Method method) {
-        Version fromVersion = getColumnFromVersion(method);
-        Version untilVersion = getColumnUntilVersion(method);
-        Version schemaVersion = dbSchema.getVersion();
-        checkVersion(schemaVersion, fromVersion, untilVersion);
-    }
-
-    private static <T> void checkTableSchemaVersion(DatabaseSchema dbSchema, Class<T> klazz) {
-        Version fromVersion = getTableFromVersion(klazz);
-        Version untilVersion = getTableUntilVersion(klazz);
-        Version schemaVersion = dbSchema.getVersion();
-        checkVersion(schemaVersion, fromVersion, untilVersion);
-    }
-
     private static void checkVersion(Version schemaVersion, Version fromVersion, Version untilVersion) {
         if ((!fromVersion.equals(Version.NULL) && schemaVersion.compareTo(fromVersion) < 0) || (!untilVersion.equals(
                 Version.NULL) && schemaVersion.compareTo(untilVersion) > 0)) {
@@ -243,166 +178,178 @@ public class TyperUtils {
      */
     public static <T> T getTypedRowWrapper(final DatabaseSchema dbSchema, final Class<T> klazz,
                                            final Row<GenericTableSchema> row) {
-        if (!isValid(dbSchema, klazz)) {
+        if (dbSchema == null) {
+            return null;
+        }
+        return getTypedRowWrapper(dbSchema, klazz, getBinding(dbSchema, klazz), row);
+    }
+
+    private static <T> T getTypedRowWrapper(DatabaseSchema dbSchema, Class<T> klazz, TypedSchemaBinding binding,
+                                            Row<GenericTableSchema> row) {
+        if (!isValid(dbSchema, binding)) {
             return null;
         }
         if (row != null) {
-            row.setTableSchema(getTableSchema(dbSchema, klazz));
+            row.setTableSchema(binding.getTableSchema(dbSchema));
         }
-        return Reflection.newProxy(klazz, new InvocationHandler() {
-            private Object processGetData(Method method) {
-                String columnName = getColumnName(method);
-                checkColumnSchemaVersion(dbSchema, method);
-                if (columnName == null) {
-                    throw new TyperException("Error processing Getter : " + method.getName());
-                }
-                GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
-                if (tableSchema == null) {
-                    String message =
-                            TableSchemaNotFoundException.createMessage(getTableName(klazz), dbSchema.getName());
-                    throw new TableSchemaNotFoundException(message);
-                }
-                ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) method.getReturnType());
-                if (columnSchema == null) {
-                    String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
-                    throw new ColumnSchemaNotFoundException(message);
-                }
-                if (row == null || row.getColumn(columnSchema) == null) {
-                    return null;
-                }
-                return row.getColumn(columnSchema).getData();
-            }
+        try {
+            return klazz.cast(binding.getInfo().getProxyConstructor().newInstance(
+                    new TypedRowInvocationHandler(dbSchema, binding, row)));
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new TyperException("Unable to create a typed row of " + klazz.getName(), e);
+        }
+    }
 
-            private Object processGetRow() {
-                return row;
-            }
+    /**
+     * The invocation handler of the typed row proxies, dispatching on the operation of the invoked method as
+     * classified once per typed interface by {@link TypedClassInfo}, with the schemas resolved once per database
+     * schema by {@link TypedSchemaBinding}.
+     */
+    private static final class TypedRowInvocationHandler implements InvocationHandler {
+        private final DatabaseSchema dbSchema;
+        private final TypedSchemaBinding binding;
+        private final TypedClassInfo info;
+        private final Row<GenericTableSchema> row;
+
+        TypedRowInvocationHandler(DatabaseSchema dbSchema, TypedSchemaBinding binding, Row<GenericTableSchema> row) {
+            this.dbSchema = dbSchema;
+            this.binding = binding;
+            this.info = binding.getInfo();
+            this.row = row;
+        }
 
-            private Object processGetColumn(Method method) {
-                String columnName = getColumnName(method);
-                checkColumnSchemaVersion(dbSchema, method);
-                if (columnName == null) {
-                    throw new TyperException("Error processing GetColumn : " + method.getName());
-                }
-                GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
-                if (tableSchema == null) {
-                    String message =
-                            TableSchemaNotFoundException.createMessage(getTableName(klazz), dbSchema.getName());
-                    throw new TableSchemaNotFoundException(message);
-                }
-                ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) method.getReturnType());
-                if (columnSchema == null) {
-                    String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
-                    throw new ColumnSchemaNotFoundException(message);
-                }
-                // When the row is null, that might indicate that the user maybe interested
-                // only in the ColumnSchema and not on the Data.
-                if (row == null) {
-                    return new Column<>(columnSchema, null);
-                }
-                return row.getColumn(columnSchema);
+        private void checkColumnVersion(Method method, MethodInfo methodInfo) {
+            if (!binding.isColumnVersionMatch(method, methodInfo)) {
+                checkVersion(dbSchema.getVersion(), methodInfo.getFromVersion(), methodInfo.getUntilVersion());
             }
+        }
 
-            private Object processSetData(Object proxy, Method method, Object[] args) {
-                if (args == null || args.length != 1) {
-                    throw new TyperException("Setter method : " + method.getName() + " requires 1 argument");
-                }
-                checkColumnSchemaVersion(dbSchema, method);
-                String columnName = getColumnName(method);
-                if (columnName == null) {
-                    throw new TyperException("Unable to locate Column Name for " + method.getName());
-                }
-                GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
-                ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) args[0].getClass());
-                Column<GenericTableSchema, Object> column =
-                        new Column<>(columnSchema, args[0]);
-                row.addColumn(columnName, column);
-                return proxy;
+        private ColumnSchema<GenericTableSchema, Object> getColumnSchema(Method method, MethodInfo methodInfo,
+                                                                         String operation) {
+            String columnName = methodInfo.getColumnName();
+            checkColumnVersion(method, methodInfo);
+            if (columnName == null) {
+                throw new TyperException("Error processing " + operation + " : " + method.getName());
+            }
+            GenericTableSchema tableSchema = binding.getTableSchema(dbSchema);
+            if (tableSchema == null) {
+                String message = TableSchemaNotFoundException.createMessage(info.getTableName(), dbSchema.getName());
+                throw new TableSchemaNotFoundException(message);
+            }
+            ColumnSchema<GenericTableSchema, Object> columnSchema =
+                    binding.getColumnSchema(tableSchema, method, columnName);
+            if (columnSchema == null) {
+                String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
+                throw new ColumnSchemaNotFoundException(message);
             }
+            return columnSchema;
+        }
 
-            private Object processGetTableSchema() {
-                if (dbSchema == null) {
-                    return null;
-                }
-                return getTableSchema(dbSchema, klazz);
+        private Object processGetData(Method method, MethodInfo methodInfo) {
+            ColumnSchema<GenericTableSchema, Object> columnSchema = getColumnSchema(method, methodInfo, "Getter");
+            if (row == null) {
+                return null;
             }
+            Column<GenericTableSchema, Object> column = row.getColumn(columnSchema);
+            return column != null ? column.getData() : null;
+        }
 
-            private Boolean isHashCodeMethod(Method method, Object[] args) {
-                return (args == null || args.length == 0) && method.getName().equals("hashCode");
+        private Object processGetColumn(Method method, MethodInfo methodInfo) {
+            ColumnSchema<GenericTableSchema, Object> columnSchema =
+                    getColumnSchema(method, methodInfo, "GetColumn");
+            // When the row is null, that might indicate that the user maybe interested
+            // only in the ColumnSchema and not on the Data.
+            if (row == null) {
+                return new Column<>(columnSchema, null);
             }
+            return row.getColumn(columnSchema);
+        }
 
-            private Boolean isEqualsMethod(Method method, Object[] args) {
-                return (args != null
-                        && args.length == 1
-                        && method.getName().equals("equals")
-                        && Object.class.equals(method.getParameterTypes()[0]));
+        private Object processSetData(Object proxy, Method method, MethodInfo methodInfo, Object[] args) {
+            if (args == null || args.length != 1) {
+                throw new TyperException("Setter method : " + method.getName() + " requires 1 argument");
+            }
+            checkColumnVersion(method, methodInfo);
+            String columnName = methodInfo.getColumnName();
+            if (columnName == null) {
+                throw new TyperException("Unable to locate Column Name for " + method.getName());
             }
+            GenericTableSchema tableSchema = binding.getTableSchema(dbSchema);
+            ColumnSchema<GenericTableSchema, Object> columnSchema =
+                    binding.getColumnSchema(tableSchema, method, columnName);
+            Column<GenericTableSchema, Object> column =
+                    new Column<>(columnSchema, args[0]);
+            row.addColumn(columnName, column);
+            return proxy;
+        }
 
-            private Boolean isToStringMethod(Method method, Object[] args) {
-                return (args == null || args.length == 0) && method.getName().equals("toString");
+        private Object processGetTableSchema() {
+            if (dbSchema == null) {
+                return null;
             }
+            return binding.getTableSchema(dbSchema);
+        }
 
-            @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
-                if (isGetTableSchema(method)) {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
+            MethodInfo methodInfo = info.getMethodInfo(method);
+            switch (methodInfo.getKind()) {
+                case GETTABLESCHEMA:
                     return processGetTableSchema();
-                } else if (isGetRow(method)) {
-                    return processGetRow();
-                } else if (isSetData(method)) {
-                    return processSetData(proxy, method, args);
-                } else if (isGetData(method)) {
-                    return processGetData(method);
-                } else if (isGetColumn(method)) {
-                    return processGetColumn(method);
-                } else if (isHashCodeMethod(method, args)) {
+                case GETROW:
+                    return row;
+                case SETDATA:
+                    return processSetData(proxy, method, methodInfo, args);
+                case GETDATA:
+                    return processGetData(method, methodInfo);
+                case GETCOLUMN:
+                    return processGetColumn(method, methodInfo);
+                case HASHCODE:
                     return hashCode();
-                } else if (isEqualsMethod(method, args)) {
+                case EQUALS:
                     return proxy.getClass().isInstance(args[0]) && this.equals(args[0]);
-                } else if (isToStringMethod(method, args)) {
+                case TOSTRING:
                     return this.toString();
-                }
-                throw new UnsupportedMethodException("Method not supported " + method.toString());
+                default:
+                    throw new UnsupportedMethodException("Method not supported " + method.toString());
             }
+        }
 
-            @Override
-            public boolean equals(Object obj) {
-                if (obj == null) {
-                    return false;
-                }
-                TypedBaseTable<?> typedRowObj = (TypedBaseTable<?>)obj;
-                if (row == null && typedRowObj.getRow() == null) {
-                    return true;
-                }
-                if (row.equals(typedRowObj.getRow())) {
-                    return true;
-                }
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null) {
                 return false;
             }
+            TypedBaseTable<?> typedRowObj = (TypedBaseTable<?>)obj;
+            if (row == null && typedRowObj.getRow() == null) {
+                return true;
+            }
+            if (row.equals(typedRowObj.getRow())) {
+                return true;
+            }
+            return false;
+        }
 
-            @Override public int hashCode() {
-                if (row == null) {
-                    return 0;
-                }
-                return row.hashCode();
+        @Override public int hashCode() {
+            if (row == null) {
+                return 0;
             }
+            return row.hashCode();
+        }
 
-            @Override public String toString() {
-                String tableName;
-                TableSchema<?> schema = (TableSchema<?>)processGetTableSchema();
-                if (schema != null) {
-                    tableName = schema.getName();
-                } else {
-                    tableName = "";
-                }
-                if (row == null) {
-                    return tableName;
-                }
-                return tableName + " : " + row.toString();
+        @Override public String toString() {
+            String tableName;
+            TableSchema<?> schema = (TableSchema<?>)processGetTableSchema();
+            if (schema != null) {
+                tableName = schema.getName();
+            } else {
+                tableName = "";
+            }
+            if (row == null) {
+                return tableName;
             }
+            return tableName + " : " + row.toString();
         }
-        );
     }
 
     /**
@@ -423,12 +370,13 @@ public class TyperUtils {
         Preconditions.checkNotNull(updates);
         Preconditions.checkNotNull(dbSchema);
         Map<UUID,T> result = new HashMap<>();
+        TypedSchemaBinding binding = getBinding(dbSchema, klazz);
         Map<UUID,TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema>> rowUpdates =
                 extractRowUpdates(klazz,updates,dbSchema);
         for (TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema> rowUpdate : rowUpdates.values()) {
             if (rowUpdate != null && rowUpdate.getNew() != null) {
                 Row<GenericTableSchema> row = rowUpdate.getNew();
-                result.put(rowUpdate.getUuid(),TyperUtils.getTypedRowWrapper(dbSchema,klazz,row));
+                result.put(rowUpdate.getUuid(), getTypedRowWrapper(dbSchema, klazz, binding, row));
             }
         }
         return result;
@@ -452,12 +400,13 @@ public class TyperUtils {
         Preconditions.checkNotNull(updates);
         Preconditions.checkNotNull(dbSchema);
         Map<UUID,T> result = new HashMap<>();
+        TypedSchemaBinding binding = getBinding(dbSchema, klazz);
         Map<UUID,TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema>> rowUpdates =
                 extractRowUpdates(klazz,updates,dbSchema);
         for (TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema> rowUpdate : rowUpdates.values()) {
             if (rowUpdate != null && rowUpdate.getOld() != null) {
                 Row<GenericTableSchema> row = rowUpdate.getOld();
-                result.put(rowUpdate.getUuid(),TyperUtils.getTypedRowWrapper(dbSchema,klazz,row));
+                result.put(rowUpdate.getUuid(), getTypedRowWrapper(dbSchema, klazz, binding, row));
             }
         }
         return result;
@@ -481,12 +430,13 @@ public class TyperUtils {
         Preconditions.checkNotNull(updates);
         Preconditions.checkNotNull(dbSchema);
         Map<UUID,T> result = new HashMap<>();
+        TypedSchemaBinding binding = getBinding(dbSchema, klazz);
         Map<UUID,TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema>> rowUpdates =
                 extractRowUpdates(klazz,updates,dbSchema);
         for (TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema> rowUpdate : rowUpdates.values()) {
             if (rowUpdate != null && rowUpdate.getNew() == null && rowUpdate.getOld() != null) {
                 Row<GenericTableSchema> row = rowUpdate.getOld();
-                result.put(rowUpdate.getUuid(),TyperUtils.getTypedRowWrapper(dbSchema,klazz,row));
+                result.put(rowUpdate.getUuid(), getTypedRowWrapper(dbSchema, klazz, binding, row));
             }
         }
         return result;
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs its tasks in order, one at a time, on a pool shared with other serial executors, such as the executors of
+ * the connections to the switches.
+ *
+ * <p>At most one batch of tasks of the executor is queued in the pool at a time; after a batch, the remaining tasks
+ * are queued again behind those of the other executors, so that an executor with many tasks does not delay the
+ * others. A task throwing an exception is logged, and does not stop the following ones.
+ */
+public class SerialExecutor implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SerialExecutor.class);
+
+    private final Executor pool;
+    private final int batchSize;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Runnable batch = new Runnable() {
+        @Override
+        public void run() {
+            runBatch();
+        }
+    };
+
+    /**
+     * Creates an executor running its tasks on the given pool.
+     * @param pool the pool shared by the executors
+     * @param batchSize the number of tasks run in a row before the tasks of the other executors
+     */
+    public SerialExecutor(Executor pool, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size " + batchSize);
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Called once a task has run.
+     * @param task the task
+     * @param failure the exception thrown by the task, null if it completed normally
+     */
+    protected void afterExecute(Runnable task, RuntimeException failure) {
+    }
+
+    private void runBatch() {
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                RuntimeException failure = null;
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to run {}", task, e);
+                    failure = e;
+                } finally {
+                    afterExecute(task, failure);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                pool.execute(batch);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+}
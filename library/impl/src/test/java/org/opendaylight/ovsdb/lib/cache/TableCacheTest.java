@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class TableCacheTest {
+
+    private static final UUID PORT1 = new UUID("9c2a3bd1-0f55-4cf0-b5c8-2f4bb96ea1a2");
+    private static final UUID PORT2 = new UUID("1d5e0b6a-2c41-4c3e-9f1e-6a0c3d2b8e71");
+    private static final UUID BRIDGE = new UUID("7a5cc4a6-3ab3-4fa0-8b1e-4b8a5b3b6a01");
+
+    private TableCache tableCache;
+
+    @Before
+    public void setUp() {
+        tableCache = new TableCache("Open_vSwitch");
+        tableCache.addIndex("Port", "name");
+        tableCache.addIndex("Bridge", "ports");
+    }
+
+    /**
+     * Test that rows are found by UUID and through the indexes, including
+     * the elements of set columns, and that the indexes follow the updates.
+     */
+    @Test
+    public void testUpdate() {
+        Row<GenericTableSchema> port1 = row("name", "tap0");
+        Row<GenericTableSchema> bridge = row("ports", Sets.newHashSet(PORT1, PORT2));
+        tableCache.update(updates("Port", PORT1, null, port1));
+        tableCache.update(updates("Bridge", BRIDGE, null, bridge));
+
+        assertSame(port1, tableCache.getRow("Port", PORT1));
+        assertEquals(ImmutableMap.of(PORT1, port1), tableCache.getRowsByIndex("Port", "name", "tap0"));
+        assertEquals(ImmutableMap.of(BRIDGE, bridge), tableCache.getRowsByIndex("Bridge", "ports", PORT2));
+
+        Row<GenericTableSchema> renamedPort1 = row("name", "tap1");
+        tableCache.update(updates("Port", PORT1, port1, renamedPort1));
+        assertTrue(tableCache.getRowsByIndex("Port", "name", "tap0").isEmpty());
+        assertEquals(ImmutableMap.of(PORT1, renamedPort1), tableCache.getRowsByIndex("Port", "name", "tap1"));
+
+        Row<GenericTableSchema> updatedBridge = row("ports", Sets.newHashSet(PORT1));
+        tableCache.update(updates("Bridge", BRIDGE, bridge, updatedBridge));
+        assertTrue(tableCache.getRowsByIndex("Bridge", "ports", PORT2).isEmpty());
+
+        tableCache.update(updates("Port", PORT1, renamedPort1, null));
+        assertNull(tableCache.getRow("Port", PORT1));
+        assertTrue(tableCache.getRowsByIndex("Port", "name", "tap1").isEmpty());
+    }
+
+    /**
+     * Test that columns without an index are looked up by scanning the table.
+     */
+    @Test
+    public void testGetRowsWithoutIndex() {
+        Row<GenericTableSchema> iface = row("name", "tap0");
+        tableCache.update(updates("Interface", PORT1, null, iface));
+        assertEquals(ImmutableMap.of(PORT1, iface), tableCache.getRowsByIndex("Interface", "name", "tap0"));
+        assertTrue(tableCache.getRowsByIndex("Interface", "name", "tap1").isEmpty());
+        assertEquals(1, tableCache.getRows("Interface").size());
+
+        tableCache.clear();
+        assertTrue(tableCache.getRows("Interface").isEmpty());
+        assertTrue(tableCache.getRowsByIndex("Interface", "name", "tap0").isEmpty());
+    }
+
+    /**
+     * Test that the contents are returned as inserted rows and that clear() forgets the last transaction.
+     */
+    @Test
+    public void testGetContents() {
+        Row<GenericTableSchema> port1 = row("name", "tap0");
+        tableCache.update(updates("Port", PORT1, null, port1));
+        tableCache.setLastTxnId("b3ebf3b4-7cdb-4a52-8a28-3e5a0c8ec2a1");
+
+        TableUpdate<?> portUpdate = tableCache.getContents().getUpdates().get("Port");
+        assertEquals(1, portUpdate.getRows().size());
+        assertNull(portUpdate.getOld(PORT1));
+        assertSame(port1, portUpdate.getNew(PORT1));
+
+        tableCache.clear();
+        assertNull(tableCache.getLastTxnId());
+        assertTrue(tableCache.getContents().getUpdates().isEmpty());
+    }
+
+    private static Row<GenericTableSchema> row(String columnName, Object data) {
+        Row<GenericTableSchema> row = new Row<>();
+        row.addColumn(columnName, new Column<>(new ColumnSchema<GenericTableSchema, Object>(columnName, null), data));
+        return row;
+    }
+
+    private static TableUpdates updates(String tableName, UUID uuid, Row<GenericTableSchema> oldRow,
+                                        Row<GenericTableSchema> newRow) {
+        TableUpdate<GenericTableSchema> tableUpdate = new TableUpdate<>();
+        tableUpdate.addRow(uuid, oldRow, newRow);
+        Map<String, TableUpdate> map = ImmutableMap.<String, TableUpdate>of(tableName, tableUpdate);
+        return new TableUpdates(map);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import io.netty.channel.Channel;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.ovsdb.lib.MonitorCallBack;
+import org.opendaylight.ovsdb.lib.MonitorHandle;
+import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.ConnectionType;
+import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
+import org.opendaylight.ovsdb.lib.jsonrpc.Params;
+import org.opendaylight.ovsdb.lib.message.MonitorRequest;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+
+public class OvsdbClientImplTest {
+
+    private static final String DATABASE = "Open_vSwitch";
+    private static final UUID BRIDGE1 = new UUID("9c2a3bd1-0f55-4cf0-b5c8-2f4bb96ea1a2");
+    private static final UUID BRIDGE2 = new UUID("1d5e0b6a-2c41-4c3e-9f1e-6a0c3d2b8e71");
+    private static final UUID BRIDGE3 = new UUID("7a5cc4a6-3ab3-4fa0-8b1e-4b8a5b3b6a01");
+    private static final UUID PORT1 = new UUID("2b6f1c3e-5d4a-4e8b-9c7d-0a1b2c3d4e5f");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MonitorCallBack callback = mock(MonitorCallBack.class);
+    private OvsdbRPC rpc;
+    private OvsdbClientImpl client;
+    private DatabaseSchema dbSchema;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        rpc = mock(OvsdbRPC.class);
+        client = new OvsdbClientImpl(rpc, mock(Channel.class), ConnectionType.ACTIVE,
+                SocketConnectionType.NON_SSL);
+        JsonNode schema = objectMapper.readTree(OvsdbClientImplTest.class.getResourceAsStream(
+                "/org/opendaylight/ovsdb/lib/schema/test_schema.json")).get("result");
+        when(rpc.get_schema(any(List.class))).thenReturn(Futures.immediateFuture(schema));
+        dbSchema = client.getSchema(DATABASE).get();
+    }
+
+    /**
+     * Test that the updates since a transaction found by the server are applied to the cached contents,
+     * which are returned as the initial contents of the monitor.
+     */
+    @Test
+    public void testMonitorCondSinceFound() throws Exception {
+        monitorCondSince("[false, 'txn-1', {'Bridge': {'" + BRIDGE1 + "': {'initial': {'name': 'br1'}}}}]");
+        TableUpdates result = monitorCondSince(
+                "[true, 'txn-2', {'Bridge': {'" + BRIDGE2 + "': {'insert': {'name': 'br2'}}}}]");
+
+        assertEquals(Sets.newHashSet(BRIDGE1, BRIDGE2), getBridges(result));
+        assertEquals(Sets.newHashSet(BRIDGE1, BRIDGE2), getBridges(client.getTableCache(DATABASE).getContents()));
+        assertEquals("txn-2", client.getTableCache(DATABASE).getLastTxnId());
+        assertEquals(Arrays.asList("00000000-0000-0000-0000-000000000000", "txn-1"), getRequestedTxnIds());
+    }
+
+    /**
+     * Test that the cached contents are replaced by the whole contents sent by the server when it does not know
+     * the transaction, which is the case of the first monitor.
+     */
+    @Test
+    public void testMonitorCondSinceNotFound() throws Exception {
+        monitorCondSince("[false, 'txn-1', {'Bridge': {'" + BRIDGE1 + "': {'initial': {'name': 'br1'}}}}]");
+        TableUpdates result = monitorCondSince(
+                "[false, 'txn-3', {'Bridge': {'" + BRIDGE3 + "': {'initial': {'name': 'br3'}}}}]");
+
+        assertEquals(Collections.singleton(BRIDGE3), getBridges(result));
+        assertEquals(Collections.singleton(BRIDGE3), getBridges(client.getTableCache(DATABASE).getContents()));
+        assertEquals("txn-3", client.getTableCache(DATABASE).getLastTxnId());
+        assertEquals(Arrays.asList("00000000-0000-0000-0000-000000000000", "txn-1"),
+                getRequestedTxnIds());
+    }
+
+    /**
+     * Test that a failed monitor_cond_since returns no contents and forgets the cached ones, so that the next
+     * monitor of the connection does not resume from them.
+     */
+    @Test
+    public void testMonitorCondSinceFailure() throws Exception {
+        monitorCondSince("[false, 'txn-1', {'Bridge': {'" + BRIDGE1 + "': {'initial': {'name': 'br1'}}}}]");
+        when(rpc.monitor_cond_since(any(Params.class))).thenReturn(
+                Futures.<JsonNode>immediateFailedFuture(new IOException("Expected failure")));
+
+        assertNull(client.monitorCondSince(dbSchema, Collections.<MonitorRequest>emptyList(),
+                new MonitorHandle("monitor"), callback));
+        TableCache tableCache = client.getTableCache(DATABASE);
+        assertNull(tableCache.getLastTxnId());
+        assertTrue(tableCache.getContents().getUpdates().isEmpty());
+    }
+
+    /**
+     * Test that the modification of a row missing from the cache is skipped, the other rows and tables of the
+     * notification still being converted.
+     */
+    @Test
+    public void testConditionalUpdateOfUnknownRow() throws Exception {
+        monitorCondSince("[false, 'txn-1', {'Bridge': {'" + BRIDGE1 + "': {'initial': {'name': 'br1'}}}}]");
+        TableUpdates updates = client.transformingConditionalCallback(objectMapper.readTree((
+                "{'Bridge': {'" + BRIDGE2 + "': {'modify': {'name': 'br2'}},"
+                + " '" + BRIDGE1 + "': {'modify': {'name': 'br1-renamed'}},"
+                + " '" + BRIDGE3 + "': {'insert': {'name': 'br3'}}},"
+                + " 'Port': {'" + PORT1 + "': {'insert': {'name': 'eth0'}}}}").replace('\'', '"')), dbSchema);
+
+        assertEquals(Sets.newHashSet(BRIDGE1, BRIDGE3), getBridges(updates));
+        assertEquals("br1-renamed", updates.getUpdates().get("Bridge").getNew(BRIDGE1).getColumn("name").getData());
+        assertEquals(Collections.singleton(PORT1), updates.getUpdates().get("Port").getRows().keySet());
+    }
+
+    private TableUpdates monitorCondSince(String reply) throws IOException {
+        when(rpc.monitor_cond_since(any(Params.class))).thenReturn(
+                Futures.immediateFuture(objectMapper.readTree(reply.replace('\'', '"'))));
+        return client.monitorCondSince(dbSchema, Collections.<MonitorRequest>emptyList(),
+                new MonitorHandle("monitor"), callback);
+    }
+
+    private List<Object> getRequestedTxnIds() {
+        ArgumentCaptor<Params> params = ArgumentCaptor.forClass(Params.class);
+        verify(rpc, times(2)).monitor_cond_since(params.capture());
+        List<Object> txnIds = new ArrayList<>();
+        for (Params request : params.getAllValues()) {
+            // [db-name, monitor-id, monitor-requests, last-txn-id]
+            txnIds.add(request.params().get(3));
+        }
+        return txnIds;
+    }
+
+    private static Set<UUID> getBridges(TableUpdates updates) {
+        return updates.getUpdates().get("Bridge").getRows().keySet();
+    }
+}
@@ -9,13 +9,24 @@ package org.opendaylight.ovsdb.lib.jsonrpc;
 
 import static io.netty.buffer.Unpooled.copiedBuffer;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Resources;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.DecoderException;
 import io.netty.util.CharsetUtil;
+import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -27,6 +38,14 @@ public class JsonRpcDecoderTest {
     static final String PREAMBLE = "                    ";
     static final String PARTIAL_START = "{\"foo\":";
     static final String PARTIAL_END = "{\"bar\":\"baz\"}}";
+    static final String ESCAPED_JSON = "{\"foo\":\"a \\\\\\\" } { \\\"\"}";
+    static final String UPDATE_JSON = "{\"id\":null,\"params\":[\"monitor-1\",{\"Bridge\":{"
+            + "\"7a5cc4a6-3ab3-4fa0-8b1e-4b8a5b3b6a01\":{\"new\":{\"name\":\"br-int\"}}},"
+            + "\"Port\":{\"9c2a3bd1-0f55-4cf0-b5c8-2f4bb96ea1a2\":{\"old\":{\"name\":\"tap0\"}}}}],"
+            + "\"method\":\"update\"}";
+    static final String UPDATE3_JSON = "{\"id\":null,\"method\":\"update3\",\"params\":[\"monitor-2\","
+            + "\"b3ebf3b4-7cdb-4a52-8a28-3e5a0c8ec2a1\",{\"Bridge\":{"
+            + "\"7a5cc4a6-3ab3-4fa0-8b1e-4b8a5b3b6a01\":{\"modify\":{\"name\":\"br-ex\"}}}}]}";
 
     JsonRpcDecoder decoder;
     EmbeddedChannel ch;
@@ -107,6 +126,104 @@ public class JsonRpcDecoderTest {
         ch.finish();
     }
 
+    /**
+     * Test that braces and escaped quotes inside string literals do not
+     * end the record.
+     */
+    @Test
+    public void testDecodeEscapedString() throws Exception {
+        ch.writeInbound(copiedBuffer(ESCAPED_JSON + ESCAPED_JSON, CharsetUtil.UTF_8));
+        JsonNode node = (JsonNode) ch.readInbound();
+        assertEquals("a \\\" } { \"", node.get("foo").asText());
+        assertEquals(2, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    /**
+     * Test that a streaming decoder hands update notifications over as
+     * JsonRpcUpdateStream, delivering the rows one by one, while other
+     * messages are still decoded as trees.
+     */
+    @Test
+    public void testDecodeStreamedUpdate() throws Exception {
+        decoder = new JsonRpcDecoder(1000, true);
+        ch = new EmbeddedChannel(decoder);
+        ch.writeInbound(copiedBuffer(UPDATE_JSON + testJson, CharsetUtil.UTF_8));
+
+        JsonRpcUpdateStream updateStream = (JsonRpcUpdateStream) ch.readInbound();
+        assertEquals("monitor-1", updateStream.getMonitorId());
+        final List<String> rows = new ArrayList<>();
+        updateStream.readRows(new JsonRpcUpdateStream.RowUpdateListener() {
+            @Override
+            public void rowUpdate(String tableName, String uuid, JsonNode oldRow, JsonNode newRow) {
+                JsonNode row = newRow != null ? newRow : oldRow;
+                rows.add(tableName + ":" + row.get("name").asText() + ":" + (newRow != null));
+            }
+        });
+        assertTrue(updateStream.release());
+        assertEquals(2, rows.size());
+        assertEquals("Bridge:br-int:true", rows.get(0));
+        assertEquals("Port:tap0:false", rows.get(1));
+
+        assertTrue(ch.readInbound() instanceof JsonNode);
+        assertNull(ch.readInbound());
+        assertEquals(2, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    /**
+     * Test that "update3" notifications are streamed too, with their last
+     * transaction id, and that their row updates are read from the parser.
+     */
+    @Test
+    public void testDecodeStreamedUpdate3() throws Exception {
+        decoder = new JsonRpcDecoder(1000, true);
+        ch = new EmbeddedChannel(decoder);
+        ch.writeInbound(copiedBuffer(UPDATE3_JSON, CharsetUtil.UTF_8));
+
+        JsonRpcUpdateStream updateStream = (JsonRpcUpdateStream) ch.readInbound();
+        assertEquals("update3", updateStream.getMethod());
+        assertTrue(updateStream.isConditional());
+        assertEquals("monitor-2", updateStream.getMonitorId());
+        assertEquals("b3ebf3b4-7cdb-4a52-8a28-3e5a0c8ec2a1", updateStream.getLastTxnId());
+        final List<String> rows = new ArrayList<>();
+        updateStream.readRowUpdates(new JsonRpcUpdateStream.RowUpdateReader() {
+            @Override
+            public void readRowUpdate(String tableName, String uuid, JsonParser parser) throws IOException {
+                JsonNode rowUpdate = parser.readValueAsTree();
+                rows.add(tableName + ":" + rowUpdate.get("modify").get("name").asText());
+            }
+        });
+        assertTrue(updateStream.release());
+        assertEquals(Collections.singletonList("Bridge:br-ex"), rows);
+        ch.finish();
+    }
+
+    /**
+     * Test that a reply is decoded as a tree, its scan stopping before its result: a result holding members
+     * named like those of a notification, and even an incomplete one, is never read by the scan.
+     */
+    @Test
+    public void testDecodeReplyBeforeMethod() throws Exception {
+        decoder = new JsonRpcDecoder(1000, true);
+        ch = new EmbeddedChannel(decoder);
+        ch.writeInbound(copiedBuffer("{\"result\":{\"Bridge\":{}},\"error\":null,\"method\":\"update\","
+                + "\"params\":[\"monitor-1\",{}],\"id\":\"5\"}", CharsetUtil.UTF_8));
+
+        JsonNode reply = (JsonNode) ch.readInbound();
+        assertEquals("5", reply.get("id").asText());
+        assertTrue(reply.get("result").has("Bridge"));
+        assertNull(ch.readInbound());
+        ch.finish();
+
+        JsonFactory jsonFactory = new ObjectMapper().getFactory();
+        assertNull(JsonRpcUpdateStream.fromFrame(jsonFactory,
+                copiedBuffer("{\"result\":[[\"truncated", CharsetUtil.UTF_8)));
+        assertNull(JsonRpcUpdateStream.fromFrame(jsonFactory,
+                copiedBuffer("{\"id\":\"5\",\"method\":\"update\",\"params\":[\"truncated", CharsetUtil.UTF_8)));
+        assertNotNull(JsonRpcUpdateStream.fromFrame(jsonFactory, copiedBuffer(UPDATE_JSON, CharsetUtil.UTF_8)));
+    }
+
     /* Disabling this test as the limit was changed
      * from exception to a log warning...
     /**
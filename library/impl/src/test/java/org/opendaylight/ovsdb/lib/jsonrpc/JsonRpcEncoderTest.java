@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonRpcEncoderTest {
+
+    ObjectMapper objectMapper;
+    EmbeddedChannel ch;
+
+    @Before
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(Include.NON_NULL);
+        ch = new EmbeddedChannel(new JsonRpcEncoder(objectMapper));
+    }
+
+    /**
+     * Test that a request is written to the channel as the same UTF-8 JSON
+     * text the ObjectMapper produces.
+     */
+    @Test
+    public void testEncodeRequest() throws Exception {
+        JsonRpc10Request request = new JsonRpc10Request("42");
+        request.setMethod("transact");
+        request.setParams(Lists.<Object>newArrayList("Open_vSwitch", "caf\u00e9"));
+
+        ch.writeOutbound(request);
+        ByteBuf buf = (ByteBuf) ch.readOutbound();
+        assertEquals(objectMapper.writeValueAsString(request), buf.toString(CharsetUtil.UTF_8));
+        buf.release();
+        ch.finish();
+    }
+
+    /**
+     * Test that messages which are not JSON-RPC requests or responses are
+     * passed through untouched.
+     */
+    @Test
+    public void testPassThrough() throws Exception {
+        String message = "{\"id\":\"1\"}";
+        ch.writeOutbound(message);
+        assertSame(message, ch.readOutbound());
+        ch.finish();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+
+public class JsonRpcEndpointTest {
+
+    private static final long ECHO_DEADLINE = 50;
+    private static final long DEFAULT_DEADLINE = 60000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EmbeddedChannel channel;
+    private JsonRpcEndpoint endpoint;
+    private OvsdbRPC rpc;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+        endpoint = new JsonRpcEndpoint(objectMapper, channel,
+                new RpcDeadlines(DEFAULT_DEADLINE, ImmutableMap.of("echo", ECHO_DEADLINE)));
+        rpc = endpoint.getClient(channel, OvsdbRPC.class);
+    }
+
+    @After
+    public void tearDown() {
+        channel.finish();
+    }
+
+    /**
+     * Test that a response completes its call and leaves the pending table.
+     */
+    @Test
+    public void testResponse() throws Exception {
+        ListenableFuture<List<String>> dbs = rpc.list_dbs();
+        JsonRpc10Request request = (JsonRpc10Request) channel.readOutbound();
+        assertEquals(1, endpoint.getInFlightRequestCount());
+        assertSame(request, endpoint.getPendingCalls().get(Long.valueOf(request.getId())).getRequest());
+        assertSame(request, endpoint.getMethodContext().get(request.getId()).getRequest());
+
+        endpoint.processResult(objectMapper.readTree(
+                "{\"id\":\"" + request.getId() + "\",\"result\":[\"Open_vSwitch\"],\"error\":null}"));
+        assertEquals(Arrays.asList("Open_vSwitch"), dbs.get(1, TimeUnit.SECONDS));
+        assertEquals(0, endpoint.getInFlightRequestCount());
+        assertEquals(0, endpoint.getLateResponseCount());
+    }
+
+    /**
+     * Test that a request is cancelled at the deadline of its method, while the others keep waiting.
+     */
+    @Test
+    public void testRequestTimeout() throws Exception {
+        ListenableFuture<List<String>> echo = rpc.echo();
+        ListenableFuture<List<String>> dbs = rpc.list_dbs();
+
+        waitForTimeouts(1);
+        assertTrue(echo.isCancelled());
+        assertFalse(dbs.isDone());
+        assertEquals(1, endpoint.getTimedOutRequestCount());
+        assertEquals(1, endpoint.getInFlightRequestCount());
+    }
+
+    /**
+     * Test that a response arriving after the deadline of its request is counted and dropped.
+     */
+    @Test
+    public void testLateResponse() throws Exception {
+        ListenableFuture<List<String>> echo = rpc.echo();
+        JsonRpc10Request request = (JsonRpc10Request) channel.readOutbound();
+        waitForTimeouts(1);
+
+        endpoint.processResult(objectMapper.readTree(
+                "{\"id\":\"" + request.getId() + "\",\"result\":[],\"error\":null}"));
+        assertTrue(echo.isCancelled());
+        assertEquals(1, endpoint.getLateResponseCount());
+
+        // responses to ids this endpoint never allocated are not late responses
+        endpoint.processResult(objectMapper.readTree("{\"id\":\"1000\",\"result\":[],\"error\":null}"));
+        endpoint.processResult(objectMapper.readTree("{\"id\":\"foo\",\"result\":[],\"error\":null}"));
+        assertEquals(1, endpoint.getLateResponseCount());
+    }
+
+    /**
+     * Test that a request which cannot be written fails its call right away.
+     */
+    @Test
+    public void testWriteFailure() throws Exception {
+        final IOException failure = new IOException("Expected failure");
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                promise.setFailure(failure);
+            }
+        });
+
+        ListenableFuture<List<String>> dbs = rpc.list_dbs();
+        try {
+            dbs.get(1, TimeUnit.SECONDS);
+            fail("Expected the call to fail");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(0, endpoint.getInFlightRequestCount());
+        assertEquals(0, endpoint.getTimedOutRequestCount());
+    }
+
+    private void waitForTimeouts(long count) throws InterruptedException {
+        for (int i = 0; i < 200 && endpoint.getTimedOutRequestCount() < count; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, endpoint.getTimedOutRequestCount());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Sets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class RowTest {
+
+    private GenericTableSchema portSchema;
+
+    @Before
+    public void setUp() throws IOException {
+        InputStream resourceAsStream =
+                RowTest.class.getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json");
+        JsonNode jsonNode = new ObjectMapper().readTree(resourceAsStream);
+        portSchema = DatabaseSchema.fromJson("Open_vSwitch", jsonNode.get("result"))
+                .table("Port", GenericTableSchema.class);
+    }
+
+    /**
+     * Test that the columns of the table schema are found both by schema and by name.
+     */
+    @Test
+    public void testGetColumn() {
+        ColumnSchema<GenericTableSchema, String> nameSchema = portSchema.column("name", String.class);
+        ColumnSchema<GenericTableSchema, Set<Long>> trunksSchema = portSchema.multiValuedColumn("trunks", Long.class);
+        assertEquals(nameSchema, portSchema.getColumnSchema(portSchema.getOrdinal(nameSchema)));
+
+        Row<GenericTableSchema> row = new Row<>(portSchema);
+        row.addColumn(nameSchema, "eth0");
+        row.addColumn(trunksSchema, null);
+
+        assertEquals("eth0", row.getColumn(nameSchema).getData());
+        assertSame(nameSchema, row.getColumn(nameSchema).getSchema());
+        assertEquals("eth0", row.getColumn("name").getData());
+        assertNull(row.getColumn(trunksSchema).getData());
+        assertNull(row.getColumn("tag"));
+        assertEquals(2, row.getColumns().size());
+    }
+
+    /**
+     * Test that the columns added with a schema which is not the one of the table are kept as they are.
+     */
+    @Test
+    public void testForeignColumns() {
+        ColumnSchema<GenericTableSchema, Object> nameSchema = new ColumnSchema<>("name", null);
+        ColumnSchema<GenericTableSchema, Object> otherSchema = new ColumnSchema<>("other", null);
+        Column<GenericTableSchema, Object> nameColumn = new Column<>(nameSchema, "eth0");
+        Column<GenericTableSchema, Object> otherColumn = new Column<>(otherSchema, "value");
+
+        Row<GenericTableSchema> row = new Row<>(portSchema);
+        row.addColumn("name", nameColumn);
+        row.addColumn("other", otherColumn);
+
+        assertSame(nameColumn, row.getColumn(nameSchema));
+        assertSame(nameColumn, row.getColumn(portSchema.column("name", String.class)));
+        assertSame(otherColumn, row.getColumn("other"));
+    }
+
+    /**
+     * Test that the columns of a row created without schema are still found once it has one.
+     */
+    @Test
+    public void testSetTableSchema() {
+        ColumnSchema<GenericTableSchema, String> nameSchema = portSchema.column("name", String.class);
+        Row<GenericTableSchema> row = new Row<>();
+        row.addColumn("name", new Column<>(nameSchema, "eth0"));
+        assertEquals("eth0", row.getColumn(nameSchema).getData());
+
+        row.setTableSchema(portSchema);
+        assertSame(portSchema, row.getTableSchema());
+        assertEquals("eth0", row.getColumn(nameSchema).getData());
+        assertEquals("eth0", row.getColumn("name").getData());
+    }
+
+    /**
+     * Test that the columns of a lazily converted row are decoded on access, and that copies share them.
+     */
+    @Test
+    public void testLazyRow() throws IOException {
+        ObjectNode rowNode = (ObjectNode) new ObjectMapper().readTree(
+                "{\"name\":\"eth0\",\"trunks\":[\"set\",[1,2]],\"hidden\":\"value\"}");
+        Row<GenericTableSchema> row = portSchema.createRow(rowNode, true);
+
+        ColumnSchema<GenericTableSchema, Set<Long>> trunksSchema = portSchema.multiValuedColumn("trunks", Long.class);
+        assertEquals(Sets.newHashSet(1L, 2L), row.getColumn(trunksSchema).getData());
+        assertSame(row.getColumn(trunksSchema).getData(), row.getColumn(trunksSchema).getData());
+        assertSame(row.getColumn(trunksSchema).getData(), new Row<>(row).getColumn(trunksSchema).getData());
+        assertNull(row.getColumn("hidden"));
+        assertEquals(portSchema.createRow(rowNode, false), row);
+    }
+
+    /**
+     * Test that rows with the same columns are equal however they were built.
+     */
+    @Test
+    public void testEquals() {
+        ColumnSchema<GenericTableSchema, String> nameSchema = portSchema.column("name", String.class);
+        Row<GenericTableSchema> row = new Row<>(portSchema);
+        row.addColumn(nameSchema, "eth0");
+        Row<GenericTableSchema> otherRow = new Row<>();
+        otherRow.addColumn("name", new Column<>(nameSchema, "eth0"));
+
+        assertEquals(row, otherRow);
+        assertEquals(row.hashCode(), otherRow.hashCode());
+        assertEquals(row.toString(), otherRow.toString());
+
+        otherRow.addColumn(nameSchema, "eth1");
+        assertNotEquals(row, otherRow);
+    }
+}
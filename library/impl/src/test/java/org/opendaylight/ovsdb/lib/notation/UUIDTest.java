@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+
+public class UUIDTest {
+
+    private static final String VALUE = "9c2a3bd1-0f55-4cf0-b5c8-2f4bb96ea1a2";
+
+    /**
+     * Test that uuids and named-uuids are converted back to the string they were created from.
+     */
+    @Test
+    public void testToString() {
+        UUID uuid = new UUID(VALUE);
+        assertFalse(uuid.isNamed());
+        assertEquals(VALUE, uuid.toString());
+        java.util.UUID javaUuid = java.util.UUID.fromString(VALUE);
+        assertEquals(uuid, new UUID(javaUuid.getMostSignificantBits(), javaUuid.getLeastSignificantBits()));
+
+        UUID namedUuid = new UUID("Bridge_br0");
+        assertTrue(namedUuid.isNamed());
+        assertEquals("Bridge_br0", namedUuid.toString());
+
+        // only the canonical lowercase form is held in binary
+        UUID upperCaseUuid = new UUID(VALUE.toUpperCase());
+        assertTrue(upperCaseUuid.isNamed());
+        assertEquals(VALUE.toUpperCase(), upperCaseUuid.toString());
+    }
+
+    /**
+     * Test equals() and hashCode() for both forms.
+     */
+    @Test
+    public void testEquals() {
+        assertEquals(new UUID(VALUE), UUID.parse(VALUE));
+        assertEquals(new UUID(VALUE).hashCode(), UUID.parse(VALUE).hashCode());
+        assertEquals(new UUID("Bridge_br0"), new UUID("Bridge_br0"));
+        assertEquals(new UUID("Bridge_br0").hashCode(), new UUID("Bridge_br0").hashCode());
+        assertNotEquals(new UUID(VALUE), new UUID("1d5e0b6a-2c41-4c3e-9f1e-6a0c3d2b8e71"));
+        assertNotEquals(new UUID(VALUE), new UUID("Bridge_br0"));
+    }
+
+    /**
+     * Test that the parsed UUIDs are shared while an interner is current.
+     */
+    @Test
+    public void testInterner() {
+        assertNotSame(UUID.parse(VALUE), UUID.parse(VALUE));
+
+        UUIDInterner interner = new UUIDInterner();
+        UUIDInterner previous = interner.enter();
+        try {
+            UUID uuid = UUID.parse(VALUE);
+            assertSame(uuid, UUID.parse(new StringBuilder(VALUE)));
+            assertSame(uuid, interner.intern(new UUID(VALUE)));
+        } finally {
+            UUIDInterner.exit(previous);
+        }
+        assertNotSame(UUID.parse(VALUE), UUID.parse(VALUE));
+    }
+
+    /**
+     * Test that the tasks queued to a propagating executor parse with the interner current when they were queued.
+     */
+    @Test
+    public void testPropagatingExecutor() {
+        final List<Runnable> tasks = new ArrayList<>();
+        Executor executor = UUIDInterner.propagating(new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        });
+        final List<UUID> parsed = new ArrayList<>();
+        Runnable parse = new Runnable() {
+            @Override
+            public void run() {
+                parsed.add(UUID.parse(VALUE));
+            }
+        };
+
+        UUIDInterner interner = new UUIDInterner();
+        UUIDInterner previous = interner.enter();
+        try {
+            executor.execute(parse);
+        } finally {
+            UUIDInterner.exit(previous);
+        }
+        executor.execute(parse);
+
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        assertSame(interner.intern(new UUID(VALUE)), parsed.get(0));
+        assertNotSame(parsed.get(0), parsed.get(1));
+        assertNotSame(parsed.get(1), UUID.parse(VALUE));
+    }
+}
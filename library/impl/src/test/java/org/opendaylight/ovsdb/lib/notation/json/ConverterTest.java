@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation.json;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.math.BigInteger;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
+import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
+
+public class ConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Test that numeric atoms are decoded as Long and Double, like the schema-driven decoding does.
+     */
+    @Test
+    public void testNumericAtoms() throws IOException {
+        assertEquals(Long.valueOf(42), deserializeAtom("42"));
+        assertEquals(Long.valueOf(-4294967296L), deserializeAtom("-4294967296"));
+        assertEquals(Double.valueOf(1.5), deserializeAtom("1.5"));
+        assertEquals(Double.valueOf(100), deserializeAtom("1e2"));
+    }
+
+    /**
+     * Test that the integers too big for a long keep an arbitrary precision.
+     */
+    @Test
+    public void testBigIntegerAtom() throws IOException {
+        assertEquals(new BigInteger("18446744073709551616"), deserializeAtom("18446744073709551616"));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), deserializeAtom(Long.toString(Long.MAX_VALUE)));
+    }
+
+    /**
+     * Test that the elements of sets and maps are decoded as atoms.
+     */
+    @Test
+    public void testSetAndMap() throws IOException {
+        OvsdbSet<Object> set = new Converter.SetConverter().convert(
+                objectMapper.readTree("[\"set\", [1, 2.5, \"three\"]]"));
+        assertEquals(ImmutableSet.of(1L, 2.5, "three"), set.delegate());
+
+        OvsdbMap<Object, Object> map = new Converter.MapConverter().convert(
+                objectMapper.readTree("[\"map\", [[\"mtu\", 1500], [\"ratio\", 0.5]]]"));
+        assertEquals(ImmutableMap.of("mtu", 1500L, "ratio", 0.5), map.delegate());
+    }
+
+    private Object deserializeAtom(String json) throws IOException {
+        return Converter.atomDeser.deserialize(objectMapper.readTree(json));
+    }
+}
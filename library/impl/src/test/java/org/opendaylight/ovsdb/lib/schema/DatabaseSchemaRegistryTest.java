@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DatabaseSchemaRegistryTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private JsonNode schemaJson;
+
+    @Before
+    public void setUp() throws IOException {
+        InputStream resourceAsStream = DatabaseSchemaRegistryTest.class.getResourceAsStream("test_schema.json");
+        schemaJson = mapper.readTree(resourceAsStream).get("result");
+    }
+
+    /**
+     * Test that the devices sending the same schema share its instance, complete with the internal columns.
+     */
+    @Test
+    public void testSameSchema() throws IOException {
+        DatabaseSchema dbSchema = DatabaseSchemaRegistry.getSchema("Open_vSwitch", schemaJson);
+        DatabaseSchema otherSchema = DatabaseSchemaRegistry.getSchema("Open_vSwitch",
+                mapper.readTree(schemaJson.toString()));
+
+        assertSame(dbSchema, otherSchema);
+        assertEquals("Open_vSwitch", dbSchema.getName());
+        assertNotNull(dbSchema.table("Bridge", GenericTableSchema.class).column("_uuid"));
+    }
+
+    /**
+     * Test that different schemas, or the same schema of different databases, are not shared.
+     */
+    @Test
+    public void testDifferentSchemas() {
+        DatabaseSchema dbSchema = DatabaseSchemaRegistry.getSchema("Open_vSwitch", schemaJson);
+        ObjectNode otherJson = schemaJson.deepCopy();
+        ((ObjectNode) otherJson.get("tables")).remove("Port");
+
+        DatabaseSchema otherSchema = DatabaseSchemaRegistry.getSchema("Open_vSwitch", otherJson);
+        assertNotSame(dbSchema, otherSchema);
+        assertEquals(dbSchema.getTables().size() - 1, otherSchema.getTables().size());
+        assertNotSame(dbSchema, DatabaseSchemaRegistry.getSchema("Other", schemaJson));
+    }
+}
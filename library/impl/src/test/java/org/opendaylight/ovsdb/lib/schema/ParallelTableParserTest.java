@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Function;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.error.ParsingException;
+
+public class ParallelTableParserTest {
+
+    private JsonNode tables;
+
+    @Before
+    public void setUp() throws IOException {
+        InputStream resourceAsStream = ParallelTableParserTest.class.getResourceAsStream("test_schema.json");
+        tables = new ObjectMapper().readTree(resourceAsStream).get("result").get("tables");
+    }
+
+    /**
+     * Test that every table is converted, except the ones converted to null.
+     */
+    @Test
+    public void testParseTables() {
+        Map<String, Integer> columnCounts = ParallelTableParser.parseTables(tables,
+                new Function<Map.Entry<String, JsonNode>, Integer>() {
+                    @Override
+                    public Integer apply(Map.Entry<String, JsonNode> table) {
+                        return "Port".equals(table.getKey()) ? null : table.getValue().get("columns").size();
+                    }
+                });
+
+        assertEquals(tables.size() - 1, columnCounts.size());
+        assertFalse(columnCounts.containsKey("Port"));
+        assertEquals(tables.get("Bridge").get("columns").size(), (int) columnCounts.get("Bridge"));
+    }
+
+    /**
+     * Test that the failure to convert a table is the failure of the whole conversion.
+     */
+    @Test
+    public void testParseTablesFailure() {
+        try {
+            ParallelTableParser.parseTables(tables, new Function<Map.Entry<String, JsonNode>, Object>() {
+                @Override
+                public Object apply(Map.Entry<String, JsonNode> table) {
+                    if ("Interface".equals(table.getKey())) {
+                        throw new ParsingException("bad table " + table.getKey());
+                    }
+                    return table.getKey();
+                }
+            });
+            fail("Expected a ParsingException");
+        } catch (ParsingException e) {
+            assertEquals("bad table Interface", e.getMessage());
+        }
+    }
+}
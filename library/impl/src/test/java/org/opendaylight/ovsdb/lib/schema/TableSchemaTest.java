@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+
+public class TableSchemaTest {
+
+    private static final String PORT_UUID = "9c2a3bd1-0f55-4cf0-b5c8-2f4bb96ea1a2";
+    private static final String UNKNOWN_PORT_UUID = "7a5cc4a6-3ab3-4fa0-8b1e-4b8a5b3b6a01";
+    private static final String INSERTED_PORT_UUID = "2b6f1c3e-5d4a-4e8b-9c7d-0a1b2c3d4e5f";
+    private static final String PORT_ROW = "{\"name\":\"eth0\",\"tag\":[\"set\",[]],\"trunks\":[\"set\",[1,2]],"
+            + "\"interfaces\":[\"uuid\",\"1d5e0b6a-2c41-4c3e-9f1e-6a0c3d2b8e71\"],"
+            + "\"qos\":[\"set\",[]],\"fake_bridge\":false,\"vlan_mode\":\"trunk\","
+            + "\"statistics\":[\"map\",[[\"rx_bytes\",12345],[\"tx_bytes\",678]]],"
+            + "\"external_ids\":[\"map\",[]],\"hidden\":{\"ignored\":[1,2]}}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GenericTableSchema portSchema;
+
+    @Before
+    public void setUp() throws IOException {
+        InputStream resourceAsStream = TableSchemaTest.class.getResourceAsStream("test_schema.json");
+        JsonNode jsonNode = mapper.readTree(resourceAsStream);
+        portSchema = DatabaseSchema.fromJson("Open_vSwitch", jsonNode.get("result"))
+                .table("Port", GenericTableSchema.class);
+    }
+
+    /**
+     * Test that the rows read from a parser are the ones converted from the JSON tree.
+     */
+    @Test
+    public void testAddRowUpdateFromParser() throws IOException {
+        String rowUpdate = "{\"old\":{\"name\":\"eth1\"},\"new\":" + PORT_ROW + "}";
+        TableUpdate<GenericTableSchema> fromTree = new TableUpdate<>();
+        JsonNode rowUpdateNode = mapper.readTree(rowUpdate);
+        portSchema.addRowUpdate(fromTree, PORT_UUID, rowUpdateNode.get("old"), rowUpdateNode.get("new"));
+
+        TableUpdate<GenericTableSchema> fromParser = new TableUpdate<>();
+        JsonParser parser = parser(rowUpdate);
+        portSchema.addRowUpdate(fromParser, new UUID(PORT_UUID), parser);
+        assertEquals(JsonToken.END_OBJECT, parser.getCurrentToken());
+        assertNull(parser.nextToken());
+
+        UUID uuid = new UUID(PORT_UUID);
+        assertEquals(fromTree.getNew(uuid), fromParser.getNew(uuid));
+        assertEquals(fromTree.getOld(uuid), fromParser.getOld(uuid));
+        assertEquals(12345L, ((Map<?, ?>) fromParser.getNew(uuid).getColumn("statistics").getData()).get("rx_bytes"));
+    }
+
+    /**
+     * Test that the "update2" row updates read from a parser are the ones converted from the JSON tree.
+     */
+    @Test
+    public void testAddRowUpdate2FromParser() throws IOException {
+        UUID uuid = new UUID(PORT_UUID);
+        Row<GenericTableSchema> currentRow = portSchema.createRow((ObjectNode) mapper.readTree(PORT_ROW), false);
+        String modify = "{\"modify\":{\"trunks\":[\"set\",[2,3]],\"tag\":5,"
+                + "\"statistics\":[\"map\",[[\"rx_bytes\",12345],[\"rx_packets\",9]]]}}";
+
+        TableUpdate<GenericTableSchema> fromTree = new TableUpdate<>();
+        portSchema.addRowUpdate2(fromTree, PORT_UUID, mapper.readTree(modify), currentRow);
+        TableUpdate<GenericTableSchema> fromParser = new TableUpdate<>();
+        portSchema.addRowUpdate2(fromParser, uuid, parser(modify), currentRow);
+        assertEquals(fromTree.getNew(uuid), fromParser.getNew(uuid));
+        assertEquals(fromTree.getOld(uuid), fromParser.getOld(uuid));
+
+        TableUpdate<GenericTableSchema> inserted = new TableUpdate<>();
+        portSchema.addRowUpdate2(inserted, uuid, parser("{\"insert\":" + PORT_ROW + "}"), null);
+        assertEquals(currentRow, inserted.getNew(uuid));
+
+        TableUpdate<GenericTableSchema> deleted = new TableUpdate<>();
+        portSchema.addRowUpdate2(deleted, uuid, parser("{\"delete\":null}"), currentRow);
+        assertEquals(currentRow, deleted.getOld(uuid));
+        assertNull(deleted.getNew(uuid));
+    }
+
+    /**
+     * Test that the modification of a row which is not known is skipped, the other rows of the update applying.
+     */
+    @Test
+    public void testAddRowUpdate2OfUnknownRow() throws IOException {
+        Row<GenericTableSchema> currentRow = portSchema.createRow((ObjectNode) mapper.readTree(PORT_ROW), false);
+        String rowUpdates = "{\"" + UNKNOWN_PORT_UUID + "\":{\"modify\":{\"trunks\":[\"set\",[2,3]],\"tag\":5}},"
+                + "\"" + PORT_UUID + "\":{\"modify\":{\"tag\":5}},"
+                + "\"" + INSERTED_PORT_UUID + "\":{\"insert\":" + PORT_ROW + "}}";
+
+        TableUpdate<GenericTableSchema> fromTree = new TableUpdate<>();
+        for (Iterator<Map.Entry<String, JsonNode>> iter = mapper.readTree(rowUpdates).fields(); iter.hasNext();) {
+            Map.Entry<String, JsonNode> rowUpdate = iter.next();
+            portSchema.addRowUpdate2(fromTree, rowUpdate.getKey(), rowUpdate.getValue(),
+                    PORT_UUID.equals(rowUpdate.getKey()) ? currentRow : null);
+        }
+
+        TableUpdate<GenericTableSchema> fromParser = new TableUpdate<>();
+        JsonParser parser = parser(rowUpdates);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String uuid = parser.getCurrentName();
+            parser.nextToken();
+            portSchema.addRowUpdate2(fromParser, new UUID(uuid), parser, PORT_UUID.equals(uuid) ? currentRow : null);
+        }
+        assertNull(parser.nextToken());
+
+        UUID modified = new UUID(PORT_UUID);
+        UUID inserted = new UUID(INSERTED_PORT_UUID);
+        for (TableUpdate<GenericTableSchema> tableUpdate : Arrays.asList(fromTree, fromParser)) {
+            assertEquals(new HashSet<>(Arrays.asList(modified, inserted)), tableUpdate.getRows().keySet());
+            assertNotNull(tableUpdate.getNew(modified));
+            assertEquals(currentRow, tableUpdate.getNew(inserted));
+        }
+    }
+
+    private JsonParser parser(String json) throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(json);
+        parser.nextToken();
+        return parser;
+    }
+}
@@ -8,12 +8,20 @@
 
 package org.opendaylight.ovsdb.lib.schema.typed;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.notation.Version;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +31,63 @@ import org.slf4j.LoggerFactory;
 public class TyperUtilsTest {
     private static final Logger LOG = LoggerFactory.getLogger(TyperUtilsTest.class);
 
+    @TypedTable(name = "Port", database = "Open_vSwitch")
+    interface TestPort extends TypedBaseTable<GenericTableSchema> {
+        @TypedColumn(name = "name", method = MethodType.GETDATA)
+        String getName();
+
+        @TypedColumn(name = "name", method = MethodType.SETDATA)
+        void setName(String name);
+
+        // Column found by the naming convention
+        Column<GenericTableSchema, String> getNameColumn();
+
+        @TypedColumn(name = "name", method = MethodType.GETDATA, untilVersion = "6.12.0")
+        String getOldName();
+    }
+
+    /**
+     * Test that the typed rows read and write the columns of the wrapped row, by annotation and by naming
+     * convention, and are equal when they wrap equal rows.
+     */
+    @Test
+    public void testTypedRowWrapper() throws IOException {
+        DatabaseSchema dbSchema = getDatabaseSchema();
+        TestPort port = TyperUtils.getTypedRowWrapper(dbSchema, TestPort.class);
+        port.setName("tap0");
+        Assert.assertEquals("tap0", port.getName());
+        Assert.assertEquals("tap0", port.getNameColumn().getData());
+        Assert.assertEquals("Port", port.getSchema().getName());
+
+        Row<GenericTableSchema> row = port.getRow();
+        TestPort samePort = TyperUtils.getTypedRowWrapper(dbSchema, TestPort.class, row);
+        Assert.assertEquals(port, samePort);
+        Assert.assertEquals(port.hashCode(), samePort.hashCode());
+        Assert.assertNull(TyperUtils.getTypedRowWrapper(dbSchema, TestPort.class,
+                new Row<GenericTableSchema>()).getName());
+    }
+
+    /**
+     * Test that the versions of the columns are checked again when the version of the schema changes.
+     */
+    @Test(expected = SchemaVersionMismatchException.class)
+    public void testTypedRowWrapperVersionChange() throws IOException {
+        DatabaseSchema dbSchema = getDatabaseSchema();
+        TestPort port = TyperUtils.getTypedRowWrapper(dbSchema, TestPort.class);
+        port.setName("tap0");
+        Assert.assertEquals("tap0", port.getOldName());
+
+        dbSchema.setVersion(new Version(7, 0, 0));
+        TyperUtils.getTypedRowWrapper(dbSchema, TestPort.class, port.getRow()).getOldName();
+    }
+
+    private static DatabaseSchema getDatabaseSchema() throws IOException {
+        InputStream resourceAsStream =
+                TyperUtilsTest.class.getResourceAsStream("/org/opendaylight/ovsdb/lib/schema/test_schema.json");
+        JsonNode jsonNode = new ObjectMapper().readTree(resourceAsStream);
+        return DatabaseSchema.fromJson("Open_vSwitch", jsonNode.get("result"));
+    }
+
     /**
      * Test that {@link TyperUtils#checkVersion(Version, Version, Version)} detects an old version. (The aim here isn't
      * to test {@link Version#compareTo(Version)}, that should be done in
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class SerialExecutorTest {
+
+    /**
+     * Test that the tasks run in order, one at a time, on a pool of several threads.
+     */
+    @Test
+    public void testOrder() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            SerialExecutor executor = new SerialExecutor(pool, 16);
+            final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+            final CountDownLatch done = new CountDownLatch(100);
+            for (int i = 0; i < 100; i++) {
+                executor.execute(new RecordingTask(order, i, done));
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, (int) order.get(i));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that an executor with many tasks lets the other executors run theirs after each batch, and that a
+     * failed task does not stop the following ones.
+     */
+    @Test
+    public void testBatches() {
+        final Queue<Runnable> poolTasks = new LinkedList<>();
+        Executor pool = new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                poolTasks.add(task);
+            }
+        };
+        SerialExecutor busy = new SerialExecutor(pool, 16);
+        SerialExecutor idle = new SerialExecutor(pool, 16);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            busy.execute(new RecordingTask(order, i, null));
+        }
+        idle.execute(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Expected failure");
+            }
+        });
+        idle.execute(new RecordingTask(order, -1, null));
+        // each executor has a single batch queued in the pool
+        assertEquals(2, poolTasks.size());
+
+        for (Runnable task = poolTasks.poll(); task != null; task = poolTasks.poll()) {
+            task.run();
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            expected.add(i);
+        }
+        expected.add(-1);
+        for (int i = 16; i < 20; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, order);
+    }
+
+    private static final class RecordingTask implements Runnable {
+        private final List<Integer> order;
+        private final int id;
+        private final CountDownLatch done;
+
+        RecordingTask(List<Integer> order, int id, CountDownLatch done) {
+            this.order = order;
+            this.id = id;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            order.add(id);
+            if (done != null) {
+                done.countDown();
+            }
+        }
+    }
+}
@@ -17,6 +17,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
@@ -29,6 +31,7 @@ import org.opendaylight.ovsdb.lib.MonitorCallBack;
 import org.opendaylight.ovsdb.lib.MonitorHandle;
 import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.MonitorRequestBuilder;
 import org.opendaylight.ovsdb.lib.message.MonitorSelect;
@@ -45,6 +48,7 @@ import org.opendaylight.ovsdb.lib.schema.TableSchema;
 import org.opendaylight.ovsdb.lib.schema.typed.TypedBaseTable;
 import org.opendaylight.ovsdb.lib.schema.typed.TyperUtils;
 import org.opendaylight.ovsdb.schema.openvswitch.OpenVSwitch;
+import org.opendaylight.ovsdb.southbound.OvsdbSchemaContants.OvsdbSchemaTables;
 import org.opendaylight.ovsdb.southbound.ovsdb.transact.BridgeOperationalState;
 import org.opendaylight.ovsdb.southbound.ovsdb.transact.TransactCommand;
 import org.opendaylight.ovsdb.southbound.ovsdb.transact.TransactInvoker;
@@ -76,6 +80,10 @@ public class OvsdbConnectionInstance {
     private Entity connectedEntity;
     private EntityOwnershipCandidateRegistration deviceOwnershipCandidateRegistration;
     private OvsdbNodeAugmentation initialCreateData = null;
+    private TableCache retainedTableCache;
+    // The bridges of the switch, as last reported by it, all managed by this connection
+    private final Set<InstanceIdentifier<Node>> managedBridges =
+            Collections.newSetFromMap(new ConcurrentHashMap<InstanceIdentifier<Node>, Boolean>());
 
     OvsdbConnectionInstance(ConnectionInfo key, OvsdbClient client, TransactionInvoker txInvoker,
                             InstanceIdentifier<Node> iid) {
@@ -88,6 +96,7 @@ public class OvsdbConnectionInstance {
 
     /**
      * Apply the given command to the given events, based on the given bridge state.
+     * The resulting transactions are submitted to the switch without waiting for their outcome.
      *
      * @param command The command to run.
      * @param state The current bridge state.
@@ -102,6 +111,7 @@ public class OvsdbConnectionInstance {
 
     /**
      * Apply the given command to the given modifications, based on the given bridge state.
+     * The resulting transactions are submitted to the switch without waiting for their outcome.
      *
      * @param command The command to run.
      * @param state The current bridge state.
@@ -155,21 +165,68 @@ public class OvsdbConnectionInstance {
         }
     }
 
+    private void enableTableCache(String database) {
+        TableCache tableCache;
+        if (retainedTableCache != null && database.equals(retainedTableCache.getDatabaseName())) {
+            tableCache = client.enableTableCache(retainedTableCache);
+        } else {
+            tableCache = client.enableTableCache(database);
+        }
+        retainedTableCache = null;
+        tableCache.addIndex(OvsdbSchemaTables.PORT.getTableName(), OvsdbSchemaContants.NAME_COLUMN);
+        tableCache.addIndex(OvsdbSchemaTables.BRIDGE.getTableName(),
+                OvsdbSchemaTables.PORT.getColumnNameInParentTable());
+    }
+
+    /**
+     * Sets the replica of the Open_vSwitch database kept from the previous connection of the switch, which
+     * the monitor resumes from if the switch supports it.
+     */
+    public void setRetainedTableCache(TableCache retainedTableCache) {
+        this.retainedTableCache = retainedTableCache;
+    }
+
+    /**
+     * Returns the replica of the Open_vSwitch database, or null if the database is not monitored.
+     */
+    public TableCache getTableCache() {
+        return client.getTableCache(SouthboundConstants.OPEN_V_SWITCH);
+    }
+
     private void monitorAllTables(String database, DatabaseSchema dbSchema) {
         Set<String> tables = dbSchema.getTables();
         if (tables != null) {
             List<MonitorRequest> monitorRequests = Lists.newArrayList();
             for (String tableName : tables) {
+                if (SouthboundConstants.SKIP_OVSDB_TABLE.contains(tableName)) {
+                    LOG.debug("Southbound not monitoring table {} in {}", tableName, dbSchema.getName());
+                    continue;
+                }
                 LOG.info("Southbound monitoring table {} in {}", tableName, dbSchema.getName());
                 GenericTableSchema tableSchema = dbSchema.table(tableName, GenericTableSchema.class);
                 Set<String> columns = tableSchema.getColumns();
+                List<String> skipColumns = SouthboundConstants.SKIP_COLUMN_FROM_TABLE.get(tableName);
                 MonitorRequestBuilder<GenericTableSchema> monitorBuilder = MonitorRequestBuilder.builder(tableSchema);
                 for (String column : columns) {
-                    monitorBuilder.addColumn(column);
+                    if (skipColumns == null || !skipColumns.contains(column)) {
+                        monitorBuilder.addColumn(column);
+                    }
                 }
                 monitorRequests.add(monitorBuilder.with(new MonitorSelect(true, true, true, true)).build());
             }
-            this.callback.update(monitor(dbSchema, monitorRequests, callback), dbSchema);
+            enableTableCache(database);
+            // Switches supporting conditional monitors only send the changes of the modified columns, the
+            // most recent ones also resume from the last transaction received on the previous connection
+            TableUpdates tableUpdates = monitorCondSince(dbSchema, monitorRequests, callback);
+            if (tableUpdates == null) {
+                tableUpdates = monitorCond(dbSchema, monitorRequests, callback);
+            }
+            if (tableUpdates == null) {
+                LOG.info("Conditional monitor not supported by {}, monitoring {} unconditionally",
+                        connectionInfo, database);
+                tableUpdates = monitor(dbSchema, monitorRequests, callback);
+            }
+            this.callback.update(tableUpdates, dbSchema);
         } else {
             LOG.warn("No tables for schema {} for database {} for key {}",dbSchema,database,connectionInfo);
         }
@@ -271,6 +328,20 @@ public class OvsdbConnectionInstance {
         return client.monitor(schema, monitorRequests, callbackArgument);
     }
 
+    public <E extends TableSchema<E>> TableUpdates monitorCondSince(
+            DatabaseSchema schema, List<MonitorRequest> monitorRequests,
+            MonitorCallBack callbackArgument) {
+        return client.monitorCondSince(schema, monitorRequests, new MonitorHandle(UUID.randomUUID().toString()),
+                callbackArgument);
+    }
+
+    public <E extends TableSchema<E>> TableUpdates monitorCond(
+            DatabaseSchema schema, List<MonitorRequest> monitorRequests,
+            MonitorCallBack callbackArgument) {
+        return client.monitorCond(schema, monitorRequests, new MonitorHandle(UUID.randomUUID().toString()),
+                callbackArgument);
+    }
+
     public void cancelMonitor(MonitorHandle handler) {
         client.cancelMonitor(handler);
     }
@@ -296,6 +367,10 @@ public class OvsdbConnectionInstance {
         client.disconnect();
     }
 
+    public void setAutoRead(boolean autoRead) {
+        client.setAutoRead(autoRead);
+    }
+
     public DatabaseSchema getDatabaseSchema(String dbName) {
         return client.getDatabaseSchema(dbName);
     }
@@ -386,4 +461,32 @@ public class OvsdbConnectionInstance {
     public OvsdbClient getOvsdbClient() {
         return client;
     }
+
+    /**
+     * Records a bridge reported by the switch, whose operational node is managed by this connection.
+     *
+     * @param bridgeIid The instance identifier of the bridge node.
+     */
+    public void addManagedBridge(InstanceIdentifier<Node> bridgeIid) {
+        managedBridges.add(bridgeIid);
+    }
+
+    /**
+     * Forgets a bridge removed from the switch.
+     *
+     * @param bridgeIid The instance identifier of the bridge node.
+     */
+    public void removeManagedBridge(InstanceIdentifier<Node> bridgeIid) {
+        managedBridges.remove(bridgeIid);
+    }
+
+    /**
+     * Tells whether the given bridge is managed by this connection, without reading the operational datastore.
+     *
+     * @param bridgeIid The instance identifier of the bridge node.
+     * @return {@code true} if the switch reported the bridge and did not remove it since.
+     */
+    public boolean isManagedBridge(InstanceIdentifier<Node> bridgeIid) {
+        return managedBridges.contains(bridgeIid);
+    }
 }
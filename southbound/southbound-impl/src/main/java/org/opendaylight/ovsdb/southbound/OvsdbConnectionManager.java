@@ -11,15 +11,21 @@ import static org.opendaylight.ovsdb.lib.operations.Operations.op;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -41,6 +47,8 @@ import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnection;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionListener;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
+import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.ovsdb.lib.operations.Select;
@@ -48,12 +56,13 @@ import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
 import org.opendaylight.ovsdb.lib.schema.typed.TyperUtils;
 import org.opendaylight.ovsdb.schema.openvswitch.OpenVSwitch;
+import org.opendaylight.ovsdb.southbound.OvsdbSchemaContants.OvsdbSchemaTables;
 import org.opendaylight.ovsdb.southbound.reconciliation.ReconciliationManager;
 import org.opendaylight.ovsdb.southbound.reconciliation.ReconciliationTask;
 import org.opendaylight.ovsdb.southbound.reconciliation.configuration.BridgeConfigReconciliationTask;
 import org.opendaylight.ovsdb.southbound.reconciliation.connection.ConnectionReconciliationTask;
+import org.opendaylight.ovsdb.southbound.transactions.md.AbstractTransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.OvsdbNodeRemoveCommand;
-import org.opendaylight.ovsdb.southbound.transactions.md.TransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.TransactionInvoker;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeAttributes;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeAugmentation;
@@ -72,6 +81,7 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbConnectionManager.class);
     private static final String ENTITY_TYPE = "ovsdb";
     private static final int DB_FETCH_TIMEOUT = 1000;
+    private static final long RETAINED_TABLE_CACHE_MINUTES = 10;
 
     private DataBroker db;
     private TransactionInvoker txInvoker;
@@ -83,6 +93,13 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
     private OvsdbDeviceEntityOwnershipListener ovsdbDeviceEntityOwnershipListener;
     private OvsdbConnection ovsdbConnection;
     private final ReconciliationManager reconciliationManager;
+    // Replicas of the switches recently disconnected, for their next connection to resume from their last transaction
+    private final Cache<InstanceIdentifier<Node>, TableCache> retainedTableCaches = CacheBuilder.newBuilder()
+            .expireAfterWrite(RETAINED_TABLE_CACHE_MINUTES, TimeUnit.MINUTES).build();
+    // The bridge nodes of the config datastore by managing node, kept by the data-tree change listener
+    private final ConcurrentMap<InstanceIdentifier<?>, Set<InstanceIdentifier<Node>>> configBridges =
+            new ConcurrentHashMap<>();
+    private volatile boolean configBridgesIndexed = false;
 
     public OvsdbConnectionManager(DataBroker db,TransactionInvoker txInvoker,
                                   EntityOwnershipService entityOwnershipService,
@@ -168,6 +185,7 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
             // OVSDB device.
             unregisterEntityForOwnership(ovsdbConnectionInstance);
 
+            retainTableCache(ovsdbConnectionInstance);
             txInvoker.invoke(new OvsdbNodeRemoveCommand(ovsdbConnectionInstance, null, null));
 
             removeConnectionInstance(key);
@@ -214,19 +232,32 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
         LOG.info("Disconnecting from {}", SouthboundUtil.connectionInfoToString(ovsdbNode.getConnectionInfo()));
         OvsdbConnectionInstance client = getConnectionInstance(ovsdbNode.getConnectionInfo());
         if (client != null) {
-            // Unregister Cluster Onwership for ConnectionInfo
-            unregisterEntityForOwnership(client);
-
-            client.disconnect();
-
-            removeInstanceIdentifier(ovsdbNode.getConnectionInfo());
-
-            stopBridgeConfigReconciliationIfActive(client.getInstanceIdentifier());
+            disconnect(client, ovsdbNode);
         } else {
             LOG.debug("disconnect : connection instance not found for {}",ovsdbNode.getConnectionInfo());
         }
     }
 
+    /**
+     * Disconnects the given connection of a device, unless it has already been replaced by a new connection to
+     * the device, which is then kept.
+     */
+    public void disconnect(OvsdbConnectionInstance client, OvsdbNodeAugmentation ovsdbNode) {
+        if (getConnectionInstance(ovsdbNode.getConnectionInfo()) != client) {
+            LOG.info("Not disconnecting from {}, the connection has been replaced",
+                    SouthboundUtil.connectionInfoToString(ovsdbNode.getConnectionInfo()));
+            return;
+        }
+        // Unregister Cluster Onwership for ConnectionInfo
+        unregisterEntityForOwnership(client);
+
+        client.disconnect();
+
+        removeInstanceIdentifier(ovsdbNode.getConnectionInfo());
+
+        stopBridgeConfigReconciliationIfActive(client.getInstanceIdentifier());
+    }
+
 /*    public void init(ConnectionInfo key) {
         OvsdbConnectionInstance client = getConnectionInstance(key);
 
@@ -344,6 +375,57 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
         return ovsdbConnectionInstance.getHasDeviceOwnership();
     }
 
+    /**
+     * Records a change of the managing node of a bridge node of the config datastore.
+     *
+     * @param bridgeIid The instance identifier of the bridge node.
+     * @param managedByBefore The managing node before the change, if any.
+     * @param managedByAfter The managing node after the change, if any.
+     */
+    public void updateConfigBridge(InstanceIdentifier<Node> bridgeIid, @Nullable InstanceIdentifier<?> managedByBefore,
+                                   @Nullable InstanceIdentifier<?> managedByAfter) {
+        if (managedByBefore != null && !managedByBefore.equals(managedByAfter)) {
+            Set<InstanceIdentifier<Node>> bridges = configBridges.get(managedByBefore);
+            if (bridges != null) {
+                bridges.remove(bridgeIid);
+            }
+        }
+        if (managedByAfter != null) {
+            Set<InstanceIdentifier<Node>> bridges = configBridges.get(managedByAfter);
+            if (bridges == null) {
+                Set<InstanceIdentifier<Node>> newBridges =
+                        Collections.newSetFromMap(new ConcurrentHashMap<InstanceIdentifier<Node>, Boolean>());
+                bridges = configBridges.putIfAbsent(managedByAfter, newBridges);
+                if (bridges == null) {
+                    bridges = newBridges;
+                }
+            }
+            bridges.add(bridgeIid);
+        }
+    }
+
+    /**
+     * Marks the bridge nodes of the config datastore as all recorded, once the listener received its content.
+     */
+    public void setConfigBridgesIndexed() {
+        configBridgesIndexed = true;
+    }
+
+    /**
+     * Returns the bridge nodes of the config datastore managed by the given node.
+     *
+     * @param nodeIid The instance identifier of the managing node.
+     * @return The instance identifiers of the bridge nodes, or {@code null} if they are not known yet.
+     */
+    @Nullable
+    public Set<InstanceIdentifier<Node>> getConfigBridges(InstanceIdentifier<?> nodeIid) {
+        if (!configBridgesIndexed) {
+            return null;
+        }
+        Set<InstanceIdentifier<Node>> bridges = configBridges.get(nodeIid);
+        return bridges != null ? ImmutableSet.copyOf(bridges) : Collections.<InstanceIdentifier<Node>>emptySet();
+    }
+
     public void reconcileConnection(InstanceIdentifier<Node> iid, OvsdbNodeAugmentation ovsdbNode) {
         this.retryConnection(iid, ovsdbNode,
                 ConnectionReconciliationTriggers.ON_CONTROLLER_INITIATED_CONNECTION_FAILURE);
@@ -414,6 +496,11 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
 
             //*this* instance of southbound plugin is owner of the device,
             //so register for monitor callbacks
+            InstanceIdentifier<Node> iid = ovsdbConnectionInstance.getInstanceIdentifier();
+            if (iid != null) {
+                ovsdbConnectionInstance.setRetainedTableCache(retainedTableCaches.getIfPresent(iid));
+                retainedTableCaches.invalidate(iid);
+            }
             ovsdbConnectionInstance.registerCallbacks();
 
             reconcileBridgeConfigurations(ovsdbConnectionInstance);
@@ -441,7 +528,14 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
                 (InstanceIdentifier<Node>) SouthboundUtil
                         .getInstanceIdentifierCodec().bindingDeserializer(entity.getId());
 
-        txInvoker.invoke(new TransactionCommand() {
+        // The cleanup goes to the shard of the switch, so that it cannot run after the writes of a new connection
+        final ConnectionInfo connectionInfo = getOperationalConnectionInfo(nodeIid);
+        txInvoker.invoke(new AbstractTransactionCommand() {
+            @Override
+            public ConnectionInfo getConnectionInfo() {
+                return connectionInfo;
+            }
+
             @Override
             public void execute(ReadWriteTransaction transaction) {
                 Optional<Node> ovsdbNodeOpt = SouthboundUtil.readNode(transaction, nodeIid);
@@ -465,6 +559,37 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
 
     }
 
+    private ConnectionInfo getOperationalConnectionInfo(InstanceIdentifier<Node> nodeIid) {
+        ReadOnlyTransaction transaction = db.newReadOnlyTransaction();
+        try {
+            Optional<Node> node = transaction.read(LogicalDatastoreType.OPERATIONAL, nodeIid).checkedGet();
+            if (node.isPresent()) {
+                OvsdbNodeAugmentation ovsdbNode = node.get().getAugmentation(OvsdbNodeAugmentation.class);
+                if (ovsdbNode != null) {
+                    return ovsdbNode.getConnectionInfo();
+                }
+            }
+        } catch (ReadFailedException e) {
+            LOG.warn("Failed to read the connection info of {}", nodeIid, e);
+        } finally {
+            transaction.close();
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the replica of a disconnected switch for a while if it knows its last transaction, so that the
+     * monitor of the next connection only transfers the changes made in between.
+     */
+    private void retainTableCache(OvsdbConnectionInstance ovsdbConnectionInstance) {
+        TableCache tableCache = ovsdbConnectionInstance.getTableCache();
+        InstanceIdentifier<Node> iid = ovsdbConnectionInstance.getInstanceIdentifier();
+        if (tableCache != null && tableCache.getLastTxnId() != null && iid != null) {
+            LOG.debug("Retaining the replica of {} at transaction {}", iid, tableCache.getLastTxnId());
+            retainedTableCaches.put(iid, tableCache);
+        }
+    }
+
     private OpenVSwitch getOpenVswitchTableEntry(OvsdbConnectionInstance connectionInstance) {
         DatabaseSchema dbSchema = null;
         OpenVSwitch openVSwitchRow = null;
@@ -475,6 +600,15 @@ public class OvsdbConnectionManager implements OvsdbConnectionListener, AutoClos
                     OvsdbSchemaContants.DATABASE_NAME,connectionInstance.getConnectionInfo(),e);
         }
         if (dbSchema != null) {
+            // Once the tables are monitored, the row is available locally
+            TableCache tableCache = connectionInstance.getTableCache();
+            if (tableCache != null) {
+                String tableName = OvsdbSchemaTables.OPENVSWITCH.getTableName();
+                for (Row<GenericTableSchema> row : tableCache.getRows(tableName).values()) {
+                    return TyperUtils.getTypedRowWrapper(dbSchema, OpenVSwitch.class, row);
+                }
+            }
+
             GenericTableSchema openVSwitchSchema = TyperUtils.getTableSchema(dbSchema, OpenVSwitch.class);
 
             List<String> openVSwitchTableColumn = new ArrayList<>();
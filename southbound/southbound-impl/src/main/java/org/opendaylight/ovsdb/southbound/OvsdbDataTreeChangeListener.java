@@ -8,11 +8,18 @@
 
 package org.opendaylight.ovsdb.southbound;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.binding.api.ClusteredDataTreeChangeListener;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -32,6 +39,7 @@ import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.concurrent.SpecialExecutors;
 import org.opendaylight.yangtools.yang.binding.Augmentation;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.slf4j.Logger;
@@ -39,6 +47,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Data-tree change listener for OVSDB.
+ *
+ * <p>The connections are set up and torn down on the listener thread. The changes to the data of the devices are
+ * queued per device, once the device is known to be owned by this instance: the changes of a device are applied
+ * in order, those of different devices in parallel.
  */
 public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListener<Node>, AutoCloseable {
 
@@ -54,6 +66,15 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
     /** Logger. */
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbDataTreeChangeListener.class);
 
+    private static final int NO_OF_TRANSACTORS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int TRANSACT_TASK_QUEUE_SIZE = 5000;
+
+    /** The threads applying the changes of the devices, shared by their queues. */
+    private final ExecutorService transactors;
+
+    /** The queues of the devices, kept as long as their connection. */
+    private final LoadingCache<OvsdbConnectionInstance, OvsdbDeviceQueue> deviceQueues;
+
     /**
      * Create an instance and register the listener.
      *
@@ -63,6 +84,15 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
     OvsdbDataTreeChangeListener(DataBroker db, OvsdbConnectionManager cm) {
         this.cm = cm;
         this.db = db;
+        transactors = SpecialExecutors.newBlockingBoundedCachedThreadPool(NO_OF_TRANSACTORS,
+                TRANSACT_TASK_QUEUE_SIZE, "ovsdb-transactor");
+        deviceQueues = CacheBuilder.newBuilder().weakKeys().build(
+                new CacheLoader<OvsdbConnectionInstance, OvsdbDeviceQueue>() {
+                    @Override
+                    public OvsdbDeviceQueue load(@Nonnull OvsdbConnectionInstance connectionInstance) {
+                        return new OvsdbDeviceQueue(transactors);
+                    }
+                });
         InstanceIdentifier<Node> path = InstanceIdentifier
                 .create(NetworkTopology.class)
                 .child(Topology.class, new TopologyKey(SouthboundConstants.OVSDB_TOPOLOGY_ID))
@@ -76,6 +106,7 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
     @Override
     public void close() {
         registration.close();
+        transactors.shutdown();
         LOG.info("OVSDB topology listener has been closed.");
     }
 
@@ -83,6 +114,9 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
     public void onDataTreeChanged(@Nonnull Collection<DataTreeModification<Node>> changes) {
         LOG.trace("onDataTreeChanged: {}", changes);
 
+        // Keep track of the bridges managed by each node
+        indexConfigBridges(changes);
+
         // Connect first if necessary
         connect(changes);
 
@@ -98,6 +132,43 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
         LOG.trace("onDataTreeChanged: exit");
     }
 
+    /**
+     * Returns the queues of the changes of the connected devices, by device, for monitoring.
+     *
+     * @return a snapshot of the queues of the devices.
+     */
+    public Map<InstanceIdentifier<Node>, OvsdbDeviceQueue> getDeviceQueues() {
+        Map<InstanceIdentifier<Node>, OvsdbDeviceQueue> result = new HashMap<>();
+        for (Entry<OvsdbConnectionInstance, OvsdbDeviceQueue> entry : deviceQueues.asMap().entrySet()) {
+            if (entry.getKey().getInstanceIdentifier() != null) {
+                result.put(entry.getKey().getInstanceIdentifier(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void indexConfigBridges(@Nonnull Collection<DataTreeModification<Node>> changes) {
+        for (DataTreeModification<Node> change : changes) {
+            InstanceIdentifier<?> managedByBefore = getManagedBy(change.getRootNode().getDataBefore());
+            InstanceIdentifier<?> managedByAfter = getManagedBy(change.getRootNode().getDataAfter());
+            if (managedByBefore != null || managedByAfter != null) {
+                cm.updateConfigBridge(change.getRootPath().getRootIdentifier(), managedByBefore, managedByAfter);
+            }
+        }
+        // The first notification holds the whole content of the datastore
+        cm.setConfigBridgesIndexed();
+    }
+
+    private static InstanceIdentifier<?> getManagedBy(Node node) {
+        if (node != null) {
+            OvsdbBridgeAugmentation bridge = node.getAugmentation(OvsdbBridgeAugmentation.class);
+            if (bridge != null && bridge.getManagedBy() != null) {
+                return bridge.getManagedBy().getValue();
+            }
+        }
+        return null;
+    }
+
     private void connect(@Nonnull Collection<DataTreeModification<Node>> changes) {
         for (DataTreeModification<Node> change : changes) {
             if (change.getRootNode().getModificationType() == DataObjectModification.ModificationType.WRITE || change
@@ -133,15 +204,34 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
                 DataObjectModification<OvsdbNodeAugmentation> ovsdbNodeModification =
                         change.getRootNode().getModifiedAugmentation(OvsdbNodeAugmentation.class);
                 if (ovsdbNodeModification != null && ovsdbNodeModification.getDataBefore() != null) {
-                    OvsdbNodeAugmentation ovsdbNode = ovsdbNodeModification.getDataBefore();
+                    final OvsdbNodeAugmentation ovsdbNode = ovsdbNodeModification.getDataBefore();
                     ConnectionInfo key = ovsdbNode.getConnectionInfo();
-                    InstanceIdentifier<Node> iid = cm.getInstanceIdentifier(key);
-                    try {
-                        cm.disconnect(ovsdbNode);
-                        LOG.info("OVSDB node has been disconnected:{}", ovsdbNode);
-                        cm.stopConnectionReconciliationIfActive(iid.firstIdentifierOf(Node.class), ovsdbNode);
-                    } catch (UnknownHostException e) {
-                        LOG.warn("Failed to disconnect ovsdbNode", e);
+                    final InstanceIdentifier<Node> iid = cm.getInstanceIdentifier(key);
+                    // The connection is resolved now, a queued disconnection must not close a later connection
+                    final OvsdbConnectionInstance connectionInstance = cm.getConnectionInstance(key);
+                    Runnable disconnectTask = new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                if (connectionInstance != null) {
+                                    cm.disconnect(connectionInstance, ovsdbNode);
+                                } else {
+                                    cm.disconnect(ovsdbNode);
+                                }
+                                LOG.info("OVSDB node has been disconnected:{}", ovsdbNode);
+                                cm.stopConnectionReconciliationIfActive(iid.firstIdentifierOf(Node.class), ovsdbNode);
+                            } catch (UnknownHostException e) {
+                                LOG.warn("Failed to disconnect ovsdbNode", e);
+                            }
+                        }
+                    };
+                    // Disconnect after the changes already queued for the device
+                    OvsdbDeviceQueue deviceQueue = connectionInstance != null
+                            ? deviceQueues.getIfPresent(connectionInstance) : null;
+                    if (deviceQueue != null) {
+                        deviceQueue.execute(disconnectTask);
+                    } else {
+                        disconnectTask.run();
                     }
                 }
             }
@@ -175,18 +265,44 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
     }
 
     private void updateData(@Nonnull Collection<DataTreeModification<Node>> changes) {
-        for (Entry<InstanceIdentifier<Node>, OvsdbConnectionInstance> connectionInstanceEntry :
+        for (Entry<OvsdbConnectionInstance, Collection<DataTreeModification<Node>>> connectionInstanceEntry :
+                changesPerConnectionInstance(changes).entrySet()) {
+            final OvsdbConnectionInstance connectionInstance = connectionInstanceEntry.getKey();
+            final Collection<DataTreeModification<Node>> clientChanges = connectionInstanceEntry.getValue();
+            deviceQueues.getUnchecked(connectionInstance).execute(new Runnable() {
+                @Override
+                public void run() {
+                    connectionInstance.transact(new TransactCommandAggregator(),
+                            new BridgeOperationalState(db, clientChanges), clientChanges);
+                }
+
+                @Override
+                public String toString() {
+                    return "Changes of " + connectionInstance.getInstanceIdentifier();
+                }
+            });
+        }
+    }
+
+    private Map<OvsdbConnectionInstance, Collection<DataTreeModification<Node>>> changesPerConnectionInstance(
+            @Nonnull Collection<DataTreeModification<Node>> changes) {
+        Map<OvsdbConnectionInstance, Collection<DataTreeModification<Node>>> result = new IdentityHashMap<>();
+        for (Entry<DataTreeModification<Node>, OvsdbConnectionInstance> entry :
                 connectionInstancesFromChanges(changes).entrySet()) {
-            OvsdbConnectionInstance connectionInstance = connectionInstanceEntry.getValue();
-            connectionInstance.transact(new TransactCommandAggregator(),
-                    new BridgeOperationalState(db, changes), changes);
+            Collection<DataTreeModification<Node>> clientChanges = result.get(entry.getValue());
+            if (clientChanges == null) {
+                clientChanges = new ArrayList<>();
+                result.put(entry.getValue(), clientChanges);
+            }
+            clientChanges.add(entry.getKey());
         }
+        return result;
     }
 
-    private Map<InstanceIdentifier<Node>, OvsdbConnectionInstance> connectionInstancesFromChanges(
+    private Map<DataTreeModification<Node>, OvsdbConnectionInstance> connectionInstancesFromChanges(
             @Nonnull Collection<DataTreeModification<Node>> changes) {
-        Map<InstanceIdentifier<Node>,OvsdbConnectionInstance> result =
-                new HashMap<>();
+        // Keeps the order of the changes, which are applied in order
+        Map<DataTreeModification<Node>, OvsdbConnectionInstance> result = new LinkedHashMap<>();
         for (DataTreeModification<Node> change : changes) {
             OvsdbConnectionInstance client = null;
             Node node = change.getRootNode().getDataAfter() != null
@@ -221,20 +337,15 @@ public class OvsdbDataTreeChangeListener implements ClusteredDataTreeChangeListe
             }
             if (client != null) {
                 LOG.debug("Found client for {}", node);
-                    /*
-                     * As of now data change sets are processed by single thread, so we can assume that device will
-                     * be connected and ownership will be decided before sending any instructions down to the device.
-                     * Note:Processing order in onDataChange() method should not change. If processing is changed to
-                     * use multiple thread, we might need to take care of corner cases, where ownership is not decided
-                     * but transaction are ready to go to switch. In that scenario, either we need to queue those task
-                     * till ownership is decided for that specific device.
-                     * Given that each DataChangeNotification is notified through separate thread, so we are already
-                     * multi threaded and i don't see any need to further parallelism per DataChange
-                     * notifications processing.
-                     */
+                /*
+                 * The ownership of the device is checked here, on the listener thread, before its changes are
+                 * queued: the device is connected and its ownership decided by the previous steps of
+                 * onDataTreeChanged(), whose order must not change. Only the changes of the devices owned by
+                 * *this* instance are queued; the queue of a device then applies them in order.
+                 */
                 if ( cm.getHasDeviceOwnership(client.getMDConnectionInfo())) {
                     LOG.debug("*This* instance of southbound plugin is an owner of the device {}", node);
-                    result.put(change.getRootPath().getRootIdentifier(), client);
+                    result.put(change, client);
                 } else {
                     LOG.debug("*This* instance of southbound plugin is *not* an owner of the device {}", node);
                 }
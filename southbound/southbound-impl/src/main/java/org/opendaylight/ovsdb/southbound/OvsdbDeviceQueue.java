@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.southbound;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.ovsdb.lib.util.SerialExecutor;
+
+/**
+ * The queue of the configuration changes of a device, run in order on a pool shared by all the devices.
+ *
+ * <p>The queue counts its tasks, for monitoring.
+ */
+public final class OvsdbDeviceQueue extends SerialExecutor {
+
+    // The tasks a device runs in a row before the tasks of the other devices
+    private static final int BATCH_SIZE = 16;
+
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final AtomicInteger maxPendingTasks = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+
+    OvsdbDeviceQueue(Executor pool) {
+        super(pool, BATCH_SIZE);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        int pending = pendingTasks.incrementAndGet();
+        int max = maxPendingTasks.get();
+        while (pending > max && !maxPendingTasks.compareAndSet(max, pending)) {
+            max = maxPendingTasks.get();
+        }
+        super.execute(task);
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, RuntimeException failure) {
+        if (failure != null) {
+            failedTasks.incrementAndGet();
+        }
+        pendingTasks.decrementAndGet();
+        completedTasks.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of tasks queued or running.
+     */
+    public int getPendingTasks() {
+        return pendingTasks.get();
+    }
+
+    /**
+     * Returns the largest number of tasks queued or running at a time.
+     */
+    public int getMaxPendingTasks() {
+        return maxPendingTasks.get();
+    }
+
+    /**
+     * Returns the number of tasks run, including the failed ones.
+     */
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    /**
+     * Returns the number of tasks which threw an exception.
+     */
+    public long getFailedTasks() {
+        return failedTasks.get();
+    }
+
+    @Override
+    public String toString() {
+        return "OvsdbDeviceQueue [pending=" + pendingTasks + ", maxPending=" + maxPendingTasks
+                + ", completed=" + completedTasks + ", failed=" + failedTasks + "]";
+    }
+}
@@ -7,19 +7,30 @@
  */
 package org.opendaylight.ovsdb.southbound;
 
+import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.ovsdb.lib.MonitorCallBack;
 import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.southbound.transactions.md.AbstractTransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.OvsdbOperationalCommandAggregator;
+import org.opendaylight.ovsdb.southbound.transactions.md.TransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.TransactionInvoker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Monitor callback of a connection, writing the updates to the operational datastore.
+ *
+ * <p>Updates received while the previous ones are still waiting for the transaction invoker are merged
+ * into them, so that bursts of updates to the same rows end up in a single transaction.
+ */
 public class OvsdbMonitorCallback implements MonitorCallBack {
 
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbMonitorCallback.class);
     private TransactionInvoker txInvoker;
     private OvsdbConnectionInstance key;
+    private TableUpdates pendingUpdates;
+    private DatabaseSchema pendingDbSchema;
 
     OvsdbMonitorCallback(OvsdbConnectionInstance key,TransactionInvoker txInvoker) {
         this.txInvoker = txInvoker;
@@ -28,13 +39,49 @@ public class OvsdbMonitorCallback implements MonitorCallBack {
 
     @Override
     public void update(TableUpdates result, DatabaseSchema dbSchema) {
-        txInvoker.invoke(new OvsdbOperationalCommandAggregator(key, result, dbSchema));
+        synchronized (this) {
+            if (pendingUpdates != null && dbSchema == pendingDbSchema) {
+                pendingUpdates.merge(result);
+                LOG.trace("Coalesced dbSchema: {} and result: {}", dbSchema, result);
+                return;
+            }
+            pendingUpdates = result;
+            pendingDbSchema = dbSchema;
+        }
+        txInvoker.invoke(new CoalescedUpdatesCommand());
         LOG.trace("Updated dbSchema: {} and result: {}", dbSchema, result);
     }
 
+    private synchronized TransactionCommand takePendingUpdates() {
+        TransactionCommand command = new OvsdbOperationalCommandAggregator(key, pendingUpdates, pendingDbSchema);
+        pendingUpdates = null;
+        pendingDbSchema = null;
+        return command;
+    }
+
     @Override
     public void exception(Throwable exception) {
         LOG.warn("exception {}", exception);
     }
 
+    /**
+     * Writes the pending updates as they stand when the invoker gets to it; later updates are queued anew.
+     */
+    private final class CoalescedUpdatesCommand extends AbstractTransactionCommand {
+        private TransactionCommand aggregator;
+
+        CoalescedUpdatesCommand() {
+            super(key, null, null);
+        }
+
+        @Override
+        public void execute(ReadWriteTransaction transaction) {
+            // The command is run again if the transaction chain fails, keep the same updates
+            if (aggregator == null) {
+                aggregator = takePendingUpdates();
+            }
+            aggregator.execute(transaction);
+        }
+    }
+
 }
@@ -10,6 +10,7 @@ package org.opendaylight.ovsdb.southbound;
 public class OvsdbSchemaContants {
 
     public static final String DATABASE_NAME = "Open_vSwitch";
+    public static final String NAME_COLUMN = "name";
     private static final String BRIDGE_NAME = "Bridge";
 
     private OvsdbSchemaContants() { }
@@ -8,6 +8,9 @@
 package org.opendaylight.ovsdb.southbound;
 
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.DatapathTypeBase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.DatapathTypeNetdev;
@@ -134,6 +137,16 @@ public class SouthboundConstants {
     public static final String QUEUE_ID_EXTERNAL_ID_KEY = "opendaylight-queue-id";
     public static final String AUTOATTACH_ID_EXTERNAL_ID_KEY = "opendaylight-autoattach-id";
 
+    // Tables and columns left out of the monitor, southbound does not use them and some change constantly
+    public static final List<String> SKIP_OVSDB_TABLE = ImmutableList.of(
+            "Flow_Sample_Collector_Set", "Flow_Table", "IPFIX", "Mirror", "NetFlow", "SSL", "sFlow");
+    public static final ImmutableMap<String, List<String>> SKIP_COLUMN_FROM_TABLE
+        = new ImmutableMap.Builder<String, List<String>>()
+            .put(OPEN_V_SWITCH, ImmutableList.of("statistics"))
+            .put("Port", ImmutableList.of("statistics"))
+            .put("Interface", ImmutableList.of("statistics"))
+            .build();
+
     public enum VlanModes {
         ACCESS("access"),
         NATIVE_TAGGED("native-tagged"),
@@ -12,9 +12,10 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutionException;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
@@ -31,44 +32,54 @@ import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPoint;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPointKey;
 import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.Identifier;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A snapshot of the operational state of the nodes affected by a configuration change.
+ *
+ * <p>The nodes are read concurrently, in a single transaction, when the snapshot is created. The termination
+ * points of a node, and the controllers and protocols of a bridge, are indexed by key on their first lookup.
+ */
 public class BridgeOperationalState {
     private static final Logger LOG = LoggerFactory.getLogger(BridgeOperationalState.class);
     private Map<InstanceIdentifier<Node>, Node> operationalNodes = new HashMap<>();
+    // The entries of the keyed lists of the snapshot, by key, indexed by list instance
+    private Map<List<?>, Map<?, ?>> listIndexes;
 
     public BridgeOperationalState(DataBroker db, AsyncDataChangeEvent<InstanceIdentifier<?>,
             DataObject> changes) {
-        ReadOnlyTransaction transaction = db.newReadOnlyTransaction();
         Map<InstanceIdentifier<Node>, Node> nodeCreateOrUpdate =
                 TransactUtils.extractCreatedOrUpdatedOrRemoved(changes, Node.class);
         if (nodeCreateOrUpdate != null) {
-            for (Entry<InstanceIdentifier<Node>, Node> entry: nodeCreateOrUpdate.entrySet()) {
-                CheckedFuture<Optional<Node>, ReadFailedException> nodeFuture =
-                        transaction.read(LogicalDatastoreType.OPERATIONAL, entry.getKey());
-                try {
-                    Optional<Node> nodeOptional = nodeFuture.get();
-                    if (nodeOptional.isPresent()) {
-                        operationalNodes.put(entry.getKey(), nodeOptional.get());
-                    }
-                } catch (InterruptedException | ExecutionException e) {
-                    LOG.warn("Error reading from datastore",e);
-                }
-            }
+            readNodes(db, nodeCreateOrUpdate.keySet());
         }
-        transaction.close();
     }
 
     public BridgeOperationalState(DataBroker db, Collection<DataTreeModification<Node>> changes) {
-        ReadOnlyTransaction transaction = db.newReadOnlyTransaction();
         Map<InstanceIdentifier<Node>, Node> nodeCreateOrUpdateOrRemove =
                 TransactUtils.extractCreatedOrUpdatedOrRemoved(changes, Node.class);
-        for (Entry<InstanceIdentifier<Node>, Node> entry : nodeCreateOrUpdateOrRemove.entrySet()) {
+        readNodes(db, nodeCreateOrUpdateOrRemove.keySet());
+    }
+
+    private void readNodes(DataBroker db, Collection<InstanceIdentifier<Node>> nodeIids) {
+        if (nodeIids.isEmpty()) {
+            return;
+        }
+        ReadOnlyTransaction transaction = db.newReadOnlyTransaction();
+        // All the reads are issued before waiting for any of them
+        Map<InstanceIdentifier<Node>, CheckedFuture<Optional<Node>, ReadFailedException>> nodeFutures =
+                new HashMap<>();
+        for (InstanceIdentifier<Node> nodeIid : nodeIids) {
+            nodeFutures.put(nodeIid, transaction.read(LogicalDatastoreType.OPERATIONAL, nodeIid));
+        }
+        for (Entry<InstanceIdentifier<Node>, CheckedFuture<Optional<Node>, ReadFailedException>> entry
+                : nodeFutures.entrySet()) {
             try {
-                Optional<Node> nodeOptional = transaction.read(LogicalDatastoreType.OPERATIONAL, entry.getKey())
-                            .checkedGet();
+                Optional<Node> nodeOptional = entry.getValue().checkedGet();
                 if (nodeOptional.isPresent()) {
                     operationalNodes.put(entry.getKey(), nodeOptional.get());
                 }
@@ -76,6 +87,7 @@ public class BridgeOperationalState {
                 LOG.warn("Error reading from datastore", e);
             }
         }
+        transaction.close();
     }
 
     public Optional<Node> getBridgeNode(InstanceIdentifier<?> iid) {
@@ -97,11 +109,7 @@ public class BridgeOperationalState {
             if (nodeOptional.isPresent() && nodeOptional.get().getTerminationPoint() != null) {
                 TerminationPointKey key = iid.firstKeyOf(TerminationPoint.class, TerminationPointKey.class);
                 if (key != null) {
-                    for (TerminationPoint tp:nodeOptional.get().getTerminationPoint()) {
-                        if (tp.getKey().equals(key)) {
-                            return Optional.of(tp);
-                        }
-                    }
+                    return findByKey(nodeOptional.get().getTerminationPoint(), key);
                 }
             }
         }
@@ -122,11 +130,7 @@ public class BridgeOperationalState {
             if (ovsdbBridgeOptional.isPresent() && ovsdbBridgeOptional.get().getControllerEntry() != null) {
                 ControllerEntryKey key = iid.firstKeyOf(ControllerEntry.class, ControllerEntryKey.class);
                 if (key != null) {
-                    for (ControllerEntry entry: ovsdbBridgeOptional.get().getControllerEntry()) {
-                        if (entry.getKey().equals(key)) {
-                            return Optional.of(entry);
-                        }
-                    }
+                    return findByKey(ovsdbBridgeOptional.get().getControllerEntry(), key);
                 }
             }
         }
@@ -139,15 +143,32 @@ public class BridgeOperationalState {
             if (ovsdbBridgeOptional.isPresent() && ovsdbBridgeOptional.get().getProtocolEntry() != null) {
                 ProtocolEntryKey key = iid.firstKeyOf(ProtocolEntry.class, ProtocolEntryKey.class);
                 if (key != null) {
-                    for (ProtocolEntry entry: ovsdbBridgeOptional.get().getProtocolEntry()) {
-                        if (entry.getKey().equals(key)) {
-                            return Optional.of(entry);
-                        }
-                    }
+                    return findByKey(ovsdbBridgeOptional.get().getProtocolEntry(), key);
                 }
             }
         }
         return Optional.absent();
     }
 
+    /*
+     * Finds the entry with the given key in a keyed list of the snapshot, indexing the list on its first lookup.
+     * Lookups of many entries of the same list, such as the ports of a bridge, are then constant time.
+     */
+    private <K extends Identifier<V>, V extends Identifiable<K>> Optional<V> findByKey(List<V> entries, K key) {
+        if (listIndexes == null) {
+            listIndexes = new IdentityHashMap<>();
+        }
+        Map<K, V> index = (Map<K, V>) listIndexes.get(entries);
+        if (index == null) {
+            index = new HashMap<>(entries.size() * 2);
+            for (V entry : entries) {
+                // The first entry with a key is the one found by a scan of the list
+                if (!index.containsKey(entry.getKey())) {
+                    index.put(entry.getKey(), entry);
+                }
+            }
+            listIndexes.put(entries, index);
+        }
+        return Optional.fromNullable(index.get(key));
+    }
 }
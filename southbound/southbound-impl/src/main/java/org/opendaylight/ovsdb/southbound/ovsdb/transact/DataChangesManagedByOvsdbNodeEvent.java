@@ -15,7 +15,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
 import org.opendaylight.ovsdb.southbound.SouthboundUtil;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbNodeAugmentation;
@@ -34,6 +36,7 @@ public class DataChangesManagedByOvsdbNodeEvent implements
     private Map<InstanceIdentifier<?>, DataObject> updatedData = null;
     private Map<InstanceIdentifier<?>, DataObject> originalData = null;
     private Set<InstanceIdentifier<?>> removedPaths;
+    private OvsdbConnectionInstance connectionInstance;
 
     public DataChangesManagedByOvsdbNodeEvent(DataBroker dataBroker, InstanceIdentifier<?> iid,
                                               AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> event) {
@@ -42,6 +45,20 @@ public class DataChangesManagedByOvsdbNodeEvent implements
         this.event = event;
     }
 
+    /**
+     * Filters the given event for the given connection. The bridges already present are known to be managed by the
+     * connection from the bridges it reported, without reading the operational datastore.
+     *
+     * @param dataBroker The data broker.
+     * @param connectionInstance The connection the changes are for.
+     * @param event The event to filter.
+     */
+    public DataChangesManagedByOvsdbNodeEvent(DataBroker dataBroker, OvsdbConnectionInstance connectionInstance,
+                                              AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> event) {
+        this(dataBroker, connectionInstance.getInstanceIdentifier(), event);
+        this.connectionInstance = connectionInstance;
+    }
+
     private Map<InstanceIdentifier<?>, DataObject> filter(Map<InstanceIdentifier<?>,
             DataObject> data) {
         Map<InstanceIdentifier<?>, DataObject> result
@@ -110,6 +127,10 @@ public class DataChangesManagedByOvsdbNodeEvent implements
             return true;
         }
 
+        // Is the containing node a bridge of the connection?
+        if (connectionInstance != null) {
+            return connectionInstance.isManagedBridge(bridgeIid.firstIdentifierOf(Node.class));
+        }
         managedBy = getManagedByIidFromOperDS(bridgeIid);
         if (managedBy != null && managedBy.equals(iid)) {
             return true;
@@ -122,7 +143,13 @@ public class DataChangesManagedByOvsdbNodeEvent implements
         // Get the InstanceIdentifier of the containing node
         InstanceIdentifier<Node> nodeEntryIid = bridgeIid.firstIdentifierOf(Node.class);
 
-        Optional<?> bridgeNode =  SouthboundUtil.readNode(db.newReadWriteTransaction(),nodeEntryIid);
+        ReadWriteTransaction transaction = db.newReadWriteTransaction();
+        Optional<?> bridgeNode;
+        try {
+            bridgeNode = SouthboundUtil.readNode(transaction, nodeEntryIid);
+        } finally {
+            transaction.cancel();
+        }
         if (bridgeNode.isPresent() && bridgeNode.get() instanceof Node) {
             Node node = (Node)bridgeNode.get();
             OvsdbBridgeAugmentation bridge = node.getAugmentation(OvsdbBridgeAugmentation.class);
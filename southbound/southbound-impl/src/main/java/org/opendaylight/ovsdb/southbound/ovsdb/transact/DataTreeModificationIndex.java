@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.southbound.ovsdb.transact;
+
+import com.google.common.base.Predicate;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * The modifications of a batch, with their nested modifications indexed by data type (bridges, termination points,
+ * controllers, QoS entries, queues...) in a single pass.
+ *
+ * <p>The extraction methods of {@link TransactUtils} given an index read the modifications of the requested type
+ * from it instead of walking all the modifications again.
+ */
+final class DataTreeModificationIndex extends AbstractCollection<DataTreeModification<Node>> {
+
+    private final Collection<DataTreeModification<Node>> modifications;
+    // All the modifications of each type, in the order of the walk, a path being modified by several of them
+    private final Map<Class<?>, List<Map.Entry<InstanceIdentifier<?>, DataObjectModification<?>>>>
+            modificationsByType = new HashMap<>();
+
+    private DataTreeModificationIndex(Collection<DataTreeModification<Node>> modifications) {
+        this.modifications = modifications;
+        Queue<DataObjectModification<? extends DataObject>> remainingChanges = new LinkedList<>();
+        Queue<InstanceIdentifier<? extends DataObject>> remainingPaths = new LinkedList<>();
+        for (DataTreeModification<Node> modification : modifications) {
+            remainingChanges.add(modification.getRootNode());
+            remainingPaths.add(modification.getRootPath().getRootIdentifier());
+        }
+        while (!remainingChanges.isEmpty()) {
+            DataObjectModification<? extends DataObject> change = remainingChanges.remove();
+            InstanceIdentifier<? extends DataObject> path = remainingPaths.remove();
+            List<Map.Entry<InstanceIdentifier<?>, DataObjectModification<?>>> changesOfType =
+                    modificationsByType.get(change.getDataType());
+            if (changesOfType == null) {
+                changesOfType = new ArrayList<>();
+                modificationsByType.put(change.getDataType(), changesOfType);
+            }
+            changesOfType.add(new AbstractMap.SimpleImmutableEntry<InstanceIdentifier<?>, DataObjectModification<?>>(
+                    path, change));
+            for (DataObjectModification<? extends DataObject> child : change.getModifiedChildren()) {
+                remainingChanges.add(child);
+                remainingPaths.add(TransactUtils.extendPath(path, child));
+            }
+        }
+    }
+
+    /**
+     * Indexes the given modifications, unless they already are.
+     *
+     * @param modifications The modifications to index.
+     * @return The indexed modifications.
+     */
+    static DataTreeModificationIndex of(Collection<DataTreeModification<Node>> modifications) {
+        if (modifications instanceof DataTreeModificationIndex) {
+            return (DataTreeModificationIndex) modifications;
+        }
+        return new DataTreeModificationIndex(
+                modifications != null ? modifications : new ArrayList<DataTreeModification<Node>>());
+    }
+
+    /**
+     * Returns the modifications affecting instances of {@code clazz} which satisfy the given filter. Like a walk of
+     * the modifications, the last modification of a path satisfying the filter is the one returned.
+     *
+     * @param clazz The class we're interested in.
+     * @param filter The filter the modifications must satisfy.
+     * @param <T> The type of modifications we're interested in.
+     * @return The modifications, mapped by instance identifier.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends DataObject> Map<InstanceIdentifier<T>, DataObjectModification<T>> get(
+            Class<T> clazz, Predicate<DataObjectModification<T>> filter) {
+        Map<InstanceIdentifier<T>, DataObjectModification<T>> result = new HashMap<>();
+        for (Map.Entry<Class<?>, List<Map.Entry<InstanceIdentifier<?>, DataObjectModification<?>>>> changesOfType :
+                modificationsByType.entrySet()) {
+            if (clazz.isAssignableFrom(changesOfType.getKey())) {
+                for (Map.Entry<InstanceIdentifier<?>, DataObjectModification<?>> change : changesOfType.getValue()) {
+                    if (filter.apply((DataObjectModification<T>) change.getValue())) {
+                        result.put((InstanceIdentifier<T>) change.getKey(),
+                                (DataObjectModification<T>) change.getValue());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<DataTreeModification<Node>> iterator() {
+        return modifications.iterator();
+    }
+
+    @Override
+    public int size() {
+        return modifications.size();
+    }
+}
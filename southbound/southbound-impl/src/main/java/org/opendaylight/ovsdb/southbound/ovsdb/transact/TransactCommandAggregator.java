@@ -15,57 +15,50 @@ import org.opendaylight.ovsdb.lib.operations.TransactionBuilder;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * This transactional command aggregates all the Southbound commands.
+ *
+ * <p>The commands are stateless and shared. The modifications are indexed once, for all the commands to read
+ * the changes they handle from the index.
  */
 public class TransactCommandAggregator implements TransactCommand {
-    private static final Logger LOG = LoggerFactory.getLogger(TransactCommandAggregator.class);
 
-    private static final Class<? extends TransactCommand>[] COMMAND_CLASSES =
-            new Class[] {
-                BridgeUpdateCommand.class,
-                OpenVSwitchBridgeAddCommand.class,
-                ControllerUpdateCommand.class,
-                ControllerRemovedCommand.class,
-                ProtocolUpdateCommand.class,
-                ProtocolRemovedCommand.class,
-                BridgeRemovedCommand.class,
-                TerminationPointCreateCommand.class,
-                TerminationPointDeleteCommand.class,
-                OvsdbNodeUpdateCommand.class,
-                AutoAttachUpdateCommand.class,
-                AutoAttachRemovedCommand.class,
-                QosUpdateCommand.class,
-                QosRemovedCommand.class,
-                QueueUpdateCommand.class,
-                QueueRemovedCommand.class,
-                TerminationPointUpdateCommand.class,
+    private static final TransactCommand[] COMMANDS =
+            new TransactCommand[] {
+                new BridgeUpdateCommand(),
+                new OpenVSwitchBridgeAddCommand(),
+                new ControllerUpdateCommand(),
+                new ControllerRemovedCommand(),
+                new ProtocolUpdateCommand(),
+                new ProtocolRemovedCommand(),
+                new BridgeRemovedCommand(),
+                new TerminationPointCreateCommand(),
+                new TerminationPointDeleteCommand(),
+                new OvsdbNodeUpdateCommand(),
+                new AutoAttachUpdateCommand(),
+                new AutoAttachRemovedCommand(),
+                new QosUpdateCommand(),
+                new QosRemovedCommand(),
+                new QueueUpdateCommand(),
+                new QueueRemovedCommand(),
+                new TerminationPointUpdateCommand(),
             };
 
     @Override
     public void execute(TransactionBuilder transaction, BridgeOperationalState state,
                         AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> events) {
-        for (Class<? extends TransactCommand> commandClass : COMMAND_CLASSES) {
-            try {
-                commandClass.newInstance().execute(transaction, state, events);
-            } catch (InstantiationException | IllegalAccessException e) {
-                LOG.error("Error instantiating {}", commandClass, e);
-            }
+        for (TransactCommand command : COMMANDS) {
+            command.execute(transaction, state, events);
         }
     }
 
     @Override
     public void execute(TransactionBuilder transaction, BridgeOperationalState state,
                         Collection<DataTreeModification<Node>> modifications) {
-        for (Class<? extends TransactCommand> commandClass : COMMAND_CLASSES) {
-            try {
-                commandClass.newInstance().execute(transaction, state, modifications);
-            } catch (InstantiationException | IllegalAccessException e) {
-                LOG.error("Error instantiating {}", commandClass, e);
-            }
+        Collection<DataTreeModification<Node>> index = DataTreeModificationIndex.of(modifications);
+        for (TransactCommand command : COMMANDS) {
+            command.execute(transaction, state, index);
         }
     }
 }
@@ -7,10 +7,13 @@
  */
 package org.opendaylight.ovsdb.southbound.ovsdb.transact;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.Collection;
+import java.util.List;
 
 import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -25,9 +28,10 @@ public interface TransactInvoker {
      * @param command The transactional command.
      * @param state The bridge state.
      * @param events The events to be processed.
+     * @return The results of the operations, once the transaction has been applied by the switch.
      */
-    void invoke(TransactCommand command, BridgeOperationalState state,
-                AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> events);
+    ListenableFuture<List<OperationResult>> invoke(TransactCommand command, BridgeOperationalState state,
+            AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> events);
 
     /**
      * Invoke the given transactional command, with the given bridge state, on the given modifications.
@@ -35,7 +39,8 @@ public interface TransactInvoker {
      * @param command The transactional command.
      * @param state The bridge state.
      * @param modifications The modifications to be processed.
+     * @return The results of the operations, once the transaction has been applied by the switch.
      */
-    void invoke(TransactCommand command, BridgeOperationalState state,
-                Collection<DataTreeModification<Node>> modifications);
+    ListenableFuture<List<OperationResult>> invoke(TransactCommand command, BridgeOperationalState state,
+            Collection<DataTreeModification<Node>> modifications);
 }
@@ -7,15 +7,28 @@
  */
 package org.opendaylight.ovsdb.southbound.ovsdb.transact;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
 
 import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.ovsdb.lib.operations.Delete;
+import org.opendaylight.ovsdb.lib.operations.Insert;
+import org.opendaylight.ovsdb.lib.operations.Mutate;
+import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.ovsdb.lib.operations.TransactionBuilder;
+import org.opendaylight.ovsdb.lib.operations.Update;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
@@ -24,10 +37,29 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Transactional invoker pipelining the OVSDB transactions of a connection.
+ *
+ * <p>Commands are executed on the calling thread, the resulting transaction is then submitted without
+ * waiting for its outcome. Up to {@link #MAX_OUTSTANDING_TRANSACTIONS} transactions are kept in flight;
+ * they are all written, in submission order, on the single session with the switch, which applies them
+ * in that order, so the changes to any given bridge or port are never reordered.
+ *
+ * <p>While the pipeline is full, transactions queue up and the consecutive small ones are coalesced
+ * into a single OVSDB transact, provided they only insert, update, mutate or delete rows and their
+ * named UUIDs do not collide. Coalesced transactions share the outcome of the transact, each caller
+ * receiving the results of its own operations. As the switch applies a transact all or nothing, if any
+ * operation fails, every transaction of the batch fails.
+ */
 public class TransactInvokerImpl implements TransactInvoker {
     private static final Logger LOG = LoggerFactory.getLogger(TransactInvokerImpl.class);
+    static final int MAX_OUTSTANDING_TRANSACTIONS = 4;
+    static final int MAX_COALESCED_OPERATIONS = 200;
+
     private OvsdbConnectionInstance connectionInstance;
     private DatabaseSchema dbSchema;
+    private final Deque<PendingTransaction> pendingTransactions = new ArrayDeque<>();
+    private int outstandingTransactions = 0;
 
     public TransactInvokerImpl(OvsdbConnectionInstance connectionInstance, DatabaseSchema dbSchema) {
         this.connectionInstance = connectionInstance;
@@ -35,33 +67,197 @@ public class TransactInvokerImpl implements TransactInvoker {
     }
 
     @Override
-    public void invoke(TransactCommand command, BridgeOperationalState state,
-                       AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> events) {
+    public ListenableFuture<List<OperationResult>> invoke(TransactCommand command, BridgeOperationalState state,
+            AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> events) {
         TransactionBuilder tb = new TransactionBuilder(connectionInstance.getOvsdbClient(), dbSchema);
         command.execute(tb, state, events);
-        invoke(command, tb);
+        return invoke(command, tb);
     }
 
     @Override
-    public void invoke(TransactCommand command, BridgeOperationalState state,
-                       Collection<DataTreeModification<Node>> modifications) {
+    public ListenableFuture<List<OperationResult>> invoke(TransactCommand command, BridgeOperationalState state,
+            Collection<DataTreeModification<Node>> modifications) {
         TransactionBuilder tb = new TransactionBuilder(connectionInstance.getOvsdbClient(), dbSchema);
         command.execute(tb, state, modifications);
-        invoke(command, tb);
+        return invoke(command, tb);
     }
 
-    private void invoke(TransactCommand command, TransactionBuilder tb) {
-        ListenableFuture<List<OperationResult>> result = tb.execute();
+    private ListenableFuture<List<OperationResult>> invoke(TransactCommand command, TransactionBuilder tb) {
         LOG.debug("invoke: command: {}, tb: {}", command, tb);
-        if (tb.getOperations().size() > 0) {
-            try {
-                List<OperationResult> got = result.get();
-                LOG.debug("OVSDB transaction result: {}", got);
-            } catch (InterruptedException | ExecutionException e) {
-                LOG.warn("Transact execution exception: ", e);
+        if (tb.getOperations().isEmpty()) {
+            return Futures.immediateFuture(Collections.<OperationResult>emptyList());
+        }
+        PendingTransaction transaction = new PendingTransaction(command, tb);
+        synchronized (this) {
+            pendingTransactions.add(transaction);
+            submitPendingTransactions();
+        }
+        return transaction.result;
+    }
+
+    /**
+     * Returns the number of transactions waiting for a slot in the pipeline.
+     */
+    public synchronized int getPendingTransactionCount() {
+        return pendingTransactions.size();
+    }
+
+    /**
+     * Returns the number of transactions sent to the switch and not answered yet.
+     */
+    public synchronized int getOutstandingTransactionCount() {
+        return outstandingTransactions;
+    }
+
+    /*
+     * Called with the lock held, so that the transactions are written to the channel in submission order;
+     * writing does not wait for the switch.
+     */
+    private void submitPendingTransactions() {
+        while (outstandingTransactions < MAX_OUTSTANDING_TRANSACTIONS && !pendingTransactions.isEmpty()) {
+            List<PendingTransaction> batch = nextBatch();
+            ListenableFuture<List<OperationResult>> result;
+            if (batch.size() == 1) {
+                result = batch.get(0).tb.execute();
+            } else {
+                TransactionBuilder coalesced =
+                        new TransactionBuilder(connectionInstance.getOvsdbClient(), dbSchema);
+                for (PendingTransaction transaction : batch) {
+                    for (Operation operation : transaction.tb.getOperations()) {
+                        coalesced.add(operation);
+                    }
+                }
+                LOG.debug("Coalesced {} transactions into {}", batch.size(), coalesced);
+                result = coalesced.execute();
             }
-            LOG.trace("invoke exit command: {}, tb: {}", command, tb);
+            outstandingTransactions++;
+            Futures.addCallback(result, new BatchCallback(batch));
+        }
+    }
+
+    private List<PendingTransaction> nextBatch() {
+        List<PendingTransaction> batch = new ArrayList<>();
+        PendingTransaction first = pendingTransactions.poll();
+        batch.add(first);
+        if (!first.isCoalescable()) {
+            return batch;
+        }
+        int operationCount = first.tb.getOperations().size();
+        Set<String> uuidNames = new HashSet<>(first.uuidNames);
+        PendingTransaction next = pendingTransactions.peek();
+        while (next != null && next.isCoalescable()
+                && operationCount + next.tb.getOperations().size() <= MAX_COALESCED_OPERATIONS
+                && Collections.disjoint(uuidNames, next.uuidNames)) {
+            pendingTransactions.poll();
+            batch.add(next);
+            operationCount += next.tb.getOperations().size();
+            uuidNames.addAll(next.uuidNames);
+            next = pendingTransactions.peek();
         }
+        return batch;
     }
 
+    private void transactionCompleted() {
+        synchronized (this) {
+            outstandingTransactions--;
+            submitPendingTransactions();
+        }
+    }
+
+    private static final class PendingTransaction {
+        private final TransactCommand command;
+        private final TransactionBuilder tb;
+        private final SettableFuture<List<OperationResult>> result = SettableFuture.create();
+        private final Set<String> uuidNames = new HashSet<>();
+        private boolean coalescable = true;
+
+        PendingTransaction(TransactCommand command, TransactionBuilder tb) {
+            this.command = command;
+            this.tb = tb;
+            for (Operation operation : tb.getOperations()) {
+                if (operation instanceof Insert) {
+                    String uuidName = ((Insert) operation).getUuidName();
+                    if (uuidName != null) {
+                        uuidNames.add(uuidName);
+                    }
+                } else if (!(operation instanceof Update || operation instanceof Mutate
+                        || operation instanceof Delete)) {
+                    coalescable = false;
+                }
+            }
+            coalescable = coalescable && tb.getOperations().size() < MAX_COALESCED_OPERATIONS;
+        }
+
+        boolean isCoalescable() {
+            return coalescable;
+        }
+    }
+
+    private final class BatchCallback implements FutureCallback<List<OperationResult>> {
+        private final List<PendingTransaction> batch;
+
+        BatchCallback(List<PendingTransaction> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSuccess(List<OperationResult> got) {
+            LOG.debug("OVSDB transaction result: {}", got);
+            transactionCompleted();
+            if (batch.size() == 1) {
+                batch.get(0).result.set(got);
+                return;
+            }
+            String error = getError(got);
+            if (error != null) {
+                // The switch applies a transact all or nothing: a failed operation rolls back the changes of every
+                // transaction of the batch. They are not sent again on their own, as they would then be applied
+                // after the transactions sent since
+                LOG.warn("Coalesced OVSDB transaction failed with {}, none of its {} transactions were applied",
+                        error, batch.size());
+                IllegalStateException failure =
+                        new IllegalStateException("Coalesced OVSDB transaction failed with " + error);
+                for (PendingTransaction transaction : batch) {
+                    LOG.warn("Failed command: {}, tb: {}", transaction.command, transaction.tb);
+                    transaction.result.setException(failure);
+                }
+                return;
+            }
+            // Results beyond the operations, such as a commit error, concern every transaction of the batch
+            int operationCount = 0;
+            for (PendingTransaction transaction : batch) {
+                operationCount += transaction.tb.getOperations().size();
+            }
+            List<OperationResult> trailing = got.size() > operationCount
+                    ? got.subList(operationCount, got.size()) : Collections.<OperationResult>emptyList();
+            int offset = 0;
+            for (PendingTransaction transaction : batch) {
+                int end = offset + transaction.tb.getOperations().size();
+                List<OperationResult> results = new ArrayList<>();
+                results.addAll(got.subList(Math.min(offset, got.size()), Math.min(end, got.size())));
+                results.addAll(trailing);
+                transaction.result.set(results);
+                offset = end;
+            }
+        }
+
+        private String getError(List<OperationResult> got) {
+            for (OperationResult result : got) {
+                if (result != null && result.getError() != null) {
+                    return result.getError() + (result.getDetails() != null ? ": " + result.getDetails() : "");
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            LOG.warn("Transact execution exception: ", throwable);
+            transactionCompleted();
+            for (PendingTransaction transaction : batch) {
+                LOG.trace("Failed command: {}, tb: {}", transaction.command, transaction.tb);
+                transaction.result.setException(throwable);
+            }
+        }
+    }
 }
@@ -319,6 +319,9 @@ public class TransactUtils {
     private static <T extends DataObject, U extends DataObject> Map<InstanceIdentifier<T>, DataObjectModification<T>>
         extractDataObjectModifications(Collection<DataTreeModification<U>> changes, Class<T> clazz,
                                        Predicate<DataObjectModification<T>> filter) {
+        if (changes instanceof DataTreeModificationIndex) {
+            return ((DataTreeModificationIndex) changes).get(clazz, filter);
+        }
         List<DataObjectModification<? extends DataObject>> dataObjectModifications = new ArrayList<>();
         List<InstanceIdentifier<? extends DataObject>> paths = new ArrayList<>();
         if (changes != null) {
@@ -373,7 +376,7 @@ public class TransactUtils {
      * @param child The child modification to include.
      * @return The extended path.
      */
-    private static <N extends Identifiable<K> & ChildOf<? super T>, K extends Identifier<N>, T extends DataObject>
+    static <N extends Identifiable<K> & ChildOf<? super T>, K extends Identifier<N>, T extends DataObject>
         InstanceIdentifier<? extends DataObject> extendPath(
             InstanceIdentifier path,
             DataObjectModification child) {
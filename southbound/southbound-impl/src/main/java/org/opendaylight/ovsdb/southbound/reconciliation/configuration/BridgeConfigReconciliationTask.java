@@ -14,8 +14,11 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
@@ -63,30 +66,70 @@ public class BridgeConfigReconciliationTask extends ReconciliationTask {
 
     @Override
     public boolean reconcileConfiguration(OvsdbConnectionManager connectionManagerOfDevice) {
+        @SuppressWarnings("unchecked")
+        final InstanceIdentifier<Node> ndIid = (InstanceIdentifier<Node>) nodeIid;
+        Set<InstanceIdentifier<Node>> bridgeIids = connectionManagerOfDevice.getConfigBridges(ndIid);
+        if (bridgeIids == null) {
+            // The bridges of the config data store are not known yet
+            reconcileTopology(ndIid);
+        } else if (!bridgeIids.isEmpty()) {
+            reconcileBridges(ndIid, bridgeIids);
+        }
+        return true;
+    }
+
+    private void reconcileBridges(final InstanceIdentifier<Node> ndIid, Set<InstanceIdentifier<Node>> bridgeIids) {
+        final ReadOnlyTransaction tx = reconciliationManager.getDb().newReadOnlyTransaction();
+
+        // read the bridges of the specific device in the config data store, all at once
+        List<ListenableFuture<Optional<Node>>> readBridgeFutures = new ArrayList<>(bridgeIids.size());
+        for (InstanceIdentifier<Node> bridgeIid : bridgeIids) {
+            readBridgeFutures.add(tx.read(CONFIGURATION, bridgeIid));
+        }
+        Futures.addCallback(Futures.allAsList(readBridgeFutures), new FutureCallback<List<Optional<Node>>>() {
+            @Override
+            public void onSuccess(@Nullable List<Optional<Node>> optionalBridgeNodes) {
+                tx.close();
+                if (optionalBridgeNodes != null) {
+                    final Map<InstanceIdentifier<?>, DataObject> changes = new HashMap<>();
+                    for (Optional<Node> optionalBridgeNode : optionalBridgeNodes) {
+                        if (optionalBridgeNode != null && optionalBridgeNode.isPresent()) {
+                            addBridgeConfigurationChanges(changes, optionalBridgeNode.get(), ndIid);
+                        }
+                    }
+                    if (!changes.isEmpty()) {
+                        reconcileBridgeConfigurations(changes);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                tx.close();
+                LOG.warn("Read Config/DS for the bridges of {} failed!", nodeIid, throwable);
+            }
+
+        });
+    }
+
+    private void reconcileTopology(final InstanceIdentifier<Node> ndIid) {
         InstanceIdentifier<Topology> topologyInstanceIdentifier = SouthboundMapper.createTopologyInstanceIdentifier();
         ReadOnlyTransaction tx = reconciliationManager.getDb().newReadOnlyTransaction();
 
         // find all bridges of the specific device in the config data store
-        // TODO: this query is not efficient. It retrieves all the Nodes in the datastore, loop over them and look for
-        // the bridges of specific device. It is mre efficient if MDSAL allows query nodes using wildcard on node id
-        // (ie: ovsdb://uuid/<device uuid>/bridge/*) r attributes
+        // It retrieves all the Nodes in the datastore, loop over them and look for the bridges of specific device.
+        // This is only done until the data-tree change listener has indexed the bridges of the config data store.
         CheckedFuture<Optional<Topology>, ReadFailedException> readTopologyFuture =
                 tx.read(CONFIGURATION, topologyInstanceIdentifier);
         Futures.addCallback(readTopologyFuture, new FutureCallback<Optional<Topology>>() {
             @Override
             public void onSuccess(@Nullable Optional<Topology> optionalTopology) {
                 if (optionalTopology != null && optionalTopology.isPresent()) {
-                    @SuppressWarnings("unchecked")
-                    InstanceIdentifier<Node> ndIid = (InstanceIdentifier<Node>) nodeIid;
                     Topology topology = optionalTopology.get();
                     if (topology.getNode() != null) {
                         final Map<InstanceIdentifier<?>, DataObject> changes = new HashMap<>();
                         for (Node node : topology.getNode()) {
-                            OvsdbBridgeAugmentation bridge = node.getAugmentation(OvsdbBridgeAugmentation.class);
-                            if (bridge != null && bridge.getManagedBy() != null
-                                    && bridge.getManagedBy().getValue().equals(ndIid)) {
-                                changes.putAll(extractBridgeConfigurationChanges(node, bridge));
-                            }
+                            addBridgeConfigurationChanges(changes, node, ndIid);
                         }
                         if (!changes.isEmpty()) {
                             reconcileBridgeConfigurations(changes);
@@ -101,8 +144,14 @@ public class BridgeConfigReconciliationTask extends ReconciliationTask {
             }
 
         });
+    }
 
-        return true;
+    private void addBridgeConfigurationChanges(Map<InstanceIdentifier<?>, DataObject> changes, Node node,
+                                               InstanceIdentifier<Node> ndIid) {
+        OvsdbBridgeAugmentation bridge = node.getAugmentation(OvsdbBridgeAugmentation.class);
+        if (bridge != null && bridge.getManagedBy() != null && bridge.getManagedBy().getValue().equals(ndIid)) {
+            changes.putAll(extractBridgeConfigurationChanges(node, bridge));
+        }
     }
 
     private Map<InstanceIdentifier<?>, DataObject> extractBridgeConfigurationChanges(
@@ -175,7 +224,7 @@ public class BridgeConfigReconciliationTask extends ReconciliationTask {
                 new BridgeOperationalState(reconciliationManager.getDb(), changeEvents),
                 new DataChangesManagedByOvsdbNodeEvent(
                         reconciliationManager.getDb(),
-                        connectionInstance.getInstanceIdentifier(),
+                        connectionInstance,
                         changeEvents));
     }
 
@@ -28,7 +28,7 @@ public abstract class AbstractTransactionCommand implements TransactionCommand {
     }
 
     public ConnectionInfo getConnectionInfo() {
-        return key.getMDConnectionInfo();
+        return key != null ? key.getMDConnectionInfo() : null;
     }
 
     public OvsdbConnectionInstance getOvsdbConnectionInstance() {
@@ -45,6 +45,7 @@ public class OvsdbBridgeRemovedCommand extends AbstractTransactionCommand {
             // TODO handle removal of reference to managed node from model
             transaction.delete(LogicalDatastoreType.OPERATIONAL, bridgeIid);
             transaction.delete(LogicalDatastoreType.OPERATIONAL, mnIid);
+            getOvsdbConnectionInstance().removeManagedBridge(bridgeIid);
         }
     }
 
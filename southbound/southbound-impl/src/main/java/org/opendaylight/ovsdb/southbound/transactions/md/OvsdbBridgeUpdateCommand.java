@@ -102,6 +102,7 @@ public class OvsdbBridgeUpdateCommand extends AbstractTransactionCommand {
             InstanceIdentifier<Node> bridgeIid = getInstanceIdentifier(bridge);
             Node bridgeNode = buildBridgeNode(bridge);
             transaction.merge(LogicalDatastoreType.OPERATIONAL, bridgeIid, bridgeNode);
+            getOvsdbConnectionInstance().addManagedBridge(bridgeIid);
             deleteEntries(transaction, protocolEntriesToRemove(bridgeIid,bridge));
             deleteEntries(transaction, externalIdsToRemove(bridgeIid,bridge));
             deleteEntries(transaction, bridgeOtherConfigsToRemove(bridgeIid,bridge));
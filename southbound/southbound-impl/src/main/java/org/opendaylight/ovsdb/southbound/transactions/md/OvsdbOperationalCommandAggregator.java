@@ -20,13 +20,14 @@ import org.opendaylight.ovsdb.southbound.SouthboundConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class OvsdbOperationalCommandAggregator implements TransactionCommand {
+public class OvsdbOperationalCommandAggregator extends AbstractTransactionCommand {
 
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbOperationalCommandAggregator.class);
     private List<TransactionCommand> commands = new ArrayList<>();
 
     public OvsdbOperationalCommandAggregator(OvsdbConnectionInstance key,TableUpdates updates,
             DatabaseSchema dbSchema) {
+        super(key, updates, dbSchema);
         commands.add(new OpenVSwitchUpdateCommand(key, updates, dbSchema));
         commands.add(new OvsdbManagersUpdateCommand(key, updates,  dbSchema));
         commands.add(new OvsdbManagersRemovedCommand(key, updates,  dbSchema));
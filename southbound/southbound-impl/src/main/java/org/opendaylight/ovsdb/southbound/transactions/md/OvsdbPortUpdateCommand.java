@@ -21,10 +21,12 @@ import java.util.Set;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
 import org.opendaylight.ovsdb.lib.error.ColumnSchemaNotFoundException;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
 import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
@@ -34,6 +36,8 @@ import org.opendaylight.ovsdb.schema.openvswitch.Interface;
 import org.opendaylight.ovsdb.schema.openvswitch.Port;
 import org.opendaylight.ovsdb.schema.openvswitch.Qos;
 import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
+import org.opendaylight.ovsdb.southbound.OvsdbSchemaContants;
+import org.opendaylight.ovsdb.southbound.OvsdbSchemaContants.OvsdbSchemaTables;
 import org.opendaylight.ovsdb.southbound.SouthboundConstants;
 import org.opendaylight.ovsdb.southbound.SouthboundMapper;
 import org.opendaylight.ovsdb.southbound.SouthboundUtil;
@@ -125,6 +129,9 @@ public class OvsdbPortUpdateCommand extends AbstractTransactionCommand {
             String portName = null;
             portName = portUpdate.getValue().getNameColumn().getData();
             Optional<InstanceIdentifier<Node>> bridgeIid = getTerminationPointBridge(portUpdate.getKey());
+            if (!bridgeIid.isPresent()) {
+                bridgeIid = getCachedTerminationPointBridge(portName);
+            }
             if (!bridgeIid.isPresent()) {
                 bridgeIid = getTerminationPointBridge( transaction, node, portName);
             }
@@ -158,7 +165,10 @@ public class OvsdbPortUpdateCommand extends AbstractTransactionCommand {
         for (Entry<UUID, Interface> interfaceUpdate : interfaceUpdatedRows.entrySet()) {
             String interfaceName = null;
             interfaceName = interfaceUpdatedRows.get(interfaceUpdate.getKey()).getNameColumn().getData();
-            Optional<InstanceIdentifier<Node>> bridgeIid = getTerminationPointBridge( transaction, node, interfaceName);
+            Optional<InstanceIdentifier<Node>> bridgeIid = getCachedTerminationPointBridge(interfaceName);
+            if (!bridgeIid.isPresent()) {
+                bridgeIid = getTerminationPointBridge( transaction, node, interfaceName);
+            }
             if (bridgeIid.isPresent()) {
                 TerminationPointKey tpKey = new TerminationPointKey(new TpId(interfaceName));
                 TerminationPointBuilder tpBuilder = new TerminationPointBuilder();
@@ -226,6 +236,26 @@ public class OvsdbPortUpdateCommand extends AbstractTransactionCommand {
         return Optional.absent();
     }
 
+    /**
+     * Looks the bridge of the given port up in the replica of the switch tables, sparing a datastore read.
+     */
+    private Optional<InstanceIdentifier<Node>> getCachedTerminationPointBridge(String tpName) {
+        OvsdbConnectionInstance connectionInstance = getOvsdbConnectionInstance();
+        TableCache tableCache = connectionInstance != null ? connectionInstance.getTableCache() : null;
+        if (tableCache != null) {
+            for (UUID portUuid : tableCache.getRowsByIndex(OvsdbSchemaTables.PORT.getTableName(),
+                    OvsdbSchemaContants.NAME_COLUMN, tpName).keySet()) {
+                for (Row<GenericTableSchema> bridgeRow : tableCache.getRowsByIndex(
+                        OvsdbSchemaTables.BRIDGE.getTableName(), OvsdbSchemaTables.PORT.getColumnNameInParentTable(),
+                        portUuid).values()) {
+                    Bridge bridge = TyperUtils.getTypedRowWrapper(getDbSchema(), Bridge.class, bridgeRow);
+                    return Optional.of(SouthboundMapper.createInstanceIdentifier(connectionInstance, bridge));
+                }
+            }
+        }
+        return Optional.absent();
+    }
+
     @SuppressWarnings("unchecked")
     private Optional<InstanceIdentifier<Node>> getTerminationPointBridge(
             final ReadWriteTransaction transaction, Node node, String tpName) {
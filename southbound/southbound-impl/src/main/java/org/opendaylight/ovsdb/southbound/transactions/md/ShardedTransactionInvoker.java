@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.southbound.transactions.md;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.ovsdb.node.attributes.ConnectionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transaction invoker spreading the commands over several {@link TransactionInvokerImpl} shards, each one
+ * with its own thread and transaction chain.
+ *
+ * <p>The commands of a given switch always go to the same shard, hence are executed in order, while
+ * the commands of different switches are written to the operational datastore in parallel. Commands not
+ * related to a switch go to the first shard.
+ */
+public class ShardedTransactionInvoker implements TransactionInvoker, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedTransactionInvoker.class);
+    private final List<TransactionInvokerImpl> shards;
+
+    public ShardedTransactionInvoker(DataBroker db) {
+        this(db, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedTransactionInvoker(DataBroker db, int shardCount) {
+        Preconditions.checkArgument(shardCount > 0, "Invalid shard count %s", shardCount);
+        shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new TransactionInvokerImpl(db));
+        }
+        LOG.info("Transaction invoker started with {} shards", shardCount);
+    }
+
+    @Override
+    public void invoke(TransactionCommand command) {
+        shards.get(getShard(command)).invoke(command);
+    }
+
+    int getShard(TransactionCommand command) {
+        if (command instanceof AbstractTransactionCommand) {
+            // The node instance identifier of a connection may be updated once the switch reports it, while the
+            // address of the switch stays the same across its connections, so that the removal of the node of a
+            // lost connection is ordered before the writes of the next one
+            ConnectionInfo connectionInfo = ((AbstractTransactionCommand) command).getConnectionInfo();
+            if (connectionInfo != null && connectionInfo.getRemoteIp() != null) {
+                return (connectionInfo.getRemoteIp().hashCode() & Integer.MAX_VALUE) % shards.size();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of commands waiting to be executed by each shard.
+     */
+    public List<Integer> getQueueDepths() {
+        List<Integer> queueDepths = new ArrayList<>(shards.size());
+        for (TransactionInvokerImpl shard : shards) {
+            queueDepths.add(shard.getQueueDepth());
+        }
+        return queueDepths;
+    }
+
+    /**
+     * Returns the number of connections paused by each shard, in the order of the shards.
+     */
+    public List<Integer> getPausedConnectionCounts() {
+        List<Integer> pausedConnectionCounts = new ArrayList<>(shards.size());
+        for (TransactionInvokerImpl shard : shards) {
+            pausedConnectionCounts.add(shard.getPausedConnectionCount());
+        }
+        return pausedConnectionCounts;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (TransactionInvokerImpl shard : shards) {
+            shard.close();
+        }
+    }
+}
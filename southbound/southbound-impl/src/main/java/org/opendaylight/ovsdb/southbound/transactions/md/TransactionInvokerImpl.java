@@ -12,10 +12,13 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -28,6 +31,7 @@ import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,9 +39,18 @@ import org.slf4j.LoggerFactory;
 public class TransactionInvokerImpl implements TransactionInvoker,TransactionChainListener, Runnable, AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(TransactionInvokerImpl.class);
     private static final int QUEUE_SIZE = 10000;
+    // Depths at which the connections feeding the invoker stop reading, then read again
+    static final int HIGH_WATER_MARK = QUEUE_SIZE;
+    static final int LOW_WATER_MARK = QUEUE_SIZE / 2;
+    private static final ThreadFactory THREAD_FACTORY =
+            new ThreadFactoryBuilder().setNameFormat("transaction-invoker-impl-%d").build();
     private BindingTransactionChain chain;
     private DataBroker db;
-    private BlockingQueue<TransactionCommand> inputQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
+    private BlockingQueue<TransactionCommand> inputQueue = new LinkedBlockingQueue<>();
+    // Commands taken from the input queue but not executed yet, only written by the invoker thread
+    private volatile int batchDepth;
+    private Set<OvsdbConnectionInstance> pausedConnections =
+            Collections.newSetFromMap(new ConcurrentHashMap<OvsdbConnectionInstance, Boolean>());
     private BlockingQueue<ReadWriteTransaction> successfulTransactionQueue
         = new LinkedBlockingQueue<>(QUEUE_SIZE);
     private BlockingQueue<AsyncTransaction<?, ?>> failedTransactionQueue
@@ -51,15 +64,74 @@ public class TransactionInvokerImpl implements TransactionInvoker,TransactionCha
     public TransactionInvokerImpl(DataBroker db) {
         this.db = db;
         this.chain = db.createTransactionChain(this);
-        ThreadFactory threadFact = new ThreadFactoryBuilder().setNameFormat("transaction-invoker-impl-%d").build();
-        executor = Executors.newSingleThreadExecutor(threadFact);
+        executor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
         executor.submit(this);
     }
 
+    /**
+     * Queue the given command. The caller, such as the monitor callback of a connection, is never held: above
+     * the high-water mark, the connection of the command stops reading from its channel instead, until the
+     * invoker drains below the low-water mark.
+     */
     @Override
     public void invoke(final TransactionCommand command) {
-        // TODO what do we do if queue is full?
-        inputQueue.offer(command);
+        inputQueue.add(command);
+        if (getQueueDepth() >= HIGH_WATER_MARK) {
+            pauseConnection(command);
+        }
+    }
+
+    /**
+     * Returns the number of commands waiting to be executed.
+     */
+    public int getQueueDepth() {
+        return inputQueue.size() + batchDepth;
+    }
+
+    /**
+     * Returns the number of connections whose reads are paused until the invoker catches up.
+     */
+    public int getPausedConnectionCount() {
+        return pausedConnections.size();
+    }
+
+    private void pauseConnection(TransactionCommand command) {
+        if (!(command instanceof AbstractTransactionCommand)) {
+            return;
+        }
+        OvsdbConnectionInstance connectionInstance =
+                ((AbstractTransactionCommand) command).getOvsdbConnectionInstance();
+        if (connectionInstance == null) {
+            return;
+        }
+        synchronized (pausedConnections) {
+            if (!pausedConnections.add(connectionInstance)) {
+                return;
+            }
+            if (pausedConnections.size() == 1) {
+                LOG.warn("{} commands waiting for the transaction invoker, pausing the connections feeding it",
+                        getQueueDepth());
+            }
+            connectionInstance.setAutoRead(false);
+        }
+        // The invoker may have drained below the low-water mark before the connection was recorded
+        resumeConnectionsIfDrained();
+    }
+
+    private void resumeConnectionsIfDrained() {
+        if (pausedConnections.isEmpty() || getQueueDepth() > LOW_WATER_MARK) {
+            return;
+        }
+        synchronized (pausedConnections) {
+            if (!pausedConnections.isEmpty()) {
+                LOG.info("{} commands waiting for the transaction invoker, resuming {} paused connections",
+                        getQueueDepth(), pausedConnections.size());
+                for (OvsdbConnectionInstance connectionInstance : pausedConnections) {
+                    connectionInstance.setAutoRead(true);
+                }
+                pausedConnections.clear();
+            }
+        }
     }
 
     @Override
@@ -79,6 +151,8 @@ public class TransactionInvokerImpl implements TransactionInvoker,TransactionCha
             forgetSuccessfulTransactions();
             try {
                 List<TransactionCommand> commands = extractCommands();
+                int remaining = commands.size();
+                batchDepth = remaining;
                 for (TransactionCommand command: commands) {
                     final ReadWriteTransaction transaction = chain.newReadWriteTransaction();
                     recordPendingTransaction(command, transaction);
@@ -94,6 +168,8 @@ public class TransactionInvokerImpl implements TransactionInvoker,TransactionCha
                             // NOOP - handled by failure of transaction chain
                         }
                     });
+                    batchDepth = --remaining;
+                    resumeConnectionsIfDrained();
                 }
             } catch (InterruptedException e) {
                 LOG.warn("Exception invoking Transaction: ", e);
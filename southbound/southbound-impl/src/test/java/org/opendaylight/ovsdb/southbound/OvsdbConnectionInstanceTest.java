@@ -16,6 +16,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,6 +42,7 @@ import org.opendaylight.ovsdb.lib.MonitorCallBack;
 import org.opendaylight.ovsdb.lib.MonitorHandle;
 import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo;
+import org.opendaylight.ovsdb.lib.cache.TableCache;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.MonitorRequestBuilder;
 import org.opendaylight.ovsdb.lib.message.MonitorSelect;
@@ -185,19 +187,67 @@ public class OvsdbConnectionInstanceTest {
         when(monitorBuilder.with(any(MonitorSelect.class))).thenReturn(monitorBuilder);
         when(monitorBuilder.build()).thenReturn(monitorReq);
 
-        suppress(MemberMatcher.method(OvsdbConnectionInstance.class, "monitor", DatabaseSchema.class, List.class,
-                MonitorCallBack.class));
+        suppress(MemberMatcher.method(OvsdbConnectionInstance.class, "monitorCondSince", DatabaseSchema.class,
+                List.class, MonitorCallBack.class));
+        suppress(MemberMatcher.method(OvsdbConnectionInstance.class, "monitorCond", DatabaseSchema.class,
+                List.class, MonitorCallBack.class));
         TableUpdates tableUpdates = mock(TableUpdates.class);
-        when(ovsdbConnectionInstance.monitor(any(DatabaseSchema.class), any(List.class), any(MonitorCallBack.class)))
-                .thenReturn(tableUpdates);
+        when(ovsdbConnectionInstance.monitorCondSince(any(DatabaseSchema.class), any(List.class),
+                any(MonitorCallBack.class))).thenReturn(tableUpdates);
         MemberModifier.field(OvsdbConnectionInstance.class, "callback").set(ovsdbConnectionInstance, callback);
         doNothing().when(callback).update(any(TableUpdates.class), any(DatabaseSchema.class));
+        suppress(MemberMatcher.method(OvsdbConnectionInstance.class, "enableTableCache", String.class));
 
         Whitebox.invokeMethod(ovsdbConnectionInstance, "monitorAllTables", "database", dbSchema);
         PowerMockito.verifyPrivate(ovsdbConnectionInstance, times(1)).invoke("monitorAllTables", anyString(),
                 any(DatabaseSchema.class));
 
         verify(monitorBuilder, times(4)).addColumn(anyString());
+        PowerMockito.verifyPrivate(ovsdbConnectionInstance, times(1)).invoke("enableTableCache", "database");
+        verify(callback).update(tableUpdates, dbSchema);
+
+        // falls back to the conditional monitor when monitor_cond_since is not supported
+        when(ovsdbConnectionInstance.monitorCondSince(any(DatabaseSchema.class), any(List.class),
+                any(MonitorCallBack.class))).thenReturn(null);
+        TableUpdates conditionalUpdates = mock(TableUpdates.class);
+        when(ovsdbConnectionInstance.monitorCond(any(DatabaseSchema.class), any(List.class),
+                any(MonitorCallBack.class))).thenReturn(conditionalUpdates);
+        suppress(MemberMatcher.method(OvsdbConnectionInstance.class, "monitor", DatabaseSchema.class, List.class,
+                MonitorCallBack.class));
+        Whitebox.invokeMethod(ovsdbConnectionInstance, "monitorAllTables", "database", dbSchema);
+        verify(monitorBuilder, times(8)).addColumn(anyString());
+        verify(callback).update(conditionalUpdates, dbSchema);
+        verify(ovsdbConnectionInstance, never()).monitor(any(DatabaseSchema.class), any(List.class),
+                any(MonitorCallBack.class));
+
+        // falls back to the unconditional monitor, without the tables and columns southbound does not use
+        tables.add("IPFIX");
+        tables.add("Interface");
+        columns.add("statistics");
+        when(ovsdbConnectionInstance.monitorCond(any(DatabaseSchema.class), any(List.class),
+                any(MonitorCallBack.class))).thenReturn(null);
+        TableUpdates unconditionalUpdates = mock(TableUpdates.class);
+        when(ovsdbConnectionInstance.monitor(any(DatabaseSchema.class), any(List.class), any(MonitorCallBack.class)))
+                .thenReturn(unconditionalUpdates);
+        when(dbSchema.table("IPFIX", GenericTableSchema.class)).thenThrow(new IllegalStateException());
+        Whitebox.invokeMethod(ovsdbConnectionInstance, "monitorAllTables", SouthboundConstants.OPEN_V_SWITCH,
+                dbSchema);
+        verify(monitorBuilder, times(16)).addColumn(anyString());
+        verify(callback).update(unconditionalUpdates, dbSchema);
+    }
+
+    @Test
+    public void testEnableTableCache() throws Exception {
+        OvsdbClient client = mock(OvsdbClient.class);
+        MemberModifier.field(OvsdbConnectionInstance.class, "client").set(ovsdbConnectionInstance, client);
+        TableCache tableCache = mock(TableCache.class);
+        when(client.enableTableCache(SouthboundConstants.OPEN_V_SWITCH)).thenReturn(tableCache);
+        when(client.getTableCache(SouthboundConstants.OPEN_V_SWITCH)).thenReturn(tableCache);
+
+        Whitebox.invokeMethod(ovsdbConnectionInstance, "enableTableCache", SouthboundConstants.OPEN_V_SWITCH);
+        verify(tableCache).addIndex("Port", "name");
+        verify(tableCache).addIndex("Bridge", "ports");
+        assertEquals(tableCache, ovsdbConnectionInstance.getTableCache());
     }
 
     @SuppressWarnings({ "unchecked" })
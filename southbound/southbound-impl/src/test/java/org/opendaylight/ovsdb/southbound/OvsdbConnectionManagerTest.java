@@ -12,7 +12,9 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +33,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -39,10 +42,12 @@ import org.opendaylight.controller.md.sal.common.api.clustering.Entity;
 import org.opendaylight.controller.md.sal.common.api.clustering.EntityOwnershipChange;
 import org.opendaylight.controller.md.sal.common.api.clustering.EntityOwnershipService;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnection;
 import org.opendaylight.ovsdb.lib.impl.OvsdbConnectionService;
 import org.opendaylight.ovsdb.southbound.reconciliation.ReconciliationManager;
+import org.opendaylight.ovsdb.southbound.transactions.md.AbstractTransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.TransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.TransactionInvoker;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
@@ -207,6 +212,12 @@ public class OvsdbConnectionManagerTest {
                 OvsdbConnectionInstance.class));
         ovsdbConnManager.disconnect(ovsdbNode);
         verify(ovsdbConnectionInstance).disconnect();
+
+        // a connection replaced by a new connection to the device is left alone, as is the new one
+        OvsdbConnectionInstance replacedConnectionInstance = mock(OvsdbConnectionInstance.class);
+        ovsdbConnManager.disconnect(replacedConnectionInstance, ovsdbNode);
+        verify(replacedConnectionInstance, never()).disconnect();
+        verify(ovsdbConnectionInstance, times(1)).disconnect();
     }
 
     @Test
@@ -376,4 +387,35 @@ public class OvsdbConnectionManagerTest {
         Whitebox.invokeMethod(ovsdbConnManager, "handleOwnershipChanged", ownershipChange);
         PowerMockito.verifyPrivate(ovsdbConnManager, times(1)).invoke("putConnectionInstance", key, ovsdbConnInstance);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCleanEntityOperationalData() throws Exception {
+        Entity entity = new Entity("entityType", "entityName");
+        field(OvsdbConnectionManager.class, "entityConnectionMap").set(ovsdbConnManager, entityConnectionMap);
+        InstanceIdentifierCodec instanceIdentifierCodec = mock(InstanceIdentifierCodec.class);
+        when(SouthboundUtil.getInstanceIdentifierCodec()).thenReturn(instanceIdentifierCodec);
+        doReturn(iid).when(instanceIdentifierCodec).bindingDeserializer(entity.getId());
+
+        // the operational node of a switch connected to another controller
+        ConnectionInfo connectionInfo = mock(ConnectionInfo.class);
+        OvsdbNodeAugmentation ovsdbNode = mock(OvsdbNodeAugmentation.class);
+        when(ovsdbNode.getConnectionInfo()).thenReturn(connectionInfo);
+        Node node = mock(Node.class);
+        when(node.getAugmentation(OvsdbNodeAugmentation.class)).thenReturn(ovsdbNode);
+        ReadOnlyTransaction tx = mock(ReadOnlyTransaction.class);
+        when(db.newReadOnlyTransaction()).thenReturn(tx);
+        CheckedFuture<Optional<Node>, ReadFailedException> nodeFuture = mock(CheckedFuture.class);
+        when(nodeFuture.checkedGet()).thenReturn(Optional.of(node));
+        when(tx.read(LogicalDatastoreType.OPERATIONAL, iid)).thenReturn(nodeFuture);
+
+        EntityOwnershipChange ownershipChange = new EntityOwnershipChange(entity, false, false, false);
+        Whitebox.invokeMethod(ovsdbConnManager, "handleOwnershipChanged", ownershipChange);
+
+        // the cleanup is routed like the commands of the switch
+        ArgumentCaptor<TransactionCommand> command = ArgumentCaptor.forClass(TransactionCommand.class);
+        verify(txInvoker).invoke(command.capture());
+        assertEquals(connectionInfo, ((AbstractTransactionCommand) command.getValue()).getConnectionInfo());
+        verify(tx).close();
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.southbound;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for the counters of the queues of the devices.
+ */
+public class OvsdbDeviceQueueTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testMetrics() throws InterruptedException {
+        OvsdbDeviceQueue queue = new OvsdbDeviceQueue(pool);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        queue.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        queue.execute(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Expected failure");
+            }
+        });
+        queue.execute(new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        assertEquals(3, queue.getPendingTasks());
+
+        blocked.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        // The counters are updated once the last task returns
+        for (int i = 0; i < 100 && queue.getPendingTasks() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, queue.getPendingTasks());
+        assertEquals(3, queue.getMaxPendingTasks());
+        assertEquals(3, queue.getCompletedTasks());
+        assertEquals(1, queue.getFailedTasks());
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.ovsdb.southbound;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,7 +23,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.notation.Version;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
-import org.opendaylight.ovsdb.southbound.transactions.md.OvsdbOperationalCommandAggregator;
+import org.opendaylight.ovsdb.southbound.transactions.md.TransactionCommand;
 import org.opendaylight.ovsdb.southbound.transactions.md.TransactionInvoker;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -43,7 +44,20 @@ public class OvsdbMonitorCallbackTest {
         when(dbSchema.getVersion())
                 .thenReturn(Version.fromString(SouthboundConstants.AUTOATTACH_SUPPORTED_OVS_SCHEMA_VERSION));
         ovsdbMonitorCallback.update(mock(TableUpdates.class), dbSchema);
-        verify(txInvoker).invoke(any(OvsdbOperationalCommandAggregator.class));
+        verify(txInvoker).invoke(any(TransactionCommand.class));
+    }
+
+    @Test
+    public void testUpdateCoalesced() {
+        DatabaseSchema dbSchema = mock(DatabaseSchema.class);
+        when(dbSchema.getVersion())
+                .thenReturn(Version.fromString(SouthboundConstants.AUTOATTACH_SUPPORTED_OVS_SCHEMA_VERSION));
+        TableUpdates result1 = mock(TableUpdates.class);
+        TableUpdates result2 = mock(TableUpdates.class);
+        ovsdbMonitorCallback.update(result1, dbSchema);
+        ovsdbMonitorCallback.update(result2, dbSchema);
+        verify(txInvoker, times(1)).invoke(any(TransactionCommand.class));
+        verify(result1).merge(result2);
     }
 
     @Test
@@ -8,7 +8,10 @@
 
 package org.opendaylight.ovsdb.southbound.ovsdb.transact;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -18,7 +21,9 @@ import static org.mockito.Mockito.when;
 import static org.powermock.api.support.membermodification.MemberModifier.suppress;
 
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,12 +32,18 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbTerminationPointAugmentation;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.ovsdb.bridge.attributes.ControllerEntry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.ovsdb.bridge.attributes.ProtocolEntry;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TpId;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPoint;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPointBuilder;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPointKey;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.powermock.api.mockito.PowerMockito;
@@ -40,6 +51,7 @@ import org.powermock.api.support.membermodification.MemberMatcher;
 import org.powermock.api.support.membermodification.MemberModifier;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({ BridgeOperationalState.class, Optional.class, InstanceIdentifier.class, Node.class,
@@ -165,4 +177,51 @@ public class BridgeOperationalStateTest {
         assertNotNull(optProtocolEntry);
         assertTrue(optProtocolEntry.equals(Optional.absent()));
     }
+
+    @Test
+    public void testFindByKey() throws Exception {
+        TerminationPoint tap0 = new TerminationPointBuilder().setTpId(new TpId("tap0")).build();
+        TerminationPoint duplicate = new TerminationPointBuilder().setTpId(new TpId("tap0")).build();
+        TerminationPoint tap1 = new TerminationPointBuilder().setTpId(new TpId("tap1")).build();
+        List<TerminationPoint> termPntList = Arrays.asList(tap0, duplicate, tap1);
+
+        // the first entry with a key wins, as with a scan of the list
+        Optional<TerminationPoint> optTermPnt = Whitebox.invokeMethod(briOperationState, "findByKey", termPntList,
+                new TerminationPointKey(new TpId("tap0")));
+        assertSame(tap0, optTermPnt.get());
+        optTermPnt = Whitebox.invokeMethod(briOperationState, "findByKey", termPntList,
+                new TerminationPointKey(new TpId("tap1")));
+        assertSame(tap1, optTermPnt.get());
+        optTermPnt = Whitebox.invokeMethod(briOperationState, "findByKey", termPntList,
+                new TerminationPointKey(new TpId("tap2")));
+        assertFalse(optTermPnt.isPresent());
+
+        // the list is only indexed once
+        Map<List<?>, Map<?, ?>> listIndexes = Whitebox.getInternalState(briOperationState, "listIndexes");
+        assertEquals(1, listIndexes.size());
+        assertEquals(2, listIndexes.get(termPntList).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReadNodes() throws Exception {
+        DataBroker db = mock(DataBroker.class);
+        ReadOnlyTransaction transaction = mock(ReadOnlyTransaction.class);
+        when(db.newReadOnlyTransaction()).thenReturn(transaction);
+        InstanceIdentifier<Node> failedIid = mock(InstanceIdentifier.class);
+        CheckedFuture<Optional<Node>, ReadFailedException> failedFuture = mock(CheckedFuture.class);
+        when(failedFuture.checkedGet()).thenThrow(new ReadFailedException("Expected failure"));
+        when(transaction.read(LogicalDatastoreType.OPERATIONAL, failedIid)).thenReturn(failedFuture);
+        InstanceIdentifier<Node> readIid = mock(InstanceIdentifier.class);
+        Node readNode = mock(Node.class);
+        CheckedFuture<Optional<Node>, ReadFailedException> readFuture = mock(CheckedFuture.class);
+        when(readFuture.checkedGet()).thenReturn(Optional.of(readNode));
+        when(transaction.read(LogicalDatastoreType.OPERATIONAL, readIid)).thenReturn(readFuture);
+
+        // the failure to read a node does not drop the others
+        Whitebox.invokeMethod(briOperationState, "readNodes", db, Arrays.asList(failedIid, readIid));
+        assertSame(readNode, operationalNodes.get(readIid));
+        assertFalse(operationalNodes.containsKey(failedIid));
+        verify(transaction).close();
+    }
 }
@@ -10,9 +10,11 @@ package org.opendaylight.ovsdb.southbound.ovsdb.transact;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.support.membermodification.MemberMatcher.field;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -24,6 +26,18 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeAugmentation;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeProtocolOpenflow10;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.ovsdb.bridge.attributes.ProtocolEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.ovsdb.bridge.attributes.ProtocolEntryKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -85,4 +99,33 @@ public class DataChangesManagedByOvsdbNodeEventTest {
         when(event.getRemovedPaths()).thenReturn(removedPaths);
         assertEquals(removedPaths, dataChangesManagedByOvsdbNodeEvent.getRemovedPaths());
     }
+
+    @Test
+    public void testManagedByConnection() {
+        InstanceIdentifier<ProtocolEntry> managedProtocolIid = createProtocolIid("managed");
+        InstanceIdentifier<ProtocolEntry> otherProtocolIid = createProtocolIid("other");
+        Map<InstanceIdentifier<?>, DataObject> data = new HashMap<>();
+        data.put(managedProtocolIid, mock(ProtocolEntry.class));
+        data.put(otherProtocolIid, mock(ProtocolEntry.class));
+        when(event.getCreatedData()).thenReturn(data);
+        when(event.getUpdatedData()).thenReturn(Collections.<InstanceIdentifier<?>, DataObject>emptyMap());
+        when(event.getOriginalData()).thenReturn(Collections.<InstanceIdentifier<?>, DataObject>emptyMap());
+
+        OvsdbConnectionInstance connectionInstance = mock(OvsdbConnectionInstance.class);
+        when(connectionInstance.isManagedBridge(managedProtocolIid.firstIdentifierOf(Node.class))).thenReturn(true);
+
+        // Only the entries of the bridges of the connection are kept, without reading the datastore
+        DataChangesManagedByOvsdbNodeEvent managedEvent =
+                new DataChangesManagedByOvsdbNodeEvent(db, connectionInstance, event);
+        assertEquals(Collections.singleton(managedProtocolIid), managedEvent.getCreatedData().keySet());
+        verifyZeroInteractions(db);
+    }
+
+    private static InstanceIdentifier<ProtocolEntry> createProtocolIid(String bridgeId) {
+        return InstanceIdentifier.create(NetworkTopology.class)
+                .child(Topology.class, new TopologyKey(new TopologyId("ovsdb:1")))
+                .child(Node.class, new NodeKey(new NodeId(bridgeId)))
+                .augmentation(OvsdbBridgeAugmentation.class)
+                .child(ProtocolEntry.class, new ProtocolEntryKey(OvsdbBridgeProtocolOpenflow10.class));
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.southbound.ovsdb.transact;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbBridgeAugmentation;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.OvsdbNodeAugmentation;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Unit tests for the index of the modifications.
+ */
+public class DataTreeModificationIndexTest {
+
+    private Collection<DataTreeModification<Node>> modifications;
+
+    @Before
+    public void setUp() {
+        // A bridge node created, an OVSDB node removed
+        DataObjectModification<OvsdbBridgeAugmentation> bridge = mockModification(OvsdbBridgeAugmentation.class,
+                null, mock(OvsdbBridgeAugmentation.class), DataObjectModification.ModificationType.WRITE,
+                Collections.<DataObjectModification<? extends DataObject>>emptyList());
+        DataObjectModification<OvsdbNodeAugmentation> ovsdbNode = mockModification(OvsdbNodeAugmentation.class,
+                mock(OvsdbNodeAugmentation.class), null, DataObjectModification.ModificationType.DELETE,
+                Collections.<DataObjectModification<? extends DataObject>>emptyList());
+        modifications = new ArrayList<>();
+        modifications.add(mockTreeModification("bridge", mockModification(Node.class, null, mock(Node.class),
+                DataObjectModification.ModificationType.WRITE,
+                Collections.<DataObjectModification<? extends DataObject>>singletonList(bridge))));
+        modifications.add(mockTreeModification("ovsdb", mockModification(Node.class, mock(Node.class), null,
+                DataObjectModification.ModificationType.DELETE,
+                Collections.<DataObjectModification<? extends DataObject>>singletonList(ovsdbNode))));
+    }
+
+    @Test
+    public void testExtractFromIndex() {
+        DataTreeModificationIndex index = DataTreeModificationIndex.of(modifications);
+
+        assertEquals(modifications.size(), index.size());
+        assertSame(index, DataTreeModificationIndex.of(index));
+        assertEquals(TransactUtils.extractCreated(modifications, OvsdbBridgeAugmentation.class),
+                TransactUtils.extractCreated(index, OvsdbBridgeAugmentation.class));
+        assertEquals(1, TransactUtils.extractCreated(index, OvsdbBridgeAugmentation.class).size());
+        assertTrue(TransactUtils.extractUpdated(index, OvsdbBridgeAugmentation.class).isEmpty());
+        assertEquals(TransactUtils.extractRemoved(modifications, OvsdbNodeAugmentation.class),
+                TransactUtils.extractRemoved(index, OvsdbNodeAugmentation.class));
+        assertEquals(1, TransactUtils.extractRemovedObjects(index, OvsdbNodeAugmentation.class).size());
+        assertEquals(TransactUtils.extractCreatedOrUpdated(modifications, Node.class),
+                TransactUtils.extractCreatedOrUpdated(index, Node.class));
+        assertEquals(TransactUtils.extractOriginal(modifications, DataObject.class),
+                TransactUtils.extractOriginal(index, DataObject.class));
+    }
+
+    @Test
+    public void testSeveralModificationsOfAPath() {
+        // A node created then modified in the same batch, only the creation is a created node
+        Node createdNode = mock(Node.class);
+        DataTreeModification<Node> creation = mockTreeModification("node", mockModification(Node.class, null,
+                createdNode, DataObjectModification.ModificationType.WRITE,
+                Collections.<DataObjectModification<? extends DataObject>>emptyList()));
+        DataTreeModification<Node> update = mockTreeModification("node", mockModification(Node.class, createdNode,
+                mock(Node.class), DataObjectModification.ModificationType.SUBTREE_MODIFIED,
+                Collections.<DataObjectModification<? extends DataObject>>emptyList()));
+        List<DataTreeModification<Node>> nodeModifications = new ArrayList<>();
+        nodeModifications.add(creation);
+        nodeModifications.add(update);
+        DataTreeModificationIndex index = DataTreeModificationIndex.of(nodeModifications);
+
+        InstanceIdentifier<Node> iid = creation.getRootPath().getRootIdentifier();
+        assertEquals(TransactUtils.extractCreated(nodeModifications, Node.class),
+                TransactUtils.extractCreated(index, Node.class));
+        assertSame(createdNode, TransactUtils.extractCreated(index, Node.class).get(iid));
+        assertEquals(TransactUtils.extractUpdated(nodeModifications, Node.class),
+                TransactUtils.extractUpdated(index, Node.class));
+        assertEquals(1, TransactUtils.extractUpdated(index, Node.class).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends DataObject> DataObjectModification<T> mockModification(Class<T> type, T before,
+            T after, DataObjectModification.ModificationType modificationType,
+            List<DataObjectModification<? extends DataObject>> children) {
+        DataObjectModification<T> modification = mock(DataObjectModification.class);
+        doReturn(type).when(modification).getDataType();
+        doReturn(new InstanceIdentifier.Item(type)).when(modification).getIdentifier();
+        doReturn(before).when(modification).getDataBefore();
+        doReturn(after).when(modification).getDataAfter();
+        doReturn(modificationType).when(modification).getModificationType();
+        doReturn(children).when(modification).getModifiedChildren();
+        return modification;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataTreeModification<Node> mockTreeModification(String nodeId,
+            DataObjectModification<Node> rootNode) {
+        InstanceIdentifier<Node> iid = InstanceIdentifier.create(NetworkTopology.class)
+                .child(Topology.class, new TopologyKey(new TopologyId("ovsdb:1")))
+                .child(Node.class, new NodeKey(new NodeId(nodeId)));
+        DataTreeModification<Node> modification = mock(DataTreeModification.class);
+        doReturn(new DataTreeIdentifier<>(LogicalDatastoreType.CONFIGURATION, iid)).when(modification).getRootPath();
+        doReturn(rootNode).when(modification).getRootNode();
+        return modification;
+    }
+}
@@ -9,6 +9,10 @@
 package org.opendaylight.ovsdb.southbound.ovsdb.transact;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -16,16 +20,22 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
+import org.opendaylight.ovsdb.lib.operations.Insert;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.ovsdb.lib.operations.TransactionBuilder;
+import org.opendaylight.ovsdb.lib.operations.Update;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
 import org.powermock.api.mockito.PowerMockito;
@@ -66,14 +76,113 @@ public class TransactInvokerImplTest {
         doNothing().when(command).execute(any(TransactionBuilder.class), any(BridgeOperationalState.class),
                 any(AsyncDataChangeEvent.class));
 
-        ListenableFuture<List<OperationResult>> result = mock(ListenableFuture.class);
+        SettableFuture<List<OperationResult>> result = SettableFuture.create();
         when(tb.execute()).thenReturn(result);
         List<Operation> operation = new ArrayList<>();
         operation.add(mock(Operation.class));
         when(tb.getOperations()).thenReturn(operation);
+        ListenableFuture<List<OperationResult>> invokeResult = transactInvokerImpl.invoke(command,
+                mock(BridgeOperationalState.class), mock(AsyncDataChangeEvent.class));
+        verify(tb).execute();
+        assertFalse(invokeResult.isDone());
+        assertEquals(1, transactInvokerImpl.getOutstandingTransactionCount());
+
         List<OperationResult> got = new ArrayList<>();
-        when(result.get()).thenReturn(got);
-        transactInvokerImpl.invoke(command, mock(BridgeOperationalState.class), mock(AsyncDataChangeEvent.class));
-        verify(result).get();
+        result.set(got);
+        assertSame(got, invokeResult.get());
+        assertEquals(0, transactInvokerImpl.getOutstandingTransactionCount());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testInvokeCoalesced() throws Exception {
+        List<SettableFuture<List<OperationResult>>> results = new ArrayList<>();
+        for (int i = 0; i < TransactInvokerImpl.MAX_OUTSTANDING_TRANSACTIONS; i++) {
+            SettableFuture<List<OperationResult>> result = SettableFuture.create();
+            results.add(result);
+            transactInvokerImpl.invoke(mockCommand(result, mock(Update.class)), mock(BridgeOperationalState.class),
+                    mock(AsyncDataChangeEvent.class));
+        }
+
+        // The pipeline is full, the next transactions wait and are sent together
+        Insert insert1 = mock(Insert.class);
+        when(insert1.getUuidName()).thenReturn("Port_1");
+        Insert insert2 = mock(Insert.class);
+        when(insert2.getUuidName()).thenReturn("Port_2");
+        ListenableFuture<List<OperationResult>> invokeResult1 = transactInvokerImpl.invoke(
+                mockCommand(null, insert1), mock(BridgeOperationalState.class), mock(AsyncDataChangeEvent.class));
+        ListenableFuture<List<OperationResult>> invokeResult2 = transactInvokerImpl.invoke(
+                mockCommand(null, insert2), mock(BridgeOperationalState.class), mock(AsyncDataChangeEvent.class));
+        assertEquals(2, transactInvokerImpl.getPendingTransactionCount());
+
+        TransactionBuilder coalesced = mock(TransactionBuilder.class);
+        PowerMockito.whenNew(TransactionBuilder.class).withAnyArguments().thenReturn(coalesced);
+        SettableFuture<List<OperationResult>> coalescedResult = SettableFuture.create();
+        when(coalesced.execute()).thenReturn(coalescedResult);
+        results.get(0).set(new ArrayList<OperationResult>());
+        assertEquals(0, transactInvokerImpl.getPendingTransactionCount());
+        verify(coalesced).add(insert1);
+        verify(coalesced).add(insert2);
+        verify(coalesced).execute();
+
+        OperationResult result1 = mock(OperationResult.class);
+        OperationResult result2 = mock(OperationResult.class);
+        coalescedResult.set(Arrays.asList(result1, result2));
+        assertEquals(Collections.singletonList(result1), invokeResult1.get());
+        assertEquals(Collections.singletonList(result2), invokeResult2.get());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testInvokeCoalescedFailure() throws Exception {
+        List<SettableFuture<List<OperationResult>>> results = new ArrayList<>();
+        for (int i = 0; i < TransactInvokerImpl.MAX_OUTSTANDING_TRANSACTIONS; i++) {
+            SettableFuture<List<OperationResult>> result = SettableFuture.create();
+            results.add(result);
+            transactInvokerImpl.invoke(mockCommand(result, mock(Update.class)), mock(BridgeOperationalState.class),
+                    mock(AsyncDataChangeEvent.class));
+        }
+        ListenableFuture<List<OperationResult>> invokeResult1 = transactInvokerImpl.invoke(
+                mockCommand(null, mock(Update.class)), mock(BridgeOperationalState.class),
+                mock(AsyncDataChangeEvent.class));
+        ListenableFuture<List<OperationResult>> invokeResult2 = transactInvokerImpl.invoke(
+                mockCommand(null, mock(Update.class)), mock(BridgeOperationalState.class),
+                mock(AsyncDataChangeEvent.class));
+
+        TransactionBuilder coalesced = mock(TransactionBuilder.class);
+        PowerMockito.whenNew(TransactionBuilder.class).withAnyArguments().thenReturn(coalesced);
+        SettableFuture<List<OperationResult>> coalescedResult = SettableFuture.create();
+        when(coalesced.execute()).thenReturn(coalescedResult);
+        results.get(0).set(new ArrayList<OperationResult>());
+        verify(coalesced).execute();
+
+        // The operation of the second transaction fails, the switch rolls back the first one too
+        OperationResult result1 = new OperationResult();
+        result1.setCount(1);
+        OperationResult result2 = new OperationResult();
+        result2.setError("constraint violation");
+        coalescedResult.set(Arrays.asList(result1, result2));
+        for (ListenableFuture<List<OperationResult>> invokeResult : Arrays.asList(invokeResult1, invokeResult2)) {
+            try {
+                invokeResult.get();
+                fail("Expected the coalesced transactions to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause().getMessage().contains("constraint violation"));
+            }
+        }
+        assertEquals(TransactInvokerImpl.MAX_OUTSTANDING_TRANSACTIONS - 1,
+                transactInvokerImpl.getOutstandingTransactionCount());
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private TransactCommand mockCommand(ListenableFuture<List<OperationResult>> result, Operation operation)
+            throws Exception {
+        TransactionBuilder tb = mock(TransactionBuilder.class);
+        PowerMockito.whenNew(TransactionBuilder.class).withAnyArguments().thenReturn(tb);
+        when(tb.execute()).thenReturn(result);
+        List<Operation> operations = new ArrayList<>();
+        operations.add(operation);
+        when(tb.getOperations()).thenReturn(operations);
+        return mock(TransactCommand.class);
     }
 }
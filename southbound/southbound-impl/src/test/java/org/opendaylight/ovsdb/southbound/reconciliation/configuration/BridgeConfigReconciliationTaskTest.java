@@ -9,7 +9,10 @@ package org.opendaylight.ovsdb.southbound.reconciliation.configuration;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
@@ -18,8 +21,10 @@ import com.google.common.util.concurrent.Futures;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -75,6 +80,7 @@ public class BridgeConfigReconciliationTaskTest {
     @Mock private ReconciliationManager reconciliationManager;
     @Mock private Topology topology;
     @Mock private InstanceIdentifier<Node> iid;
+    private ReadOnlyTransaction tx;
 
     @Before
     public void setUp() throws Exception {
@@ -90,7 +96,7 @@ public class BridgeConfigReconciliationTaskTest {
                 .immediateCheckedFuture(topologyOptional);
 
         when(reconciliationManager.getDb()).thenReturn(db);
-        ReadOnlyTransaction tx = mock(ReadOnlyTransaction.class);
+        tx = mock(ReadOnlyTransaction.class);
         Mockito.when(db.newReadOnlyTransaction()).thenReturn(tx);
         Mockito.when(tx.read(any(LogicalDatastoreType.class),any(InstanceIdentifier.class)))
                 .thenReturn(readTopologyFuture);
@@ -105,6 +111,8 @@ public class BridgeConfigReconciliationTaskTest {
 
     @Test
     public void testReconcileConfiguration() throws Exception {
+        // The bridges of the config data store are not indexed yet
+        when(ovsdbConnectionManager.getConfigBridges(iid)).thenReturn(null);
         BridgeConfigReconciliationTask underTest = PowerMockito.spy(configurationReconciliationTask);
         PowerMockito.doNothing().when(underTest, "reconcileBridgeConfigurations", any(Map.class));
         assertEquals(true, underTest.reconcileConfiguration(ovsdbConnectionManager));
@@ -115,6 +123,29 @@ public class BridgeConfigReconciliationTaskTest {
         PowerMockito.verifyPrivate(underTest).invoke("reconcileBridgeConfigurations", changes);
     }
 
+    @Test
+    public void testReconcileConfigurationOfIndexedBridges() throws Exception {
+        Map<InstanceIdentifier<?>, DataObject> changes = new HashMap<>();
+        Set<InstanceIdentifier<Node>> bridgeIids = new HashSet<>();
+        for (Node bridgeNode : topology.getNode()) {
+            InstanceIdentifier<Node> bridgeIid = SouthboundMapper.createInstanceIdentifier(ovsdbConnectionInstance,
+                    bridgeNode.getAugmentation(OvsdbBridgeAugmentation.class).getBridgeName().getValue());
+            bridgeIids.add(bridgeIid);
+            doReturn(Futures.immediateCheckedFuture(Optional.of(bridgeNode))).when(tx)
+                    .read(LogicalDatastoreType.CONFIGURATION, bridgeIid);
+            changes.putAll(createExpectedConfigurationChanges(bridgeNode));
+        }
+        when(ovsdbConnectionManager.getConfigBridges(iid)).thenReturn(bridgeIids);
+
+        BridgeConfigReconciliationTask underTest = PowerMockito.spy(configurationReconciliationTask);
+        PowerMockito.doNothing().when(underTest, "reconcileBridgeConfigurations", any(Map.class));
+        assertEquals(true, underTest.reconcileConfiguration(ovsdbConnectionManager));
+        PowerMockito.verifyPrivate(underTest).invoke("reconcileBridgeConfigurations", changes);
+        // Only the bridges of the device are read
+        verify(tx, never()).read(LogicalDatastoreType.CONFIGURATION,
+                SouthboundMapper.createTopologyInstanceIdentifier());
+    }
+
     private Node createBridgeNode(final String bridgeName) {
         Node bridgeNode = mock(Node.class);
         OvsdbBridgeAugmentation ovsdbBridgeAugmentation = mock(OvsdbBridgeAugmentation.class);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Red Hat, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.southbound.transactions.md;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Version;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
+import org.opendaylight.ovsdb.southbound.SouthboundConstants;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ovsdb.rev150105.ovsdb.node.attributes.ConnectionInfo;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ShardedTransactionInvoker.class})
+public class ShardedTransactionInvokerTest {
+
+    @Mock private DataBroker db;
+    @Mock private TransactionInvokerImpl shard0;
+    @Mock private TransactionInvokerImpl shard1;
+    private ShardedTransactionInvoker shardedTransactionInvoker;
+
+    @Before
+    public void setUp() throws Exception {
+        PowerMockito.whenNew(TransactionInvokerImpl.class).withArguments(db).thenReturn(shard0, shard1);
+        shardedTransactionInvoker = new ShardedTransactionInvoker(db, 2);
+    }
+
+    @Test
+    public void testGetShard() throws Exception {
+        shardedTransactionInvoker = new ShardedTransactionInvoker(db, 64);
+        ConnectionInfo connectionInfo = mock(ConnectionInfo.class);
+        when(connectionInfo.getRemoteIp()).thenReturn(new IpAddress(new Ipv4Address("10.0.0.1")));
+        // the previous and the new connection of a switch
+        OvsdbConnectionInstance connectionInstance1 = mock(OvsdbConnectionInstance.class);
+        when(connectionInstance1.getMDConnectionInfo()).thenReturn(connectionInfo);
+        OvsdbConnectionInstance connectionInstance2 = mock(OvsdbConnectionInstance.class);
+        when(connectionInstance2.getMDConnectionInfo()).thenReturn(connectionInfo);
+        DatabaseSchema dbSchema = mock(DatabaseSchema.class);
+        when(dbSchema.getVersion())
+                .thenReturn(Version.fromString(SouthboundConstants.AUTOATTACH_SUPPORTED_OVS_SCHEMA_VERSION));
+
+        // the monitor updates and the removal of the node of a switch go to the same shard, across its connections
+        TransactionCommand updates1 =
+                new OvsdbOperationalCommandAggregator(connectionInstance1, mock(TableUpdates.class), dbSchema);
+        TransactionCommand removal = new OvsdbNodeRemoveCommand(connectionInstance1, null, null);
+        TransactionCommand updates2 =
+                new OvsdbOperationalCommandAggregator(connectionInstance2, mock(TableUpdates.class), dbSchema);
+        int shard = shardedTransactionInvoker.getShard(updates1);
+        assertEquals(shard, shardedTransactionInvoker.getShard(removal));
+        assertEquals(shard, shardedTransactionInvoker.getShard(updates2));
+
+        TransactionCommand command = mock(TransactionCommand.class);
+        assertEquals(0, shardedTransactionInvoker.getShard(command));
+    }
+
+    @Test
+    public void testInvoke() throws Exception {
+        ConnectionInfo connectionInfo = mock(ConnectionInfo.class);
+        when(connectionInfo.getRemoteIp()).thenReturn(new IpAddress(new Ipv4Address("10.0.0.1")));
+        OvsdbConnectionInstance connectionInstance = mock(OvsdbConnectionInstance.class);
+        when(connectionInstance.getMDConnectionInfo()).thenReturn(connectionInfo);
+        TransactionCommand removal = new OvsdbNodeRemoveCommand(connectionInstance, null, null);
+        shardedTransactionInvoker.invoke(removal);
+        verify(shardedTransactionInvoker.getShard(removal) == 0 ? shard0 : shard1).invoke(removal);
+
+        TransactionCommand command = mock(TransactionCommand.class);
+        shardedTransactionInvoker.invoke(command);
+        verify(shard0).invoke(command);
+    }
+
+    @Test
+    public void testGetQueueDepths() throws Exception {
+        when(shard0.getQueueDepth()).thenReturn(3);
+        when(shard1.getQueueDepth()).thenReturn(5);
+        assertEquals(Arrays.asList(3, 5), shardedTransactionInvoker.getQueueDepths());
+    }
+
+    @Test
+    public void testGetPausedConnectionCounts() throws Exception {
+        when(shard0.getPausedConnectionCount()).thenReturn(0);
+        when(shard1.getPausedConnectionCount()).thenReturn(2);
+        assertEquals(Arrays.asList(0, 2), shardedTransactionInvoker.getPausedConnectionCounts());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        shardedTransactionInvoker.close();
+        verify(shard0).close();
+        verify(shard1).close();
+    }
+}
@@ -14,15 +14,18 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.support.membermodification.MemberMatcher.field;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -37,6 +40,7 @@ import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.ovsdb.southbound.OvsdbConnectionInstance;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.api.support.membermodification.MemberModifier;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -67,6 +71,8 @@ public class TransactionInvokerImplTest {
         transactionInvokerImpl = PowerMockito.mock(TransactionInvokerImpl.class, Mockito.CALLS_REAL_METHODS);
         MemberModifier.field(TransactionInvokerImpl.class, "chain").set(transactionInvokerImpl, chain);
         MemberModifier.field(TransactionInvokerImpl.class, "db").set(transactionInvokerImpl, db);
+        MemberModifier.field(TransactionInvokerImpl.class, "pausedConnections").set(transactionInvokerImpl,
+                Collections.newSetFromMap(new ConcurrentHashMap<OvsdbConnectionInstance, Boolean>()));
     }
 
     @Test
@@ -87,6 +93,34 @@ public class TransactionInvokerImplTest {
         BlockingQueue<TransactionCommand> testInputQueue = Whitebox.getInternalState(transactionInvokerImpl,
                 "inputQueue");
         assertTrue(testInputQueue.contains(command));
+        assertEquals(1, transactionInvokerImpl.getQueueDepth());
+    }
+
+    @Test
+    public void testInvokeAboveHighWaterMark() throws Exception {
+        MemberModifier.field(TransactionInvokerImpl.class, "inputQueue").set(transactionInvokerImpl,
+                new LinkedBlockingQueue<TransactionCommand>());
+        TransactionCommand otherCommand = mock(TransactionCommand.class);
+        for (int i = 1; i < TransactionInvokerImpl.HIGH_WATER_MARK; i++) {
+            transactionInvokerImpl.invoke(otherCommand);
+        }
+        OvsdbConnectionInstance connectionInstance = mock(OvsdbConnectionInstance.class);
+        AbstractTransactionCommand command = mock(AbstractTransactionCommand.class);
+        when(command.getOvsdbConnectionInstance()).thenReturn(connectionInstance);
+        transactionInvokerImpl.invoke(command);
+        verify(connectionInstance).setAutoRead(false);
+        assertEquals(1, transactionInvokerImpl.getPausedConnectionCount());
+
+        // Still above the low-water mark
+        Whitebox.invokeMethod(transactionInvokerImpl, "resumeConnectionsIfDrained");
+        verify(connectionInstance, never()).setAutoRead(true);
+
+        BlockingQueue<TransactionCommand> testInputQueue = Whitebox.getInternalState(transactionInvokerImpl,
+                "inputQueue");
+        testInputQueue.clear();
+        Whitebox.invokeMethod(transactionInvokerImpl, "resumeConnectionsIfDrained");
+        verify(connectionInstance).setAutoRead(true);
+        assertEquals(0, transactionInvokerImpl.getPausedConnectionCount());
     }
 
     @Test